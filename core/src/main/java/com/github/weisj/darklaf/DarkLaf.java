@@ -22,6 +22,9 @@
 package com.github.weisj.darklaf;
 
 import java.awt.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,14 +46,22 @@ public class DarkLaf extends ThemedLookAndFeel {
     public static final String SYSTEM_PROPERTY_PREFIX = "darklaf.";
     public static final String ALLOW_NATIVE_CODE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "allowNativeCode";
     private static final Logger LOGGER = LogUtil.getLogger(DarkLaf.class);
+    private static final ThemeDefaultsInitTask THEME_TASK = new ThemeDefaultsInitTask();
+    private static final FontDefaultsInitTask FONT_TASK = new FontDefaultsInitTask();
+    private static final StyleSheetInitTask STYLE_SHEET_TASK = new StyleSheetInitTask();
+    private static final UtilityDefaultsInitTask UTILITY_TASK = new UtilityDefaultsInitTask();
     /*
      * All tasks for initializing the ui defaults in order of execution.
      */
-    private static final DefaultsInitTask[] INIT_TASKS =
-            new DefaultsInitTask[] {new RemoveUnusedInitTask(), new ThemeDefaultsInitTask(),
-                    new InputDefaultsInitTask(), new IdeaDefaultsInitTask(), new FontDefaultsInitTask(),
-                    new StyleSheetInitTask(), new ResourceBundleInitTask(), new SystemDefaultsInitTask(),
-                    new PlatformDefaultsInitTask(), new UserInitTask(), new UtilityDefaultsInitTask()};
+    private static final DefaultsInitTask[] INIT_TASKS = new DefaultsInitTask[] {new RemoveUnusedInitTask(),
+            THEME_TASK, new InputDefaultsInitTask(), new IdeaDefaultsInitTask(), FONT_TASK, STYLE_SHEET_TASK,
+            new ResourceBundleInitTask(), new SystemDefaultsInitTask(), new PlatformDefaultsInitTask(),
+            new UserInitTask(), UTILITY_TASK};
+    /*
+     * Tasks which only derive state from other defaults. They need to run again if the defaults are
+     * changed incrementally.
+     */
+    private static final DefaultsInitTask[] REFRESH_TASKS = new DefaultsInitTask[] {STYLE_SHEET_TASK, UTILITY_TASK};
     /*
      * The base look and feel. This may vary to handle different platform support.
      */
@@ -124,7 +135,8 @@ public class DarkLaf extends ThemedLookAndFeel {
 
     @Override
     public UIDefaults getDefaults() {
-        final UIDefaults defaults = base.getDefaults();
+        UIDefaults defaults = base.getDefaults();
+        if (DefaultsUsageIndex.isEnabled()) defaults = DefaultsUsageIndex.getInstance().createDefaults(defaults);
         final Theme currentTheme = getTheme();
         if (isInitialized && !LafManager.getTheme().equals(currentTheme)) {
             LafManager.setTheme(currentTheme);
@@ -136,6 +148,36 @@ public class DarkLaf extends ThemedLookAndFeel {
         return defaults;
     }
 
+    /*
+     * Computes the entries of the installed defaults which change if the current theme is replaced by
+     * the given theme. Only the accent color and font size rule may differ between the themes.
+     * Returns null if the changes can't be determined incrementally.
+     */
+    Map<Object, Object> computeThemeDelta(final Theme newTheme, final UIDefaults defaults) {
+        if (!isInitialized) return null;
+        Theme currentTheme = getTheme();
+        Map<Object, Object> delta = new HashMap<>();
+        if (!Objects.equals(currentTheme.getAccentColorRule(), newTheme.getAccentColorRule())
+                && !THEME_TASK.computeAccentDelta(newTheme, defaults, delta)) {
+            return null;
+        }
+        if (!Objects.equals(currentTheme.getFontSizeRule(), newTheme.getFontSizeRule())
+                && !FONT_TASK.computeFontDelta(newTheme, defaults, delta)) {
+            return null;
+        }
+        return delta;
+    }
+
+    /*
+     * Switches to the given theme after its delta has been put into the defaults.
+     */
+    void applyThemeDelta(final Theme newTheme, final UIDefaults defaults) {
+        setTheme(newTheme);
+        for (DefaultsInitTask task : REFRESH_TASKS) {
+            task.run(newTheme, defaults);
+        }
+    }
+
     @Override
     public LayoutStyle getLayoutStyle() {
         return base.getLayoutStyle();
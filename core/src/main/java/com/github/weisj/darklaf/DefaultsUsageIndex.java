@@ -0,0 +1,289 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.util.PropertyValue;
+
+/**
+ * Index of the keys of the defaults which are read by the different kinds of ui delegates. If enabled
+ * with the {@link #USAGE_INDEX_FLAG} system property the defaults created by {@link DarkLaf} record
+ * the lookups made while a component is given a new ui by {@link #updateUI(JComponent)}, which
+ * covers the uninstallation of the old and the installation of the new ui delegate. The keys are
+ * recorded for the class of the new ui delegate, or for the component class if it has no ui.
+ * Lookups made outside of this scope, e.g. during painting, aren't recorded.
+ *
+ * <p>
+ * Given a set of changed keys the index is used to give new uis only to the components which
+ * actually depend on them. Lookups which happen during painting only require a repaint.
+ */
+final class DefaultsUsageIndex {
+
+    static final String USAGE_INDEX_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "defaultsUsageIndex";
+    private static final Map<Class<?>, Optional<Method>> UI_GETTERS = new ConcurrentHashMap<>();
+    private static DefaultsUsageIndex instance;
+
+    private final Map<Class<?>, Set<Object>> keysByClass = new ConcurrentHashMap<>();
+    private final ThreadLocal<Set<Object>> recordedKeys = new ThreadLocal<>();
+
+    private DefaultsUsageIndex() {}
+
+    static boolean isEnabled() {
+        return PropertyValue.TRUE.equals(System.getProperty(USAGE_INDEX_FLAG));
+    }
+
+    static synchronized DefaultsUsageIndex getInstance() {
+        if (instance == null) instance = new DefaultsUsageIndex();
+        return instance;
+    }
+
+    /**
+     * Creates defaults containing all entries of the given defaults, which record the lookups made
+     * during {@link #updateUI(JComponent)}.
+     *
+     * @param base the defaults to copy.
+     * @return the recording defaults.
+     */
+    UIDefaults createDefaults(final UIDefaults base) {
+        return new RecordingDefaults(base);
+    }
+
+    /**
+     * Gives the component a new ui and records the keys read by the old ui during uninstallation and
+     * by the new ui during installation.
+     *
+     * @param c the component.
+     */
+    void updateUI(final JComponent c) {
+        Set<Object> outerKeys = recordedKeys.get();
+        Set<Object> keys = new HashSet<>();
+        recordedKeys.set(keys);
+        try {
+            c.updateUI();
+        } finally {
+            recordedKeys.set(outerKeys);
+        }
+        Object ui = getUI(c);
+        Class<?> owner = ui != null ? ui.getClass() : c.getClass();
+        // The keys read may depend on the state of the component, hence the union of all lookups is kept.
+        keysByClass.computeIfAbsent(owner, t -> ConcurrentHashMap.newKeySet()).addAll(keys);
+    }
+
+    /**
+     * Gives new uis to all components of the tree and records the keys they read. This is equivalent to
+     * {@link SwingUtilities#updateComponentTreeUI(Component)}.
+     *
+     * @param c the root of the component tree.
+     */
+    void updateComponentTreeUI(final Component c) {
+        updateComponentTreeUI0(c);
+        c.invalidate();
+        c.validate();
+        c.repaint();
+    }
+
+    private void updateComponentTreeUI0(final Component c) {
+        if (c instanceof JComponent) {
+            JComponent jc = (JComponent) c;
+            updateUI(jc);
+            JPopupMenu popupMenu = jc.getComponentPopupMenu();
+            if (popupMenu != null) updateComponentTreeUI(popupMenu);
+        }
+        Component[] children = null;
+        if (c instanceof JMenu) {
+            children = ((JMenu) c).getMenuComponents();
+        } else if (c instanceof Container) {
+            children = ((Container) c).getComponents();
+        }
+        if (children != null) {
+            for (Component child : children) {
+                updateComponentTreeUI0(child);
+            }
+        }
+    }
+    /**
+     * Returns the keys read by the given class and its superclasses.
+     *
+     * @param type the class of the ui delegate or component.
+     * @return the keys read.
+     */
+    Set<Object> getKeysReadBy(final Class<?> type) {
+        Set<Object> keys = new HashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            Set<Object> read = keysByClass.get(c);
+            if (read != null) keys.addAll(read);
+        }
+        return Collections.unmodifiableSet(keys);
+    }
+
+    /**
+     * Returns whether any lookup of the given class or its superclasses has been recorded.
+     *
+     * @param type the class of the ui delegate or component.
+     * @return true if the class has been indexed.
+     */
+    boolean isIndexed(final Class<?> type) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            if (keysByClass.containsKey(c)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns whether the given class or its superclasses have read any of the given keys.
+     *
+     * @param type the class of the ui delegate or component.
+     * @param keys the keys.
+     * @return true if the class depends on any of the keys.
+     */
+    boolean dependsOn(final Class<?> type, final Collection<?> keys) {
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            Set<Object> read = keysByClass.get(c);
+            if (read != null && !Collections.disjoint(read, keys)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gives new uis to all components of the window which depend on the given keys. Components whose ui
+     * delegate hasn't been indexed are updated as well. Like {@link #updateComponentTreeUI(Component)}
+     * the popup menus of the components are visited, as well as tab components which are currently
+     * detached from their tabbed pane.
+     *
+     * @param window the window.
+     * @param keys the changed keys.
+     * @return the number of updated components.
+     */
+    int updateComponents(final Window window, final Collection<?> keys) {
+        return updateComponent(window, keys);
+    }
+
+    private int updateComponent(final Component c, final Collection<?> keys) {
+        int count = 0;
+        Component[] children = null;
+        if (c instanceof JComponent) {
+            JComponent jc = (JComponent) c;
+            Object ui = getUI(jc);
+            if (dependsOn(jc.getClass(), keys)
+                    || (ui != null && (!isIndexed(ui.getClass()) || dependsOn(ui.getClass(), keys)))) {
+                updateUI(jc);
+                count++;
+            }
+            JPopupMenu popupMenu = jc.getComponentPopupMenu();
+            if (popupMenu != null && !isInheritedPopupMenu(jc, popupMenu)) {
+                count += updateComponent(popupMenu, keys);
+            }
+            if (jc instanceof JMenu) children = ((JMenu) jc).getMenuComponents();
+            if (jc instanceof JTabbedPane) count += updateDetachedTabComponents((JTabbedPane) jc, keys);
+        }
+        if (children == null && c instanceof Container) children = ((Container) c).getComponents();
+        if (children != null) {
+            for (Component child : children) {
+                count += updateComponent(child, keys);
+            }
+        }
+        return count;
+    }
+
+    private static boolean isInheritedPopupMenu(final JComponent c, final JPopupMenu popupMenu) {
+        if (!c.getInheritsPopupMenu()) return false;
+        Container parent = c.getParent();
+        return parent instanceof JComponent && ((JComponent) parent).getComponentPopupMenu() == popupMenu;
+    }
+
+    /*
+     * Tab components which are scrolled out of view are detached from the tabbed pane and can't be
+     * reached through its children.
+     */
+    private int updateDetachedTabComponents(final JTabbedPane tabbedPane, final Collection<?> keys) {
+        int count = 0;
+        for (int i = 0; i < tabbedPane.getTabCount(); i++) {
+            Component tabComponent = tabbedPane.getTabComponentAt(i);
+            if (tabComponent != null && tabComponent.getParent() == null) {
+                count += updateComponent(tabComponent, keys);
+            }
+        }
+        return count;
+    }
+
+    static Object getUI(final JComponent c) {
+        Optional<Method> getter = UI_GETTERS.computeIfAbsent(c.getClass(), type -> {
+            try {
+                return Optional.of(type.getMethod("getUI"));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        });
+        if (!getter.isPresent()) return null;
+        try {
+            return getter.get().invoke(c);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    private final class RecordingDefaults extends UIDefaults {
+
+        private final UIDefaults base;
+
+        private RecordingDefaults(final UIDefaults base) {
+            super(base.size(), 0.75f);
+            this.base = base;
+            setDefaultLocale(base.getDefaultLocale());
+            putAll(base);
+        }
+
+        @Override
+        public Object get(final Object key) {
+            Object value = super.get(key);
+            // Resources of bundles only added to the base defaults.
+            if (value == null && !base.containsKey(key)) value = base.get(key);
+            record(key);
+            return value;
+        }
+
+        @Override
+        public Object get(final Object key, final Locale l) {
+            Object value = super.get(key, l);
+            if (value == null && !base.containsKey(key)) value = base.get(key, l);
+            record(key);
+            return value;
+        }
+
+        private void record(final Object key) {
+            Set<Object> keys = recordedKeys.get();
+            if (keys != null && key != null) keys.add(key);
+        }
+    }
+}
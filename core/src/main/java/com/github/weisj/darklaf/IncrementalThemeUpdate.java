@@ -0,0 +1,98 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.util.LogUtil;
+import com.github.weisj.darklaf.util.PropertyValue;
+
+/**
+ * Fast path for theme changes which only affect the accent colors or the font size. Instead of
+ * installing the look and feel again only the affected entries of the defaults are recomputed and
+ * swapped into the installed defaults. The components are then refreshed with
+ * {@link LafManager#refreshComponents(java.util.Collection)}, which gives new uis to the components
+ * depending on the changed entries if the {@link DefaultsUsageIndex} is enabled and to all components
+ * otherwise. As the usage index is disabled by default, only the installation of the look and feel is
+ * saved by default, while the uis of all components are still installed again.
+ *
+ * <p>
+ * The fast path can be disabled with the {@link #INCREMENTAL_UPDATE_FLAG} system property.
+ */
+final class IncrementalThemeUpdate {
+
+    static final String INCREMENTAL_UPDATE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "incrementalThemeUpdate";
+    private static final Logger LOGGER = LogUtil.getLogger(IncrementalThemeUpdate.class);
+
+    private IncrementalThemeUpdate() {}
+
+    /**
+     * Switch to the given theme incrementally if possible.
+     *
+     * @param newTheme the new theme.
+     * @return true if the theme has been applied, false if it needs to be installed normally.
+     */
+    static boolean apply(final Theme newTheme) {
+        if (PropertyValue.FALSE.equals(System.getProperty(INCREMENTAL_UPDATE_FLAG))) return false;
+        LookAndFeel laf = UIManager.getLookAndFeel();
+        if (!(laf instanceof DarkLaf) || !LafManager.getUserInitTasks().isEmpty()) return false;
+        DarkLaf darkLaf = (DarkLaf) laf;
+        if (!isDeltaCompatible(darkLaf.getTheme(), newTheme)) return false;
+        return apply(darkLaf, newTheme, UIManager.getLookAndFeelDefaults());
+    }
+
+    private static boolean apply(final DarkLaf darkLaf, final Theme newTheme, final UIDefaults defaults) {
+        Map<Object, Object> delta = darkLaf.computeThemeDelta(newTheme, defaults);
+        if (delta == null) return false;
+
+        Object[] keyValueList = new Object[2 * delta.size()];
+        int i = 0;
+        for (Map.Entry<Object, Object> entry : delta.entrySet()) {
+            keyValueList[i++] = entry.getKey();
+            keyValueList[i++] = entry.getValue();
+        }
+        defaults.putDefaults(keyValueList);
+        darkLaf.applyThemeDelta(newTheme, defaults);
+        LOGGER.fine(() -> "Incrementally applied theme " + newTheme + " changing " + delta.size() + " entries");
+
+        LafManager.setTheme(newTheme);
+        if (delta.isEmpty()) {
+            LafManager.notifyThemeInstalled();
+        } else {
+            // Derived values are recomputed by the ui delegates when they are installed again.
+            LafManager.refreshComponents(delta.keySet(), LafManager::notifyThemeInstalled);
+        }
+        return true;
+    }
+
+    private static boolean isDeltaCompatible(final Theme oldTheme, final Theme newTheme) {
+        if (oldTheme == null || newTheme == null) return false;
+        return Objects.equals(oldTheme.getThemeClass(), newTheme.getThemeClass())
+                && Objects.equals(oldTheme.getColorToneRule(), newTheme.getColorToneRule())
+                && Objects.equals(oldTheme.getContrastRule(), newTheme.getContrastRule());
+    }
+}
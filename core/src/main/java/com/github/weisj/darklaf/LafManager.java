@@ -30,6 +30,7 @@ import java.util.logging.Logger;
 import javax.swing.*;
 
 import com.github.weisj.darklaf.components.renderer.SimpleListCellRenderer;
+import com.github.weisj.darklaf.listener.LafUpdateListener;
 import com.github.weisj.darklaf.platform.DecorationsHandler;
 import com.github.weisj.darklaf.platform.ThemePreferencesHandler;
 import com.github.weisj.darklaf.settings.ThemeSettings;
@@ -58,6 +59,7 @@ public final class LafManager {
     private static final Collection<DefaultsInitTask> uiInitTasks = new ArrayList<>();
     private static final ThemeEventSupport<ThemeChangeEvent, ThemeChangeListener> eventSupport =
             new ThemeEventSupport<>();
+    private static final LafUpdateScheduler lafUpdateScheduler = new LafUpdateScheduler();
 
     static {
         setLogLevel(Level.WARNING);
@@ -177,6 +179,17 @@ public final class LafManager {
         eventSupport.addListener(listener);
     }
 
+    /**
+     * Adds a {@link ThemeChangeListener} which receives events on a background thread instead of the
+     * event dispatch thread. The listener must not access any ui components. This is suitable for
+     * listeners which e.g. persist settings.
+     *
+     * @param listener the listener to add.
+     */
+    public static void addAsyncThemeChangeListener(final ThemeChangeListener listener) {
+        eventSupport.addAsyncListener(listener);
+    }
+
     /**
      * Removes a {@link ThemeChangeListener}.
      *
@@ -408,10 +421,17 @@ public final class LafManager {
      * Sets the current theme and installs the LaF. If the LaF is already installed the theme is
      * switched. This behaves exactly like {@link #setTheme(Theme)} followed by {@link #install()}
      *
+     * <p>If the LaF is already installed and the new theme only differs from the current one in its
+     * accent color or font size rule, only the affected defaults are updated and the components are
+     * refreshed as with {@link #refreshComponents(Collection)}. This skips installing the look and feel
+     * again, but all components still get new uis unless the {@code darklaf.defaultsUsageIndex} system
+     * property has been set to true before the look and feel was installed.
+     *
      * @param theme the theme to install.
      */
     public static void installTheme(final Theme theme) {
         if (theme == getTheme() && isInstalled()) return;
+        if (isInstalled() && IncrementalThemeUpdate.apply(theme)) return;
         setTheme(theme);
         install();
     }
@@ -435,8 +455,7 @@ public final class LafManager {
             getTheme();
             LOGGER.fine(() -> "Installing theme " + theme);
             UIManager.setLookAndFeel(new DarkLaf());
-            updateLaf();
-            notifyThemeInstalled();
+            lafUpdateScheduler.updateAll(LafManager::notifyThemeInstalled);
         } catch (final UnsupportedLookAndFeelException e) {
             e.printStackTrace();
         }
@@ -446,18 +465,90 @@ public final class LafManager {
         eventSupport.dispatchEvent(new ThemeChangeEvent(null, getTheme()), ThemeChangeListener::themeInstalled);
     }
 
-    /** Update the component ui classes for all current windows. */
+    /**
+     * Update the component ui classes for all current windows. Every window is updated once, starting
+     * with the active window.
+     *
+     * <p>If the system property {@code darklaf.timeSlicedLafUpdate} is set to true, showing windows are
+     * updated in time boxed slices on the event dispatch thread and hidden windows are updated before
+     * they are shown again.
+     *
+     * @see #addLafUpdateListener(LafUpdateListener)
+     */
     public static void updateLaf() {
-        for (final Window w : Window.getWindows()) {
-            updateLafRecursively(w);
+        lafUpdateScheduler.updateAll(null);
+    }
+
+    /**
+     * Puts the given entries into the defaults of the installed look and feel and refreshes the
+     * components depending on them.
+     *
+     * @param changes the changed entries. A null value removes the entry.
+     * @see #refreshComponents(Collection)
+     */
+    public static void updateDefaults(final Map<?, ?> changes) {
+        if (changes.isEmpty()) return;
+        Object[] keyValueList = new Object[2 * changes.size()];
+        int i = 0;
+        for (Map.Entry<?, ?> entry : changes.entrySet()) {
+            keyValueList[i++] = entry.getKey();
+            keyValueList[i++] = entry.getValue();
         }
+        UIManager.getLookAndFeelDefaults().putDefaults(keyValueList);
+        refreshComponents(changes.keySet());
     }
 
-    private static void updateLafRecursively(final Window window) {
-        for (final Window childWindow : window.getOwnedWindows()) {
-            updateLafRecursively(childWindow);
+    /**
+     * Refreshes the components of all windows after the given entries of the defaults have changed.
+     *
+     * <p>If the {@code darklaf.defaultsUsageIndex} system property is set to true before the look and
+     * feel is installed, the keys read by every kind of ui delegate are recorded. Only components whose
+     * ui delegate has read any of the changed keys get a new ui, all other components are repainted.
+     * Otherwise this behaves like {@link #updateLaf()}.
+     *
+     * @param changedKeys the keys of the changed entries.
+     */
+    public static void refreshComponents(final Collection<?> changedKeys) {
+        refreshComponents(changedKeys, null);
+    }
+
+    /* default */ static void refreshComponents(final Collection<?> changedKeys, final Runnable onFinished) {
+        if (!DefaultsUsageIndex.isEnabled() || !(UIManager.getLookAndFeel() instanceof DarkLaf)) {
+            lafUpdateScheduler.updateAll(onFinished);
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> refreshComponents(changedKeys, onFinished));
+            return;
         }
-        SwingUtilities.updateComponentTreeUI(window);
+        DefaultsUsageIndex index = DefaultsUsageIndex.getInstance();
+        Set<Object> keys = new HashSet<>(changedKeys);
+        int count = 0;
+        for (Window window : Window.getWindows()) {
+            count += index.updateComponents(window, keys);
+            window.repaint();
+        }
+        int updated = count;
+        LOGGER.fine(() -> "Refreshed " + updated + " components for " + keys.size() + " changed keys");
+        if (onFinished != null) onFinished.run();
+    }
+
+    /**
+     * Adds a listener which is notified whenever a window has been updated with a new look and feel.
+     *
+     * @param listener the listener to add.
+     */
+    public static void addLafUpdateListener(final LafUpdateListener listener) {
+        lafUpdateScheduler.addListener(listener);
+    }
+
+    /**
+     * Removes a listener added with {@link #addLafUpdateListener(LafUpdateListener)}.
+     *
+     * @param listener the listener to remove.
+     */
+    public static void removeLafUpdateListener(final LafUpdateListener listener) {
+        lafUpdateScheduler.removeListener(listener);
     }
 
     /**
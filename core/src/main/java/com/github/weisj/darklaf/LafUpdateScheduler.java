@@ -0,0 +1,179 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.awt.event.HierarchyEvent;
+import java.awt.event.HierarchyListener;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.*;
+import javax.swing.event.EventListenerList;
+
+import com.github.weisj.darklaf.listener.LafUpdateListener;
+import com.github.weisj.darklaf.util.PropertyValue;
+
+/**
+ * Applies a new look and feel to all windows. Every window is updated exactly once, starting with
+ * the active window. By default all windows are updated synchronously on the calling thread.
+ *
+ * <p>
+ * If the {@link #TIME_SLICED_FLAG} system property is set to true, showing windows are updated in
+ * slices of limited duration which are spread across multiple events of the event dispatch thread.
+ * Hidden windows are then only updated once they are shown again, before they are painted.
+ */
+final class LafUpdateScheduler {
+
+    static final String TIME_SLICED_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "timeSlicedLafUpdate";
+    private static final long SLICE_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+
+    private final EventListenerList listenerList = new EventListenerList();
+    private final Deque<Window> queue = new ArrayDeque<>();
+    private final List<Runnable> finishedCallbacks = new ArrayList<>();
+    private final Map<Window, Boolean> deferred = new WeakHashMap<>();
+    private final HierarchyListener showListener = e -> {
+        if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) == 0) return;
+        // Dispatched synchronously while the window is shown, so it is updated before it is painted.
+        Window window = (Window) e.getComponent();
+        if (window.isShowing() && isDeferred(window)) update(window);
+    };
+    private volatile int generation;
+
+    void addListener(final LafUpdateListener listener) {
+        listenerList.add(LafUpdateListener.class, listener);
+    }
+
+    void removeListener(final LafUpdateListener listener) {
+        listenerList.remove(LafUpdateListener.class, listener);
+    }
+
+    private static boolean isTimeSliced() {
+        return PropertyValue.TRUE.equals(System.getProperty(TIME_SLICED_FLAG));
+    }
+
+    /**
+     * Updates all windows. Updates which are still pending from a previous call are discarded. If time
+     * slicing is enabled the update is scheduled on the event dispatch thread, otherwise all windows
+     * have been updated once this method returns.
+     *
+     * @param onFinished called after all showing windows have been updated. May be null.
+     */
+    void updateAll(final Runnable onFinished) {
+        if (!isTimeSliced()) {
+            generation++;
+            for (Window window : getWindows()) {
+                update(window);
+            }
+            if (onFinished != null) onFinished.run();
+            return;
+        }
+        if (!SwingUtilities.isEventDispatchThread()) {
+            SwingUtilities.invokeLater(() -> updateAll(onFinished));
+            return;
+        }
+        int gen = ++generation;
+        if (onFinished != null) finishedCallbacks.add(onFinished);
+        queue.clear();
+        for (Window window : getWindows()) {
+            if (window.isShowing()) {
+                queue.addLast(window);
+            } else {
+                defer(window);
+            }
+        }
+        runSlice(gen);
+    }
+
+    /*
+     * Returns every window exactly once, starting with the active window.
+     */
+    private static Collection<Window> getWindows() {
+        Window active = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+        Set<Window> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<Window> windows = new ArrayDeque<>();
+        // Window#getWindows already contains all owned windows.
+        for (Window window : Window.getWindows()) {
+            if (!visited.add(window)) continue;
+            if (window == active) {
+                windows.addFirst(window);
+            } else {
+                windows.addLast(window);
+            }
+        }
+        return windows;
+    }
+
+    private void runSlice(final int gen) {
+        if (gen != generation) return;
+        long start = System.nanoTime();
+        Window window;
+        while ((window = queue.pollFirst()) != null) {
+            if (window.isShowing()) {
+                update(window);
+            } else {
+                defer(window);
+            }
+            if (!queue.isEmpty() && System.nanoTime() - start >= SLICE_NANOS) {
+                SwingUtilities.invokeLater(() -> runSlice(gen));
+                return;
+            }
+        }
+        Runnable[] callbacks = finishedCallbacks.toArray(new Runnable[0]);
+        finishedCallbacks.clear();
+        for (Runnable callback : callbacks) {
+            callback.run();
+        }
+    }
+
+    private boolean isDeferred(final Window window) {
+        synchronized (deferred) {
+            return deferred.containsKey(window);
+        }
+    }
+
+    private void defer(final Window window) {
+        synchronized (deferred) {
+            if (deferred.put(window, Boolean.TRUE) != null) return;
+        }
+        window.addHierarchyListener(showListener);
+    }
+
+    private void update(final Window window) {
+        boolean wasDeferred;
+        synchronized (deferred) {
+            wasDeferred = deferred.remove(window) != null;
+        }
+        if (wasDeferred) window.removeHierarchyListener(showListener);
+        long start = System.nanoTime();
+        if (DefaultsUsageIndex.isEnabled()) {
+            DefaultsUsageIndex.getInstance().updateComponentTreeUI(window);
+        } else {
+            SwingUtilities.updateComponentTreeUI(window);
+        }
+        long nanos = System.nanoTime() - start;
+        for (LafUpdateListener listener : listenerList.getListeners(LafUpdateListener.class)) {
+            listener.windowUpdated(window, nanos);
+        }
+    }
+}
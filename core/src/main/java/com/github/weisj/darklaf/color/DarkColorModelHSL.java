@@ -76,6 +76,35 @@ public class DarkColorModelHSL extends DarkColorModel {
         return new Color(rgb[0], rgb[1], rgb[2]);
     }
 
+    /**
+     * Converts the given hsl values to an opaque rgb value packed in the default sRGB format. Contrary
+     * to {@link #getColorFromHSLValues(double, double, double)} no objects are allocated and no shared
+     * state is used, hence the method may be called from any thread.
+     *
+     * @param h the hue in [0, 1].
+     * @param saturation the saturation in [0, 1].
+     * @param lightness the lightness in [0, 1].
+     * @return the packed rgb value.
+     */
+    public static int getRGBFromHSLValues(final double h, final double saturation, final double lightness) {
+        if (saturation > 0.0f) {
+            double hue = (h - Math.floor(h)) * 6.0f;
+            double q = lightness + saturation * ((lightness > 0.5f) ? 1.0f - lightness : lightness);
+            double p = 2.0f * lightness - q;
+            int r = toComponent(normalize(q, p, (hue < 4.0f) ? (hue + 2.0f) : (hue - 4.0f)));
+            int g = toComponent(normalize(q, p, hue));
+            int b = toComponent(normalize(q, p, (hue < 2.0f) ? (hue + 4.0f) : (hue - 2.0f)));
+            return 0xFF000000 | (r << 16) | (g << 8) | b;
+        } else {
+            int l = toComponent(lightness);
+            return 0xFF000000 | (l << 16) | (l << 8) | l;
+        }
+    }
+
+    private static int toComponent(final double value) {
+        return Math.max(0, Math.min(255, (int) Math.round(255 * value)));
+    }
+
     public static double[] RGBtoHSLValues(final int r, final int g, final int b) {
         double max = max(r, g, b) / 255.0;
         double min = min(r, g, b) / 255.0;
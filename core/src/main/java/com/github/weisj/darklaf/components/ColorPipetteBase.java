@@ -36,7 +36,9 @@ import com.github.weisj.darklaf.ui.rootpane.DarkRootPaneUI;
 
 public abstract class ColorPipetteBase implements ColorPipette, AWTEventListener {
     protected final JComponent parent;
+    /** The robot backing the screen capture. Null if a custom screen capture is used. */
     protected final Robot robot;
+    protected final ScreenCapture screenCapture;
     private final ColorListener colorListener;
     private Runnable closeAction;
     private JWindow pickerWindow;
@@ -50,6 +52,15 @@ public abstract class ColorPipetteBase implements ColorPipette, AWTEventListener
         this.parent = parent;
         this.colorListener = colorListener;
         robot = createRobot();
+        screenCapture = ScreenCapture.of(robot);
+    }
+
+    public ColorPipetteBase(final JComponent parent, final ColorListener colorListener,
+            final ScreenCapture screenCapture) {
+        this.parent = parent;
+        this.colorListener = colorListener;
+        this.robot = null;
+        this.screenCapture = screenCapture;
     }
 
     private static Robot createRobot() {
@@ -73,7 +84,7 @@ public abstract class ColorPipetteBase implements ColorPipette, AWTEventListener
     }
 
     protected Color getPixelColor(final Point location) {
-        return robot.getPixelColor(location.x, location.y);
+        return screenCapture.getPixelColor(location.x, location.y);
     }
 
     protected Color getInitialColor() {
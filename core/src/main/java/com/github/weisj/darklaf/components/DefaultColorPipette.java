@@ -38,17 +38,31 @@ public class DefaultColorPipette extends ColorPipetteBase {
     private static final int DIALOG_SIZE = 50;
     private static final int MOUSE_OFF_X = 7;
     private static final int MOUSE_OFF_Y = -7;
+    private static final int POLL_INTERVAL = 16;
+    private static final int IDLE_INTERVAL = 250;
 
     private final Rectangle captureRect = new Rectangle();
+    private final Rectangle previousPickerBounds = new Rectangle();
     private final Point previousLocation = new Point();
     private final Timer timer;
+    private final IncrementalScreenCapture zoomCapture;
     protected final Color borderColor;
     private Graphics2D zoomGraphics;
     private BufferedImage zoomImage;
+    private long lastUpdateTime;
 
     public DefaultColorPipette(final JComponent parent, final ColorListener colorListener) {
         super(parent, colorListener);
-        timer = TimerUtil.createNamedTimer("DefaultColorPipette", 5, e -> updatePipette());
+        timer = TimerUtil.createNamedTimer("DefaultColorPipette", POLL_INTERVAL, e -> updatePipette());
+        zoomCapture = new IncrementalScreenCapture(screenCapture);
+        borderColor = UIManager.getColor("ColorChooser.pipetteBorderColor");
+    }
+
+    public DefaultColorPipette(final JComponent parent, final ColorListener colorListener,
+            final ScreenCapture screenCapture) {
+        super(parent, colorListener, screenCapture);
+        timer = TimerUtil.createNamedTimer("DefaultColorPipette", POLL_INTERVAL, e -> updatePipette());
+        zoomCapture = new IncrementalScreenCapture(screenCapture);
         borderColor = UIManager.getColor("ColorChooser.pipetteBorderColor");
     }
 
@@ -122,27 +136,52 @@ public class DefaultColorPipette extends ColorPipetteBase {
         return p;
     }
 
+    /*
+     * The screen is only sampled if the pointer has moved. While the pointer rests the screen is
+     * sampled with a low rate to pick up changes of the content below it.
+     */
     protected void updatePipette(final boolean force) {
         Window pickerWindow = getPickerWindow();
         if (pickerWindow != null && pickerWindow.isShowing()) {
+            PointerInfo pointerInfo = MouseInfo.getPointerInfo();
+            if (pointerInfo == null) return;
+            long now = System.currentTimeMillis();
+            boolean moved = !pointerInfo.getLocation().equals(previousLocation);
+            boolean idle = now - lastUpdateTime >= IDLE_INTERVAL;
+            if (!moved && !idle && !force) return;
+            lastUpdateTime = now;
+
             Point mouseLoc = updateLocation();
             if (mouseLoc == null) return;
+            previousLocation.setLocation(mouseLoc);
             final Color c = getPixelColor(mouseLoc);
-            if (!c.equals(getColor()) || !mouseLoc.equals(previousLocation) || force) {
-                setColor(c);
-                previousLocation.setLocation(mouseLoc);
+            boolean zoomChanged = false;
+            if (isKeyDown() && getPressedKeyCode() == KeyEvent.VK_SHIFT) {
+                Point p = pickerWindow.getLocationOnScreen();
+                p.y += pickerWindow.getHeight() - 2;
+                p.x += 2;
+                captureRect.setBounds(p.x - 9, p.y - 9, 18, 18);
 
-                if (isKeyDown() && getPressedKeyCode() == KeyEvent.VK_SHIFT) {
-                    Point p = pickerWindow.getLocationOnScreen();
-                    p.y += pickerWindow.getHeight() - 2;
-                    p.x += 2;
-                    captureRect.setBounds(p.x - 9, p.y - 9, 18, 18);
-
-                    BufferedImage capture = robot.createScreenCapture(captureRect);
-                    zoomGraphics.drawImage(capture, 0, 0, zoomImage.getWidth(), zoomImage.getHeight(), this);
-                }
+                if (!moved) zoomCapture.invalidate();
+                /*
+                 * The picker window overlaps the captured region and moves along with it. Content captured
+                 * where the window has been before is stale as well.
+                 */
+                Rectangle windowBounds = pickerWindow.getBounds();
+                Rectangle dirty = previousPickerBounds.isEmpty() ? windowBounds
+                        : windowBounds.union(previousPickerBounds);
+                previousPickerBounds.setBounds(windowBounds);
+                zoomCapture.update(captureRect, dirty);
+                zoomGraphics.drawImage(zoomCapture.getImage(), 0, 0, zoomImage.getWidth(), zoomImage.getHeight(),
+                        this);
+                zoomChanged = true;
+            }
+            if (!c.equals(getColor()) || moved || force) {
+                setColor(c);
                 pickerWindow.repaint();
                 notifyListener(c);
+            } else if (zoomChanged) {
+                pickerWindow.repaint();
             }
         }
     }
@@ -154,6 +193,7 @@ public class DefaultColorPipette extends ColorPipetteBase {
         if (zoomGraphics != null) {
             zoomGraphics.dispose();
         }
+        zoomCapture.dispose();
         zoomImage = null;
     }
 
@@ -165,8 +205,8 @@ public class DefaultColorPipette extends ColorPipetteBase {
 
     @Override
     public boolean isAvailable() {
-        if (robot != null) {
-            robot.createScreenCapture(new Rectangle(0, 0, 1, 1));
+        if (screenCapture != null) {
+            screenCapture.createScreenCapture(new Rectangle(0, 0, 1, 1));
             return true;
         }
         return false;
@@ -191,7 +231,7 @@ public class DefaultColorPipette extends ColorPipetteBase {
         @Override
         public void paint(final Graphics g2) {
             super.paint(g2);
-            GraphicsUtil.setupStrokePainting(g2);
+            GraphicsContext context = GraphicsUtil.setupStrokePainting(g2);
             Graphics2D g = (Graphics2D) g2;
 
             // Draw region to be recognised as inside the window.
@@ -216,6 +256,7 @@ public class DefaultColorPipette extends ColorPipetteBase {
                 g.draw(circ);
             }
             icon.paintIcon(null, g, 0, getHeight() - icon.getIconHeight());
+            context.restore();
         }
     }
 }
@@ -0,0 +1,137 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.components;
+
+import java.awt.*;
+import java.awt.geom.Rectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+
+/**
+ * Keeps a capture of a region of the screen up to date. If the region moves by less than its size,
+ * the already captured content is shifted and only the newly exposed strips are captured.
+ */
+public class IncrementalScreenCapture {
+
+    private final ScreenCapture screenCapture;
+    private final Rectangle region = new Rectangle();
+    private final Rectangle area = new Rectangle();
+    private BufferedImage buffer;
+    private Graphics2D bufferGraphics;
+    private int[] shiftBuffer;
+    private boolean valid;
+
+    public IncrementalScreenCapture(final ScreenCapture screenCapture) {
+        this.screenCapture = screenCapture;
+    }
+
+    /**
+     * Returns the captured content. The image is reused by subsequent updates.
+     *
+     * @return the captured image or null if nothing has been captured yet.
+     */
+    public BufferedImage getImage() {
+        return buffer;
+    }
+
+    /** Discards the captured content, so the next update captures the whole region. */
+    public void invalidate() {
+        valid = false;
+    }
+
+    /**
+     * Updates the capture to contain the given region of the screen.
+     *
+     * @param bounds the region on screen.
+     * @param dirty an area on screen which always has to be captured again e.g. because it contains
+     *        moving content. May be null.
+     * @return the number of captured pixels.
+     */
+    public int update(final Rectangle bounds, final Rectangle dirty) {
+        if (buffer == null || buffer.getWidth() != bounds.width || buffer.getHeight() != bounds.height) {
+            dispose();
+            buffer = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_ARGB);
+            bufferGraphics = buffer.createGraphics();
+            bufferGraphics.setComposite(AlphaComposite.Src);
+            valid = false;
+        }
+        int w = bounds.width;
+        int h = bounds.height;
+        int dx = bounds.x - region.x;
+        int dy = bounds.y - region.y;
+        region.setBounds(bounds);
+        if (!valid || Math.abs(dx) >= w || Math.abs(dy) >= h) {
+            valid = true;
+            return capture(0, 0, w, h);
+        }
+        int captured = 0;
+        if (dx != 0 || dy != 0) {
+            shift(dx, dy);
+            if (dx != 0) captured += capture(dx > 0 ? w - dx : 0, 0, Math.abs(dx), h);
+            if (dy != 0) {
+                int x = dx > 0 ? 0 : -dx;
+                captured += capture(x, dy > 0 ? h - dy : 0, w - Math.abs(dx), Math.abs(dy));
+            }
+        }
+        if (dirty != null) {
+            area.setBounds(dirty);
+            Rectangle2D.intersect(area, region, area);
+            if (!area.isEmpty()) {
+                captured += capture(area.x - region.x, area.y - region.y, area.width, area.height);
+            }
+        }
+        return captured;
+    }
+
+    /*
+     * Moves the content by the negative offset, so it stays at the same position on screen.
+     */
+    private void shift(final int dx, final int dy) {
+        int w = buffer.getWidth() - Math.abs(dx);
+        int h = buffer.getHeight() - Math.abs(dy);
+        int srcX = Math.max(dx, 0);
+        int srcY = Math.max(dy, 0);
+        int destX = Math.max(-dx, 0);
+        int destY = Math.max(-dy, 0);
+        if (shiftBuffer == null || shiftBuffer.length < w * h) {
+            shiftBuffer = new int[buffer.getWidth() * buffer.getHeight()];
+        }
+        WritableRaster raster = buffer.getRaster();
+        raster.getDataElements(srcX, srcY, w, h, shiftBuffer);
+        raster.setDataElements(destX, destY, w, h, shiftBuffer);
+    }
+
+    private int capture(final int x, final int y, final int width, final int height) {
+        if (width <= 0 || height <= 0) return 0;
+        BufferedImage img = screenCapture.createScreenCapture(
+                new Rectangle(region.x + x, region.y + y, width, height));
+        bufferGraphics.drawImage(img, x, y, null);
+        return width * height;
+    }
+
+    public void dispose() {
+        if (bufferGraphics != null) bufferGraphics.dispose();
+        bufferGraphics = null;
+        buffer = null;
+        valid = false;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.components;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * Provides access to the content of the screen. The default implementation is backed by a
+ * {@link Robot}.
+ */
+public interface ScreenCapture {
+
+    /**
+     * Creates a screen capture backed by a {@link Robot}.
+     *
+     * @return the screen capture or null if no robot can be created.
+     */
+    static ScreenCapture create() {
+        try {
+            return of(new Robot());
+        } catch (AWTException | SecurityException e) {
+            return null;
+        }
+    }
+
+    static ScreenCapture of(final Robot robot) {
+        if (robot == null) return null;
+        return new ScreenCapture() {
+            @Override
+            public Color getPixelColor(final int x, final int y) {
+                return robot.getPixelColor(x, y);
+            }
+
+            @Override
+            public BufferedImage createScreenCapture(final Rectangle bounds) {
+                return robot.createScreenCapture(bounds);
+            }
+        };
+    }
+
+    Color getPixelColor(int x, int y);
+
+    BufferedImage createScreenCapture(Rectangle bounds);
+}
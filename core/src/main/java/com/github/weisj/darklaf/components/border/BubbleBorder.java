@@ -22,9 +22,13 @@
 package com.github.weisj.darklaf.components.border;
 
 import java.awt.*;
+import java.awt.geom.AffineTransform;
 import java.awt.geom.Area;
 import java.awt.geom.Path2D;
 import java.awt.geom.RoundRectangle2D;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
 
 import javax.swing.border.AbstractBorder;
 import javax.swing.plaf.InsetsUIResource;
@@ -33,9 +37,23 @@ import com.github.weisj.darklaf.graphics.GraphicsContext;
 import com.github.weisj.darklaf.graphics.GraphicsUtil;
 import com.github.weisj.darklaf.util.Alignment;
 
-/** @author Jannis Weis */
+/**
+ * Border with a rounded outline and an optional pointer. The computed outline areas are cached in
+ * local coordinates, so repeated painting with the same size and configuration doesn't need to
+ * perform any constructive area geometry.
+ *
+ * @author Jannis Weis
+ */
 public class BubbleBorder extends AbstractBorder {
 
+    private static final int CACHE_SIZE = 8;
+
+    private final Map<ShapeKey, Area> shapeCache = new LinkedHashMap<ShapeKey, Area>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<ShapeKey, Area> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
     private final Insets insets;
     private Alignment pointerSide = Alignment.NORTH;
     private Color color;
@@ -257,8 +275,9 @@ public class BubbleBorder extends AbstractBorder {
     @Override
     public void paintBorder(final Component c, final Graphics g, final int x, final int y, final int width,
             final int height) {
-        Area area = getBorderArea(x, y, width, height);
-        paintBorder(g, area);
+        g.translate(x, y);
+        paintBorder(g, getCachedArea(width, height, getThickness(), true));
+        g.translate(-x, -y);
     }
 
     @Override
@@ -271,7 +290,63 @@ public class BubbleBorder extends AbstractBorder {
         return getBorderInsets(c);
     }
 
+    /**
+     * Get the area of the bubble.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @param width the width.
+     * @param height the height.
+     * @param adj the amount the bubble should be shrunk.
+     * @return the bubble area. The area is a copy and may be modified.
+     */
     public Area getBubbleArea(final float x, final float y, final float width, final float height, final float adj) {
+        return translate(getCachedArea(width, height, adj, false), x, y);
+    }
+
+    /**
+     * Get the outline of the bubble.
+     *
+     * @param x the x coordinate.
+     * @param y the y coordinate.
+     * @param width the width.
+     * @param height the height.
+     * @param adj the amount the bubble should be shrunk.
+     * @return the bubble shape.
+     */
+    public Shape getBubbleShape(final float x, final float y, final float width, final float height,
+            final float adj) {
+        return AffineTransform.getTranslateInstance(x, y)
+                .createTransformedShape(getCachedArea(width, height, adj, false));
+    }
+
+    public Area getBorderArea(final int x, final int y, final int width, final int height) {
+        return translate(getCachedArea(width, height, getThickness(), true), x, y);
+    }
+
+    private static Area translate(final Area area, final float x, final float y) {
+        if (x == 0 && y == 0) return new Area(area);
+        return area.createTransformedArea(AffineTransform.getTranslateInstance(x, y));
+    }
+
+    private Area getCachedArea(final float width, final float height, final float adj, final boolean border) {
+        ShapeKey key = new ShapeKey(width, height, adj, border, radius, thickness, pointerSize, pointerWidth,
+                pointerSide);
+        Area area = shapeCache.get(key);
+        if (area == null) {
+            if (border) {
+                area = createBubbleArea(0, 0, width, height, 0);
+                area.subtract(createBubbleArea(0, 0, width, height, adj));
+            } else {
+                area = createBubbleArea(0, 0, width, height, adj);
+            }
+            shapeCache.put(key, area);
+        }
+        return area;
+    }
+
+    protected Area createBubbleArea(final float x, final float y, final float width, final float height,
+            final float adj) {
         float w = width - 2 * adj;
         float h = height - 2 * adj;
         double pSize = getPointerSize() - adj;
@@ -298,13 +373,6 @@ public class BubbleBorder extends AbstractBorder {
         return area;
     }
 
-    public Area getBorderArea(final int x, final int y, final int width, final int height) {
-        Area outer = getBubbleArea(x, y, width, height, 0);
-        Area inner = getBubbleArea(x, y, width, height, getThickness());
-        outer.subtract(inner);
-        return outer;
-    }
-
     public void paintBorder(final Graphics g, final Area strokeArea) {
         final Graphics2D g2 = (Graphics2D) g;
         GraphicsContext config = GraphicsUtil.setupStrokePainting(g);
@@ -356,4 +424,48 @@ public class BubbleBorder extends AbstractBorder {
         pointer.closePath();
         return pointer;
     }
+
+    private static final class ShapeKey {
+
+        private final float width;
+        private final float height;
+        private final float adj;
+        private final boolean border;
+        private final int radius;
+        private final int thickness;
+        private final int pointerSize;
+        private final int pointerWidth;
+        private final Alignment pointerSide;
+
+        private ShapeKey(final float width, final float height, final float adj, final boolean border,
+                final int radius, final int thickness, final int pointerSize, final int pointerWidth,
+                final Alignment pointerSide) {
+            this.width = width;
+            this.height = height;
+            this.adj = adj;
+            this.border = border;
+            this.radius = radius;
+            this.thickness = thickness;
+            this.pointerSize = pointerSize;
+            this.pointerWidth = pointerWidth;
+            this.pointerSide = pointerSide;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShapeKey)) return false;
+            ShapeKey other = (ShapeKey) o;
+            return Float.compare(other.width, width) == 0 && Float.compare(other.height, height) == 0
+                    && Float.compare(other.adj, adj) == 0 && border == other.border && radius == other.radius
+                    && thickness == other.thickness && pointerSize == other.pointerSize
+                    && pointerWidth == other.pointerWidth && pointerSide == other.pointerSide;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(width, height, adj, border, radius, thickness, pointerSize, pointerWidth,
+                    pointerSide);
+        }
+    }
 }
@@ -24,12 +24,12 @@ package com.github.weisj.darklaf.components.border;
 import java.awt.*;
 import java.awt.geom.RoundRectangle2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.ConvolveOp;
-import java.awt.image.Kernel;
+import java.awt.image.DataBufferInt;
 import java.io.Serializable;
-import java.util.Arrays;
-import java.util.HashMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 
 import javax.swing.border.Border;
 
@@ -49,15 +49,21 @@ import com.github.weisj.darklaf.util.ImageUtil;
  * <p>
  * Note: Since generating drop shadows is relatively expensive operation, {@code
  * DropShadowBorder} keeps internal static cache that allows sharing same border for multiple
- * re-rendering and between different instances of the class. Since this cache is shared at class
- * level and never reset, it might bleed your app memory in case you tend to create many different
- * borders rapidly.
+ * re-rendering and between different instances of the class. The cache holds the shadows of the
+ * most recently used configurations only.
  *
  * @author rbair Adaptions made by
  * @author Jannis Weis
  */
 public class DropShadowBorder implements Border, Serializable {
-    private static final Map<Integer, BufferedImage[]> CACHE = new HashMap<>();
+    private static final int CACHE_SIZE = 16;
+    private static final Map<ShadowKey, BufferedImage[]> CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<ShadowKey, BufferedImage[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<ShadowKey, BufferedImage[]> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
     private Color shadowColor;
     private int shadowSize;
     private float shadowOpacity;
@@ -209,7 +215,8 @@ public class DropShadowBorder implements Border, Serializable {
     private BufferedImage[] getImages() {
         // first, check to see if an image for this size has already been rendered
         // if so, use the cache. Else, draw and save
-        BufferedImage[] images = CACHE.get(getBorderHash(shadowSize, shadowOpacity, shadowColor));
+        ShadowKey key = new ShadowKey(shadowSize, shadowOpacity, shadowColor, cornerSize);
+        BufferedImage[] images = CACHE.get(key);
         if (images == null) {
             images = new BufferedImage[Position.count()];
 
@@ -218,13 +225,13 @@ public class DropShadowBorder implements Border, Serializable {
              * the rounded rect in 3) Translate the graphics for the image, so that the rectangle is centered in
              * the drawn space. The border around the rectangle needs to be shadowWidth wide, so that there is
              * space for the shadow to be drawn. 4) Draw the rounded rect as shadowColor, with an opacity of
-             * shadowOpacity 5) Create the BLUR_KERNEL 6) Blur the image 7) copy off the corners, sides, etc
-             * into images to be used for drawing the Border
+             * shadowOpacity 5) Blur the image 6) copy off the corners, sides, etc into images to be used for
+             * drawing the Border
              */
             int rectWidth = cornerSize + 1;
             RoundRectangle2D rect = new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth, cornerSize, cornerSize);
             int imageWidth = rectWidth + shadowSize * 2;
-            BufferedImage image = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
+            BufferedImage image = new BufferedImage(imageWidth, imageWidth, BufferedImage.TYPE_INT_ARGB);
             Graphics2D buffer = (Graphics2D) image.getGraphics();
 
             try (Disposable d = buffer::dispose) {
@@ -234,12 +241,7 @@ public class DropShadowBorder implements Border, Serializable {
                 buffer.fill(rect);
             }
 
-            float blurry = 1.0f / (float) (shadowSize * shadowSize);
-            float[] blurKernel = new float[shadowSize * shadowSize];
-            Arrays.fill(blurKernel, blurry);
-            ConvolveOp blur = new ConvolveOp(new Kernel(shadowSize, shadowSize, blurKernel));
-            BufferedImage targetImage = ImageUtil.createCompatibleTranslucentImage(imageWidth, imageWidth);
-            ((Graphics2D) targetImage.getGraphics()).drawImage(image, blur, -(shadowSize / 2), -(shadowSize / 2));
+            BufferedImage targetImage = blur(image, shadowSize, shadowColor);
 
             int x = 1;
             int y = 1;
@@ -283,16 +285,75 @@ public class DropShadowBorder implements Border, Serializable {
             images[Position.TOP.ordinal()] = getSubImage(targetImage, x, y, w, h);
 
             image.flush();
-            CACHE.put(getBorderHash(shadowSize, shadowOpacity, shadowColor), images);
+            targetImage.flush();
+            CACHE.put(key, images);
         }
         return images;
     }
 
-    private static int getBorderHash(final int shadowSize, final float opacity, final Color shadowColor) {
-        int result = shadowSize;
-        result = 31 * result + (opacity != +0.0f ? Float.floatToIntBits(opacity) : 0);
-        result = 31 * result + (shadowColor != null ? shadowColor.hashCode() : 0);
-        return result;
+    /*
+     * Blurs the image with a box filter of the given size. The filter is separated into a horizontal
+     * and a vertical pass over the alpha values, each using a sliding window sum. As the shadow has a
+     * single color only the alpha channel needs to be blurred.
+     *
+     * Like a ConvolveOp with EDGE_ZERO_FILL only pixels for which the filter fits completely inside the
+     * image are computed. The result is shifted by half the filter size.
+     */
+    private static BufferedImage blur(final BufferedImage image, final int size, final Color color) {
+        int w = image.getWidth();
+        int h = image.getHeight();
+        int[] pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        BufferedImage target = new BufferedImage(w, h, BufferedImage.TYPE_INT_ARGB);
+        int[] result = ((DataBufferInt) target.getRaster().getDataBuffer()).getData();
+        int rgb = color.getRGB() & 0x00FFFFFF;
+        if (size <= 1) {
+            for (int i = 0; i < pixels.length; i++) {
+                result[i] = (pixels[i] & 0xFF000000) | rgb;
+            }
+            return target;
+        }
+        // The filter covers [x - origin, x - origin + size - 1] like the kernel of a ConvolveOp.
+        int origin = size / 2;
+        int shift = size / 2;
+        int validEnd = w - size + origin;
+        int validEndY = h - size + origin;
+        if (validEnd < origin || validEndY < origin) return target;
+
+        // Horizontal pass. Only the columns in [origin, validEnd] are valid afterwards.
+        int[] sums = new int[w * h];
+        for (int y = 0; y < h; y++) {
+            int row = y * w;
+            int sum = 0;
+            for (int i = 0; i < size; i++) {
+                sum += pixels[row + i] >>> 24;
+            }
+            sums[row + origin] = sum;
+            for (int x = origin + 1; x <= validEnd; x++) {
+                sum += (pixels[row + x - origin + size - 1] >>> 24) - (pixels[row + x - origin - 1] >>> 24);
+                sums[row + x] = sum;
+            }
+        }
+
+        // Vertical pass written directly to the shifted target location.
+        int area = size * size;
+        for (int x = origin; x <= validEnd; x++) {
+            int tx = x - shift;
+            int sum = 0;
+            for (int j = 0; j < size; j++) {
+                sum += sums[j * w + x];
+            }
+            for (int y = origin; y <= validEndY; y++) {
+                if (y > origin) {
+                    sum += sums[(y - origin + size - 1) * w + x] - sums[(y - origin - 1) * w + x];
+                }
+                int ty = y - shift;
+                if (tx >= 0 && ty >= 0) {
+                    int alpha = Math.min(255, (sum + area / 2) / area);
+                    result[ty * w + tx] = (alpha << 24) | rgb;
+                }
+            }
+        }
+        return target;
     }
 
     /**
@@ -398,6 +459,35 @@ public class DropShadowBorder implements Border, Serializable {
         return this;
     }
 
+    private static final class ShadowKey {
+
+        private final int size;
+        private final float opacity;
+        private final Color color;
+        private final int cornerSize;
+
+        private ShadowKey(final int size, final float opacity, final Color color, final int cornerSize) {
+            this.size = size;
+            this.opacity = opacity;
+            this.color = color;
+            this.cornerSize = cornerSize;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof ShadowKey)) return false;
+            ShadowKey other = (ShadowKey) o;
+            return size == other.size && Float.compare(other.opacity, opacity) == 0
+                    && cornerSize == other.cornerSize && Objects.equals(color, other.color);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(size, opacity, color, cornerSize);
+        }
+    }
+
     private enum Position {
         TOP,
         TOP_LEFT,
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Supplier;
 
 import javax.swing.*;
 import javax.swing.plaf.ComponentUI;
@@ -283,6 +284,23 @@ public class JTabFrame extends JComponent {
         insertTab(popup, title, icon, a, index);
     }
 
+    /**
+     * Insert a tab whose content is created when it is opened for the first time. A default tab
+     * component and popup component will be created.
+     *
+     * @param contentSupplier the supplier of the component to add.
+     * @param title the title of the component.
+     * @param icon the icon
+     * @param a the alignment position to add at.{@link TabFramePosition#getAlignment()}
+     * @param index the index to insert at.{@link TabFramePosition#getIndex()}
+     * @see LazyPanelPopup
+     */
+    public void insertTab(final Supplier<? extends Component> contentSupplier, final String title, final Icon icon,
+            final Alignment a, final int index) {
+        TabFramePopup popup = new LazyPanelPopup(title, icon, contentSupplier);
+        insertTab(popup, title, icon, a, index);
+    }
+
     /**
      * Insert a tab. A default tab component will be created.
      *
@@ -635,6 +653,24 @@ public class JTabFrame extends JComponent {
         return tabs.get(Math.max(Math.min(tabs.size() - 1, selectedIndices[a.ordinal()]), 0)).getComponent();
     }
 
+    /**
+     * Returns the number of popups whose content currently exists. The content of a
+     * {@link LazyPanelPopup} only exists after it has been opened and until it is hibernated.
+     *
+     * @return the number of popups with realized content.
+     */
+    public int getRealizedPopupCount() {
+        int count = 0;
+        for (List<TabFramePopup> list : popupLists) {
+            for (TabFramePopup popup : list) {
+                if (!(popup instanceof LazyPanelPopup) || ((LazyPanelPopup) popup).isContentRealized()) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
     /**
      * Close a popup.
      *
@@ -700,6 +736,20 @@ public class JTabFrame extends JComponent {
         insertTab(c, title, icon, a, tabsForAlignment(a).size());
     }
 
+    /**
+     * Add a popup whose content is created when it is opened for the first time.
+     *
+     * @param contentSupplier the supplier of the content component.
+     * @param title the title.
+     * @param icon the icon.
+     * @param a the alignment position.{@link TabFramePosition#getAlignment()}
+     * @see LazyPanelPopup
+     */
+    public void addTab(final Supplier<? extends Component> contentSupplier, final String title, final Icon icon,
+            final Alignment a) {
+        insertTab(contentSupplier, title, icon, a, tabsForAlignment(a).size());
+    }
+
     /**
      * Add a popup.
      *
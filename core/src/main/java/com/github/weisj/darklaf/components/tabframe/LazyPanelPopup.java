@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.components.tabframe;
+
+import java.awt.*;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import javax.swing.*;
+
+/**
+ * Popup Component for {@link JTabFrame} which creates its content when it is opened for the first
+ * time. If a hibernation delay is set, the content is released again after the popup has been
+ * closed for the given time and created anew the next time the popup is opened.
+ *
+ * @author Jannis Weis
+ */
+public class LazyPanelPopup extends PanelPopup {
+
+    private final Supplier<? extends Component> contentSupplier;
+    private final Timer hibernationTimer;
+    private Component realizedContent;
+    private int hibernationDelay = -1;
+
+    /**
+     * Creates a new Popup whose content is created on demand.
+     *
+     * @param title the title of the component.
+     * @param contentSupplier the supplier of the content of the popup.
+     */
+    public LazyPanelPopup(final String title, final Supplier<? extends Component> contentSupplier) {
+        this(title, null, contentSupplier);
+    }
+
+    /**
+     * Creates a new Popup whose content is created on demand.
+     *
+     * @param title the title of the component.
+     * @param icon the icon of the popup.
+     * @param contentSupplier the supplier of the content of the popup.
+     */
+    public LazyPanelPopup(final String title, final Icon icon, final Supplier<? extends Component> contentSupplier) {
+        super(title, icon, null);
+        this.contentSupplier = Objects.requireNonNull(contentSupplier);
+        hibernationTimer = new Timer(0, e -> hibernate());
+        hibernationTimer.setRepeats(false);
+    }
+
+    /**
+     * Returns the time in milliseconds the popup has to be closed before its content is released.
+     *
+     * @return the hibernation delay or a negative value if the content is never released.
+     */
+    public int getHibernationDelay() {
+        return hibernationDelay;
+    }
+
+    /**
+     * Sets the time in milliseconds the popup has to be closed before its content is released. A
+     * negative value disables hibernation.
+     *
+     * @param hibernationDelay the hibernation delay.
+     */
+    public void setHibernationDelay(final int hibernationDelay) {
+        this.hibernationDelay = hibernationDelay;
+        if (hibernationDelay < 0) {
+            hibernationTimer.stop();
+        } else if (!isEnabled() && realizedContent != null) {
+            hibernationTimer.setInitialDelay(hibernationDelay);
+            hibernationTimer.restart();
+        }
+    }
+
+    /**
+     * Returns whether the content of the popup currently exists.
+     *
+     * @return true if the content has been created and not yet been released.
+     */
+    public boolean isContentRealized() {
+        return realizedContent != null;
+    }
+
+    @Override
+    public void setEnabled(final boolean enabled) {
+        super.setEnabled(enabled);
+        // Called from the super constructor.
+        if (hibernationTimer == null) return;
+        if (enabled) {
+            hibernationTimer.stop();
+            realizeContent();
+        } else if (realizedContent != null && hibernationDelay >= 0) {
+            hibernationTimer.setInitialDelay(hibernationDelay);
+            hibernationTimer.restart();
+        }
+    }
+
+    /** Creates the content if it doesn't exist yet. */
+    public void realizeContent() {
+        if (realizedContent != null) return;
+        realizedContent = contentSupplier.get();
+        setContentPane(realizedContent);
+    }
+
+    /**
+     * Releases the content of the popup. The content is created again the next time the popup is
+     * opened. This has no effect while the popup is open.
+     */
+    public void hibernate() {
+        hibernationTimer.stop();
+        if (isEnabled() || realizedContent == null) return;
+        realizedContent = null;
+        setContentPane(null);
+    }
+}
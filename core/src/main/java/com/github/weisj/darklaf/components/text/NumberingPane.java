@@ -35,13 +35,13 @@ public class NumberingPane extends JComponent {
     public static final String KEY_ICONS = "icons";
     public static final String KEY_MIN_ICON_WIDTH = "minimumIconWidth";
     private JTextComponent textComponent;
-    private final Map<Position, Icon> iconMap;
-    private final Map<Position, List<IconListener>> listenerMap;
+    private final PositionMap<Icon> iconMap;
+    private final PositionMap<List<IconListener>> listenerMap;
     private int width;
 
     public NumberingPane() {
-        iconMap = new HashMap<>();
-        listenerMap = new HashMap<>();
+        iconMap = new PositionMap<>();
+        listenerMap = new PositionMap<>();
         updateUI();
     }
 
@@ -74,10 +74,7 @@ public class NumberingPane extends JComponent {
     }
 
     public List<Map.Entry<Position, Icon>> getIconsInRange(final int startOff, final int endOff) {
-        return iconMap.entrySet().stream().filter(e -> {
-            Position pos = e.getKey();
-            return pos.getOffset() >= startOff && pos.getOffset() <= endOff;
-        }).collect(Collectors.toList());
+        return iconMap.getInRange(startOff, endOff);
     }
 
     public Position addIconAtLine(final int lineIndex, final Icon icon) throws BadLocationException {
@@ -121,10 +118,11 @@ public class NumberingPane extends JComponent {
     }
 
     public void addIconListener(final Position position, final IconListener listener) {
-        if (!listenerMap.containsKey(position)) {
-            listenerMap.put(position, new ArrayList<>());
-        }
         List<IconListener> list = listenerMap.get(position);
+        if (list == null) {
+            list = new ArrayList<>();
+            listenerMap.put(position, list);
+        }
         list.add(listener);
     }
 
@@ -146,10 +144,8 @@ public class NumberingPane extends JComponent {
     }
 
     public List<IconListener> getIconListeners(final int startOffset, final int endOffset) {
-        return listenerMap.entrySet().stream().filter(entry -> {
-            Position p = entry.getKey();
-            return p.getOffset() >= startOffset && p.getOffset() <= endOffset;
-        }).map(Map.Entry::getValue).flatMap(List::stream).collect(Collectors.toList());
+        return listenerMap.getInRange(startOffset, endOffset).stream().map(Map.Entry::getValue)
+                .flatMap(List::stream).collect(Collectors.toList());
     }
 
     public void addIndexListener(final IndexListener listener) {
@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.components.text;
+
+import java.util.*;
+
+import javax.swing.text.Position;
+
+/**
+ * Map from document positions to values, which additionally keeps the positions sorted by their
+ * offset. Positions never change their relative order when the document is edited, so the order
+ * stays valid without any resorting.
+ *
+ * @param <V> the value type.
+ */
+class PositionMap<V> {
+
+    private final Map<Position, Node<V>> nodes = new HashMap<>();
+    private final NavigableSet<Node<V>> sorted = new TreeSet<>();
+    private long nextId;
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public V get(final Position position) {
+        Node<V> node = nodes.get(position);
+        return node != null ? node.value : null;
+    }
+
+    public V put(final Position position, final V value) {
+        Node<V> node = nodes.get(position);
+        if (node != null) {
+            V old = node.value;
+            node.value = value;
+            return old;
+        }
+        node = new Node<>(position, nextId++, value);
+        nodes.put(position, node);
+        sorted.add(node);
+        return null;
+    }
+
+    public V remove(final Position position) {
+        Node<V> node = nodes.remove(position);
+        if (node == null) return null;
+        if (!sorted.remove(node)) {
+            // Positions which collapsed onto the same offset may no longer be ordered by their id.
+            int offset = position.getOffset();
+            sorted.subSet(Node.lowerBound(offset), true, Node.upperBound(offset), true).removeIf(n -> n == node);
+        }
+        return node.value;
+    }
+
+    public Collection<V> values() {
+        return new AbstractCollection<V>() {
+            @Override
+            public Iterator<V> iterator() {
+                Iterator<Node<V>> iterator = nodes.values().iterator();
+                return new Iterator<V>() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public V next() {
+                        return iterator.next().value;
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return nodes.size();
+            }
+        };
+    }
+
+    /**
+     * Returns the entries whose position lies in the given range of offsets ordered by offset.
+     *
+     * @param startOffset the start offset (inclusive).
+     * @param endOffset the end offset (inclusive).
+     * @return the entries in range.
+     */
+    public List<Map.Entry<Position, V>> getInRange(final int startOffset, final int endOffset) {
+        if (startOffset > endOffset) return Collections.emptyList();
+        return new ArrayList<>(
+                sorted.subSet(Node.lowerBound(startOffset), true, Node.upperBound(endOffset), true));
+    }
+
+    private static final class Node<V> implements Map.Entry<Position, V>, Comparable<Node<?>> {
+
+        private final Position position;
+        private final long id;
+        private V value;
+
+        private Node(final Position position, final long id, final V value) {
+            this.position = position;
+            this.id = id;
+            this.value = value;
+        }
+
+        private static <T> Node<T> lowerBound(final int offset) {
+            return new Node<>(() -> offset, Long.MIN_VALUE, null);
+        }
+
+        private static <T> Node<T> upperBound(final int offset) {
+            return new Node<>(() -> offset, Long.MAX_VALUE, null);
+        }
+
+        @Override
+        public int compareTo(final Node<?> o) {
+            int cmp = Integer.compare(position.getOffset(), o.position.getOffset());
+            if (cmp != 0) return cmp;
+            return Long.compare(id, o.id);
+        }
+
+        @Override
+        public Position getKey() {
+            return position;
+        }
+
+        @Override
+        public V getValue() {
+            return value;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
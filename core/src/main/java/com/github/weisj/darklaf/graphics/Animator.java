@@ -21,22 +21,22 @@
  */
 package com.github.weisj.darklaf.graphics;
 
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.ScheduledFuture;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.*;
 
 import com.github.weisj.darklaf.DarkLaf;
 import com.github.weisj.darklaf.util.PropertyValue;
 
-/** @author Konstantin Bulenkov */
+/**
+ * Frame based animation. All running animators are advanced by the global {@link FrameClock}.
+ *
+ * @author Konstantin Bulenkov
+ */
 public abstract class Animator {
 
     public static final String ANIMATIONS_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "animations";
-    private static final ScheduledExecutorService scheduler = createScheduler();
+    private static final long NO_TIME = Long.MIN_VALUE;
 
     private final int totalFrames;
     private final int cycleDuration;
@@ -47,7 +47,7 @@ public abstract class Animator {
 
     private Interpolator interpolator;
 
-    private ScheduledFuture<?> ticker;
+    private volatile boolean running;
     private int startFrame;
     private int currentFrame;
     private long startTime;
@@ -90,25 +90,13 @@ public abstract class Animator {
     }
 
     private void resetTime() {
-        startTime = -1;
+        startTime = NO_TIME;
     }
 
     public void reset() {
         currentFrame %= totalFrames;
     }
 
-    private static ScheduledExecutorService createScheduler() {
-        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
-            final Thread thread = new Thread(r, "Animations Thread");
-            thread.setDaemon(true);
-            thread.setPriority(Thread.MAX_PRIORITY);
-            return thread;
-        });
-        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
-        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
-        return executor;
-    }
-
     public void suspend() {
         resetTime();
         reset();
@@ -116,9 +104,9 @@ public abstract class Animator {
     }
 
     public void stopTicker() {
-        if (ticker != null) {
-            ticker.cancel(false);
-            ticker = null;
+        if (running) {
+            running = false;
+            FrameClock.getInstance().remove(this);
         }
     }
 
@@ -147,26 +135,15 @@ public abstract class Animator {
         if (startFrame < 0) {
             throw new IllegalArgumentException("Starting frame must be non negative.");
         }
-        if (cycleDuration == 0 || startFrame >= totalFrames || !animationsEnabled()) {
+        if (cycleDuration == 0 || startFrame >= totalFrames || !animationsEnabled() || (!repeatable
+                && FrameClock.getInstance().getDegradationLevel() == FrameClock.DegradationLevel.FINAL_FRAME_ONLY)) {
             currentFrame = totalFrames - 1;
             paint();
             animationDone();
-        } else if (ticker == null) {
+        } else if (!running && !isDisposed()) {
             this.startFrame = startFrame;
-            ticker = scheduler.scheduleWithFixedDelay(new Runnable() {
-                final AtomicBoolean isScheduled = new AtomicBoolean(false);
-
-                @Override
-                public void run() {
-                    if (!isScheduled.get() && !isDisposed()) {
-                        isScheduled.set(true);
-                        SwingUtilities.invokeLater(() -> {
-                            onTick();
-                            isScheduled.set(false);
-                        });
-                    }
-                }
-            }, 0, cycleDuration * 1000L / totalFrames, TimeUnit.MICROSECONDS);
+            running = true;
+            FrameClock.getInstance().add(this);
         }
     }
 
@@ -186,15 +163,23 @@ public abstract class Animator {
         return disposed;
     }
 
-    private void onTick() {
-        if (isDisposed() || ticker == null) return;
+    void onFrame(final long frameTime, final boolean skipToEnd) {
+        if (isDisposed() || !running) return;
+
+        if (skipToEnd && !repeatable) {
+            currentFrame = totalFrames - 1;
+            paint();
+            animationDone();
+            return;
+        }
 
-        if (startTime == -1) {
-            startTime = System.currentTimeMillis();
-            stopTime = startTime + (((long) cycleDuration) * (totalFrames - currentFrame)) / totalFrames;
+        if (startTime == NO_TIME) {
+            startTime = frameTime;
+            stopTime = startTime + (TimeUnit.MILLISECONDS.toNanos(cycleDuration) * (totalFrames - currentFrame))
+                    / totalFrames;
         }
 
-        final double passedTime = System.currentTimeMillis() - startTime;
+        final double passedTime = frameTime - startTime;
         final double totalTime = stopTime - startTime;
 
         final int newFrame = (int) (passedTime * totalFrames / totalTime) + startFrame;
@@ -223,7 +208,7 @@ public abstract class Animator {
     }
 
     public boolean isRunning() {
-        return ticker != null;
+        return running;
     }
 
     public final boolean isForward() {
@@ -0,0 +1,329 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import com.github.weisj.darklaf.util.Scale;
+
+/**
+ * Raster cache for the borders painted by {@link PaintUtil}. Rounded borders are rendered once per
+ * combination of size, arc, border width, color, opacity and scale as a nine-slice image of their corners
+ * whose edge sections are stretched to the requested size. Focus ovals are cached as a whole.
+ * <p>
+ * The images are cut from the shape as it is painted at the device origin. The output is therefore
+ * identical to painting the shape directly at the device origin and moving the result by whole pixels.
+ * Painting a shape directly isn't exactly translation invariant either, as the rasterizer computes with
+ * floating point coordinates. Painting it directly at another position may differ by rounding errors.
+ * <p>
+ * The cache is only used at integral scales if the border lands on whole device pixels. At fractional
+ * scales the edges can't be stretched without changing the antialiasing of the corners. In all other cases
+ * the painting methods return false and the caller has to fall back to painting the shape.
+ */
+final class BorderRasterCache {
+
+    private static final int CACHE_SIZE = 64;
+    private static final double EPS = 1E-4;
+    private static final Map<Key, BufferedImage> CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<Key, BufferedImage>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Key, BufferedImage> eldest) {
+                    return size() > CACHE_SIZE;
+                }
+            });
+
+    private BorderRasterCache() {}
+
+    static void clear() {
+        CACHE.clear();
+    }
+
+    /**
+     * Paints the border created by {@link PaintUtil#createBorderShape(float, float, float, float, boolean)}
+     * at the origin of the graphics object.
+     *
+     * @return true if the border has been painted.
+     */
+    static boolean paintBorder(final Graphics2D g, final float width, final float height, final float arc,
+            final float bw, final boolean inside) {
+        AffineTransform at = g.getTransform();
+        Style style = Style.of(g, at);
+        if (style == null) return false;
+        double sx = at.getScaleX();
+        double sy = at.getScaleY();
+        double x = at.getTranslateX();
+        double y = at.getTranslateY();
+        double w = width * sx;
+        double h = height * sy;
+        if (!isIntegral(sx) || !isIntegral(sy)) return false;
+        if (!isIntegral(x) || !isIntegral(y) || !isIntegral(w) || !isIntegral(h)) return false;
+
+        double extent = bw;
+        if (!Scale.equalWithError(arc, 0)) {
+            float outerArc = inside ? arc : arc + bw;
+            float innerArc = inside ? arc - bw : arc;
+            extent = Math.max(extent, Math.max(outerArc / 2, bw + Math.max(innerArc, 0) / 2));
+        }
+        // One additional pixel accounts for the antialiasing of the straight edges.
+        int cx = (int) Math.ceil(extent * sx) + 1;
+        int cy = (int) Math.ceil(extent * sy) + 1;
+        int dw = (int) Math.round(w);
+        int dh = (int) Math.round(h);
+        if (dw < 2 * cx + 1 || dh < 2 * cy + 1) return false;
+
+        Key key = new Key(Key.BORDER, arc, bw, inside ? 1 : 0, dw, dh, style, sx, sy);
+        BufferedImage img = CACHE.get(key);
+        if (img == null) {
+            img = createBorderImage(PaintUtil.createBorderShape(width, height, arc, bw, inside), style, sx, sy,
+                    dw, dh, cx, cy);
+            CACHE.put(key, img);
+        }
+
+        int dx = (int) Math.round(x);
+        int dy = (int) Math.round(y);
+        int iw = img.getWidth();
+        int ih = img.getHeight();
+        Object interpolation = beginDeviceSpace(g);
+        // Corners
+        g.drawImage(img, dx, dy, dx + cx, dy + cy, 0, 0, cx, cy, null);
+        g.drawImage(img, dx + dw - cx, dy, dx + dw, dy + cy, iw - cx, 0, iw, cy, null);
+        g.drawImage(img, dx, dy + dh - cy, dx + cx, dy + dh, 0, ih - cy, cx, ih, null);
+        g.drawImage(img, dx + dw - cx, dy + dh - cy, dx + dw, dy + dh, iw - cx, ih - cy, iw, ih, null);
+        // Edges. The center lies inside the inner shape and stays empty.
+        g.drawImage(img, dx + cx, dy, dx + dw - cx, dy + cy, cx, 0, cx + 1, cy, null);
+        g.drawImage(img, dx + cx, dy + dh - cy, dx + dw - cx, dy + dh, cx, ih - cy, cx + 1, ih, null);
+        g.drawImage(img, dx, dy + cy, dx + cx, dy + dh - cy, 0, cy, cx, cy + 1, null);
+        g.drawImage(img, dx + dw - cx, dy + cy, dx + dw, dy + dh - cy, iw - cx, cy, iw, cy + 1, null);
+        endDeviceSpace(g, at, style.composite, interpolation);
+        return true;
+    }
+
+    /*
+     * Paints the shape at the device origin and copies its corners together with one pixel of each edge
+     * into a nine-slice image.
+     */
+    private static BufferedImage createBorderImage(final Shape shape, final Style style, final double sx,
+            final double sy, final int dw, final int dh, final int cx, final int cy) {
+        BufferedImage reference = new BufferedImage(dw, dh, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D rg = createGraphics(reference, style, sx, sy);
+        rg.fill(shape);
+        rg.dispose();
+
+        int iw = 2 * cx + 1;
+        int ih = 2 * cy + 1;
+        BufferedImage img = new BufferedImage(iw, ih, BufferedImage.TYPE_INT_ARGB);
+        int[] row = new int[iw];
+        for (int i = 0; i < ih; i++) {
+            int sourceY = i <= cy ? i : dh - ih + i;
+            reference.getRGB(0, sourceY, cx + 1, 1, row, 0, iw);
+            reference.getRGB(dw - cx, sourceY, cx, 1, row, cx + 1, iw);
+            img.setRGB(0, i, iw, 1, row, 0, iw);
+        }
+        return img;
+    }
+
+    /**
+     * Paints an oval ring of width bw around the given ellipse.
+     *
+     * @return true if the oval has been painted.
+     */
+    static boolean paintOval(final Graphics2D g, final float x, final float y, final float width,
+            final float height, final float bw) {
+        AffineTransform at = g.getTransform();
+        Style style = Style.of(g, at);
+        if (style == null) return false;
+        double sx = at.getScaleX();
+        double sy = at.getScaleY();
+        double tx = at.getTranslateX();
+        double ty = at.getTranslateY();
+        if (!isIntegral(sx) || !isIntegral(sy) || !isIntegral(tx) || !isIntegral(ty)) return false;
+        // The ring has to lie completely inside the image, which starts at the device origin.
+        if (x < bw || y < bw) return false;
+
+        Key key = new Key(Key.OVAL, x, y, width, height, bw, style, sx, sy);
+        BufferedImage img = CACHE.get(key);
+        if (img == null) {
+            int iw = (int) Math.ceil((x + width + bw) * sx) + 1;
+            int ih = (int) Math.ceil((y + height + bw) * sy) + 1;
+            img = new BufferedImage(iw, ih, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D ig = createGraphics(img, style, sx, sy);
+            ig.fill(PaintUtil.createOvalShape(x, y, width, height, bw));
+            ig.dispose();
+            CACHE.put(key, img);
+        }
+
+        Object interpolation = beginDeviceSpace(g);
+        g.drawImage(img, (int) Math.round(tx), (int) Math.round(ty), null);
+        endDeviceSpace(g, at, style.composite, interpolation);
+        return true;
+    }
+
+    private static Graphics2D createGraphics(final BufferedImage img, final Style style, final double sx,
+            final double sy) {
+        Graphics2D ig = img.createGraphics();
+        ig.setRenderingHint(RenderingHints.KEY_ANTIALIASING, style.antialiasing);
+        ig.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, style.strokeControl);
+        ig.setComposite(AlphaComposite.SrcOver.derive(style.alpha));
+        ig.scale(sx, sy);
+        ig.setColor(style.color);
+        return ig;
+    }
+
+    /*
+     * The images already contain the alpha of the composite. Compositing them with full opacity
+     * results in the same blending as filling the shape directly.
+     */
+    private static Object beginDeviceSpace(final Graphics2D g) {
+        Object interpolation = g.getRenderingHint(RenderingHints.KEY_INTERPOLATION);
+        g.setTransform(new AffineTransform());
+        g.setComposite(AlphaComposite.SrcOver);
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_NEAREST_NEIGHBOR);
+        return interpolation;
+    }
+
+    private static void endDeviceSpace(final Graphics2D g, final AffineTransform at, final Composite composite,
+            final Object interpolation) {
+        g.setTransform(at);
+        g.setComposite(composite);
+        if (interpolation != null) {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+        }
+    }
+
+    private static boolean isIntegral(final double value) {
+        return Math.abs(value - Math.rint(value)) < EPS;
+    }
+
+    private static final class Style {
+
+        private final Color color;
+        private final AlphaComposite composite;
+        private final float alpha;
+        private final Object antialiasing;
+        private final Object strokeControl;
+
+        private Style(final Color color, final AlphaComposite composite, final Object antialiasing,
+                final Object strokeControl) {
+            this.color = color;
+            this.composite = composite;
+            this.alpha = composite.getAlpha();
+            this.antialiasing = antialiasing;
+            this.strokeControl = strokeControl;
+        }
+
+        private static Style of(final Graphics2D g, final AffineTransform at) {
+            if ((at.getType() & ~(AffineTransform.TYPE_TRANSLATION | AffineTransform.TYPE_MASK_SCALE)) != 0) {
+                return null;
+            }
+            if (at.getScaleX() <= 0 || at.getScaleY() <= 0) return null;
+            Composite composite = g.getComposite();
+            if (!(composite instanceof AlphaComposite)
+                    || ((AlphaComposite) composite).getRule() != AlphaComposite.SRC_OVER) {
+                return null;
+            }
+            Paint paint = g.getPaint();
+            if (!(paint instanceof Color)) return null;
+            return new Style((Color) paint, (AlphaComposite) composite,
+                    g.getRenderingHint(RenderingHints.KEY_ANTIALIASING),
+                    g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Style)) return false;
+            Style style = (Style) o;
+            return Float.compare(style.alpha, alpha) == 0 && color.getRGB() == style.color.getRGB()
+                    && Objects.equals(antialiasing, style.antialiasing)
+                    && Objects.equals(strokeControl, style.strokeControl);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = color.getRGB();
+            result = 31 * result + Float.floatToIntBits(alpha);
+            result = 31 * result + Objects.hashCode(antialiasing);
+            result = 31 * result + Objects.hashCode(strokeControl);
+            return result;
+        }
+    }
+
+    private static final class Key {
+
+        private static final int BORDER = 0;
+        private static final int OVAL = 1;
+
+        private final int type;
+        private final float a;
+        private final float b;
+        private final float c;
+        private final float d;
+        private final float e;
+        private final Style style;
+        private final double sx;
+        private final double sy;
+
+        private Key(final int type, final float a, final float b, final float c, final float d, final float e,
+                final Style style, final double sx, final double sy) {
+            this.type = type;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+            this.d = d;
+            this.e = e;
+            this.style = style;
+            this.sx = sx;
+            this.sy = sy;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return type == key.type && Float.compare(key.a, a) == 0 && Float.compare(key.b, b) == 0
+                    && Float.compare(key.c, c) == 0 && Float.compare(key.d, d) == 0
+                    && Float.compare(key.e, e) == 0 && style.equals(key.style)
+                    && Double.compare(key.sx, sx) == 0 && Double.compare(key.sy, sy) == 0;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = type;
+            result = 31 * result + Float.floatToIntBits(a);
+            result = 31 * result + Float.floatToIntBits(b);
+            result = 31 * result + Float.floatToIntBits(c);
+            result = 31 * result + Float.floatToIntBits(d);
+            result = 31 * result + Float.floatToIntBits(e);
+            result = 31 * result + style.hashCode();
+            result = 31 * result + Double.hashCode(sx);
+            result = 31 * result + Double.hashCode(sy);
+            return result;
+        }
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.swing.*;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
+import javax.swing.event.EventListenerList;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.util.PropertyValue;
+
+/**
+ * Global clock driving all {@link Animator}s. The clock ticks with the target frame rate on the
+ * animations thread and advances all active animators in a single callback on the event dispatch
+ * thread. If the callback of the previous frame hasn't run yet when the next frame is due, the frame
+ * is dropped. The clock stops as soon as no animator is active.
+ *
+ * <p>
+ * The clock measures how long frames wait in the event queue and how long advancing the animators
+ * takes. If the event dispatch thread can't keep up animations are degraded, first by halving the
+ * frame rate and then by skipping directly to the final frame. Once no overload has been observed
+ * for a while the degradation is lifted again one level at a time.
+ *
+ * @see #getDegradationLevel()
+ */
+public final class FrameClock {
+
+    public static final String FPS_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "animationFps";
+    public static final String ADAPTIVE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "adaptiveAnimations";
+    private static final int DEFAULT_FPS = 60;
+    private static final int OVERLOAD_FRAMES = 3;
+    private static final long RECOVERY_NANOS = TimeUnit.SECONDS.toNanos(2);
+
+    public enum DegradationLevel {
+        /** Animations run with the full frame rate. */
+        NONE,
+        /** Animations run with half the frame rate. */
+        REDUCED_FRAMES,
+        /** Animations skip directly to their final frame. */
+        FINAL_FRAME_ONLY
+    }
+
+    private static FrameClock instance;
+
+    private final ScheduledExecutorService scheduler = createScheduler();
+    private final List<Animator> animators = new ArrayList<>();
+    private final AtomicBoolean frameScheduled = new AtomicBoolean(false);
+    private final AtomicLong droppedFrames = new AtomicLong();
+    private final Runnable frame = this::doFrame;
+    private final EventListenerList listenerList = new EventListenerList();
+
+    private ScheduledFuture<?> ticker;
+    private volatile int targetFps;
+    private volatile boolean adaptive;
+    private volatile DegradationLevel degradationLevel = DegradationLevel.NONE;
+
+    private volatile long postTime;
+    private volatile boolean frameDropped;
+    private int tickCount;
+    private int overloadedFrames;
+    private long lastOverloadTime;
+
+    private FrameClock() {
+        targetFps = Math.max(1, Integer.getInteger(FPS_FLAG, DEFAULT_FPS));
+        adaptive = !PropertyValue.FALSE.equals(System.getProperty(ADAPTIVE_FLAG));
+    }
+
+    public static synchronized FrameClock getInstance() {
+        if (instance == null) instance = new FrameClock();
+        return instance;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, r -> {
+            final Thread thread = new Thread(r, "Animations Thread");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+        executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+        return executor;
+    }
+
+    public int getTargetFps() {
+        return targetFps;
+    }
+
+    /**
+     * Sets the number of frames per second the clock should produce.
+     *
+     * @param fps the target frame rate.
+     */
+    public synchronized void setTargetFps(final int fps) {
+        if (fps <= 0) {
+            throw new IllegalArgumentException("Frame rate must be positive.");
+        }
+        if (fps == targetFps) return;
+        targetFps = fps;
+        if (ticker != null) {
+            stop();
+            start();
+        }
+    }
+
+    /**
+     * Returns the number of animators currently driven by the clock.
+     *
+     * @return the number of active animations.
+     */
+    public synchronized int getActiveAnimationCount() {
+        return animators.size();
+    }
+
+    /**
+     * Returns the number of frames which have been dropped because the event dispatch thread didn't
+     * process the previous frame in time.
+     *
+     * @return the number of dropped frames.
+     */
+    public long getDroppedFrameCount() {
+        return droppedFrames.get();
+    }
+
+    public boolean isAdaptive() {
+        return adaptive;
+    }
+
+    /**
+     * Sets whether animations should be degraded automatically if the event dispatch thread is
+     * overloaded. Disabling this resets the degradation level.
+     *
+     * @param adaptive true if animations should adapt to the load.
+     */
+    public synchronized void setAdaptive(final boolean adaptive) {
+        this.adaptive = adaptive;
+        if (!adaptive) setDegradationLevel(DegradationLevel.NONE);
+    }
+
+    /**
+     * Returns the current degradation level of animations.
+     *
+     * @return the degradation level.
+     */
+    public synchronized DegradationLevel getDegradationLevel() {
+        checkRecovery(System.nanoTime());
+        return degradationLevel;
+    }
+
+    /**
+     * Adds a listener which is notified on the event dispatch thread if the degradation level changes.
+     *
+     * @param listener the listener.
+     */
+    public void addChangeListener(final ChangeListener listener) {
+        listenerList.add(ChangeListener.class, listener);
+    }
+
+    public void removeChangeListener(final ChangeListener listener) {
+        listenerList.remove(ChangeListener.class, listener);
+    }
+
+    synchronized void add(final Animator animator) {
+        if (!animators.contains(animator)) {
+            animators.add(animator);
+        }
+        if (ticker == null) start();
+    }
+
+    synchronized void remove(final Animator animator) {
+        animators.remove(animator);
+        if (animators.isEmpty()) stop();
+    }
+
+    private void start() {
+        ticker = scheduler.scheduleAtFixedRate(this::tick, 0, 1_000_000_000L / targetFps, TimeUnit.NANOSECONDS);
+    }
+
+    private void stop() {
+        if (ticker != null) {
+            ticker.cancel(false);
+            ticker = null;
+        }
+    }
+
+    private void tick() {
+        tickCount++;
+        if (degradationLevel != DegradationLevel.NONE && (tickCount & 1) != 0) return;
+        if (frameScheduled.compareAndSet(false, true)) {
+            postTime = System.nanoTime();
+            SwingUtilities.invokeLater(frame);
+        } else {
+            droppedFrames.incrementAndGet();
+            frameDropped = true;
+        }
+    }
+
+    private void doFrame() {
+        frameScheduled.set(false);
+        long frameTime = System.nanoTime();
+        long latency = frameTime - postTime;
+        Animator[] active;
+        synchronized (this) {
+            active = animators.toArray(new Animator[0]);
+        }
+        boolean skipToEnd = degradationLevel == DegradationLevel.FINAL_FRAME_ONLY;
+        for (Animator animator : active) {
+            animator.onFrame(frameTime, skipToEnd);
+        }
+        updateLoad(latency, System.nanoTime() - frameTime, frameTime);
+    }
+
+    private synchronized void updateLoad(final long latency, final long duration, final long now) {
+        if (!adaptive) return;
+        long budget = 1_000_000_000L / targetFps;
+        boolean overloaded = frameDropped || latency > 2 * budget || duration > budget;
+        frameDropped = false;
+        if (overloaded) {
+            lastOverloadTime = now;
+            if (++overloadedFrames >= OVERLOAD_FRAMES) {
+                overloadedFrames = 0;
+                DegradationLevel[] levels = DegradationLevel.values();
+                setDegradationLevel(levels[Math.min(degradationLevel.ordinal() + 1, levels.length - 1)]);
+            }
+        } else {
+            overloadedFrames = 0;
+            checkRecovery(now);
+        }
+    }
+
+    private void checkRecovery(final long now) {
+        if (degradationLevel == DegradationLevel.NONE || now - lastOverloadTime < RECOVERY_NANOS) return;
+        lastOverloadTime = now;
+        setDegradationLevel(DegradationLevel.values()[degradationLevel.ordinal() - 1]);
+    }
+
+    private void setDegradationLevel(final DegradationLevel level) {
+        if (degradationLevel == level) return;
+        degradationLevel = level;
+        SwingUtilities.invokeLater(this::fireStateChanged);
+    }
+
+    private void fireStateChanged() {
+        ChangeEvent event = new ChangeEvent(this);
+        for (ChangeListener listener : listenerList.getListeners(ChangeListener.class)) {
+            listener.stateChanged(event);
+        }
+    }
+}
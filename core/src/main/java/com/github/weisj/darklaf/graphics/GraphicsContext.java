@@ -26,11 +26,20 @@ import java.awt.geom.AffineTransform;
 import java.util.Map;
 
 /**
+ * Saves the state of a graphics object, so it can be restored after painting.
+ * <p>
+ * By default the complete rendering hints are copied. A context created with
+ * {@link #GraphicsContext(Graphics, RenderingHints.Key...)} only saves and restores the given hints, which
+ * avoids copying the hints map if the caller knows which hints it changes. Composite, stroke, color,
+ * paint and font are only set again if they have changed.
+ *
  * @author Konstantin Bulenkov
  * @author Jannis Weis
  */
 public class GraphicsContext {
     private final Graphics2D graphics2D;
+    private final RenderingHints.Key[] hintKeys;
+    private Object[] hintValues;
     private Composite composite;
     private Map<?, ?> hintsMap;
     private Stroke stroke;
@@ -42,6 +51,20 @@ public class GraphicsContext {
 
     public GraphicsContext(final Graphics g) {
         graphics2D = (Graphics2D) g;
+        hintKeys = null;
+        save();
+    }
+
+    /**
+     * Creates a context which only saves the given rendering hints instead of all of them. Hints set on
+     * the graphics object with other keys aren't reverted by {@link #restore()}.
+     *
+     * @param g the graphics object.
+     * @param hintKeys the keys of the rendering hints to save.
+     */
+    public GraphicsContext(final Graphics g, final RenderingHints.Key... hintKeys) {
+        graphics2D = (Graphics2D) g;
+        this.hintKeys = hintKeys;
         save();
     }
 
@@ -56,8 +79,9 @@ public class GraphicsContext {
         restoreColor();
         restorePaint();
         restoreFont();
-        restoreClip();
+        // The clip is saved in the coordinates of the saved transform.
         restoreTransform();
+        restoreClip();
     }
 
     public void save() {
@@ -76,26 +100,40 @@ public class GraphicsContext {
     }
 
     public void restoreComposite() {
+        if (graphics2D.getComposite() == composite) return;
         graphics2D.setComposite(composite);
     }
 
     public void restoreFont() {
+        if (graphics2D.getFont() == font) return;
         graphics2D.setFont(font);
     }
 
     public void restoreRenderingHints() {
-        graphics2D.setRenderingHints(this.hintsMap);
+        if (hintKeys == null) {
+            graphics2D.setRenderingHints(hintsMap);
+            return;
+        }
+        for (int i = 0; i < hintKeys.length; i++) {
+            Object value = hintValues[i];
+            if (value != null && value != graphics2D.getRenderingHint(hintKeys[i])) {
+                graphics2D.setRenderingHint(hintKeys[i], value);
+            }
+        }
     }
 
     public void restoreStroke() {
+        if (graphics2D.getStroke() == stroke) return;
         graphics2D.setStroke(stroke);
     }
 
     public void restoreColor() {
+        if (graphics2D.getColor() == color) return;
         graphics2D.setColor(color);
     }
 
     public void restorePaint() {
+        if (graphics2D.getPaint() == paint) return;
         graphics2D.setPaint(paint);
     }
 
@@ -116,7 +154,14 @@ public class GraphicsContext {
     }
 
     public void saveRenderingHints() {
-        hintsMap = graphics2D.getRenderingHints();
+        if (hintKeys == null) {
+            hintsMap = graphics2D.getRenderingHints();
+            return;
+        }
+        if (hintValues == null) hintValues = new Object[hintKeys.length];
+        for (int i = 0; i < hintKeys.length; i++) {
+            hintValues[i] = graphics2D.getRenderingHint(hintKeys[i]);
+        }
     }
 
     public void saveStroke() {
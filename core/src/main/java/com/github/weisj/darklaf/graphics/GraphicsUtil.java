@@ -38,6 +38,11 @@ public final class GraphicsUtil {
     public static final String DESKTOP_HINTS_KEY = "awt.font.desktophints";
     public static final String KEY_OPAQUE_BUFFERED = "JComponent.opaqueBuffered";
 
+    private static final RenderingHints.Key[] NO_HINTS = {};
+    private static final RenderingHints.Key[] TEXT_AA_HINTS = {RenderingHints.KEY_TEXT_ANTIALIASING};
+    private static final RenderingHints.Key[] STROKE_HINTS =
+            {RenderingHints.KEY_ANTIALIASING, RenderingHints.KEY_STROKE_CONTROL};
+
     private GraphicsUtil() {}
 
     public static void setOpaqueBuffered(final JComponent c, final boolean opaqueBuffered) {
@@ -55,7 +60,7 @@ public final class GraphicsUtil {
 
     public static GraphicsContext setupAntialiasing(final Graphics g2, final boolean enableAA,
             final boolean ignoreSystemSettings) {
-        GraphicsContext config = new GraphicsContext(g2);
+        GraphicsContext config = new GraphicsContext(g2, ignoreSystemSettings ? TEXT_AA_HINTS : NO_HINTS);
         if (ignoreSystemSettings && g2 instanceof Graphics2D) {
             Graphics2D g = (Graphics2D) g2;
             g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING,
@@ -65,7 +70,7 @@ public final class GraphicsUtil {
     }
 
     public static GraphicsContext setupAAPainting(final Graphics g) {
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, STROKE_HINTS);
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL, RenderingHints.VALUE_STROKE_NORMALIZE);
@@ -75,7 +80,7 @@ public final class GraphicsUtil {
     public static GraphicsContext paintWithAlpha(final Graphics g, final float alpha) {
         assert 0.0F <= alpha && alpha <= 1.0F : "alpha should be in range 0.0f .. 1.0f";
 
-        GraphicsContext config = new GraphicsContext(g);
+        GraphicsContext config = new GraphicsContext(g, NO_HINTS);
         Graphics2D g2 = (Graphics2D) g;
         g2.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, alpha));
         return config;
@@ -83,7 +88,7 @@ public final class GraphicsUtil {
 
     public static GraphicsContext setupStrokePainting(final Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
-        GraphicsContext context = new GraphicsContext(g2);
+        GraphicsContext context = new GraphicsContext(g2, STROKE_HINTS);
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
         g2.setRenderingHint(RenderingHints.KEY_STROKE_CONTROL,
                 useQuartz() ? RenderingHints.VALUE_STROKE_PURE : RenderingHints.VALUE_STROKE_NORMALIZE);
@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.graphics;
+
+import java.awt.image.BufferedImage;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.github.weisj.darklaf.util.ImageUtil;
+
+/**
+ * Pool of opaque offscreen buffers. Sizes are rounded up to the next power of two, so buffers of
+ * similar size share the same bucket. Buffers larger than 512x512 pixels aren't pooled and the pool holds
+ * at most four times as many pixels, evicting the least recently used buckets first.
+ * The pool isn't thread safe and should be obtained through {@link #getInstance()}, which returns a pool
+ * per thread.
+ */
+final class OffscreenBufferPool {
+
+    private static final int MIN_BUCKET_SIZE = 32;
+    private static final long MAX_POOLED_PIXELS = 512 * 512;
+    private static final long MAX_TOTAL_PIXELS = 4 * MAX_POOLED_PIXELS;
+    private static final ThreadLocal<OffscreenBufferPool> POOL = ThreadLocal.withInitial(OffscreenBufferPool::new);
+
+    private final Map<Long, BufferedImage> buckets = new LinkedHashMap<>(16, 0.75f, true);
+    private long pooledPixels;
+
+    private OffscreenBufferPool() {}
+
+    static OffscreenBufferPool getInstance() {
+        return POOL.get();
+    }
+
+    /**
+     * Returns a buffer which is at least as large as the requested size. The content of the buffer is
+     * undefined. Until the buffer is handed back through {@link #release(BufferedImage)} it won't be
+     * returned again.
+     *
+     * @param width the minimum width.
+     * @param height the minimum height.
+     * @return the buffer.
+     */
+    BufferedImage acquire(final int width, final int height) {
+        int w = bucketSize(width);
+        int h = bucketSize(height);
+        if ((long) w * h > MAX_POOLED_PIXELS) return ImageUtil.createCompatibleImage(width, height);
+        BufferedImage img = buckets.remove(key(w, h));
+        if (img == null) return ImageUtil.createCompatibleImage(w, h);
+        pooledPixels -= pixels(img);
+        return img;
+    }
+
+    void release(final BufferedImage img) {
+        int w = img.getWidth();
+        int h = img.getHeight();
+        long size = pixels(img);
+        // Buffers which are too large have been created with their exact size and are dropped.
+        if (size > MAX_POOLED_PIXELS || w != bucketSize(w) || h != bucketSize(h)) return;
+        BufferedImage previous = buckets.put(key(w, h), img);
+        if (previous != null) pooledPixels -= pixels(previous);
+        pooledPixels += size;
+        Iterator<BufferedImage> iterator = buckets.values().iterator();
+        while (pooledPixels > MAX_TOTAL_PIXELS && iterator.hasNext()) {
+            pooledPixels -= pixels(iterator.next());
+            iterator.remove();
+        }
+    }
+
+    private static long pixels(final BufferedImage img) {
+        return (long) img.getWidth() * img.getHeight();
+    }
+
+    private static int bucketSize(final int size) {
+        if (size <= MIN_BUCKET_SIZE) return MIN_BUCKET_SIZE;
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+
+    private static long key(final int width, final int height) {
+        return ((long) width << 32) | height;
+    }
+}
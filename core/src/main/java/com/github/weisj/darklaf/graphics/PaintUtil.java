@@ -27,10 +27,13 @@ import java.awt.geom.Path2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.geom.RoundRectangle2D;
 
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.util.PropertyValue;
 import com.github.weisj.darklaf.util.Scale;
 
 public class PaintUtil {
 
+    public static final String RASTER_CACHE_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "borderRasterCache";
     public static final Color TRANSPARENT_COLOR = new Color(0x0, true);
     private static AlphaComposite glowComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.5f);
     private static AlphaComposite dropComposite = AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 0.8f);
@@ -42,6 +45,23 @@ public class PaintUtil {
     private static Color warningGlow;
 
     private static final RoundRectangle2D roundRect = new RoundRectangle2D.Double();
+    private static boolean rasterCacheEnabled = PropertyValue.TRUE.equals(System.getProperty(RASTER_CACHE_FLAG));
+
+    public static boolean isRasterCacheEnabled() {
+        return rasterCacheEnabled;
+    }
+
+    /**
+     * Sets whether outline, focus and line borders should be painted from cached raster images. The
+     * cache is only used at integral scales if the border is aligned to device pixels. The result then is
+     * identical to painting the shapes directly at the device origin and moving them by whole pixels.
+     *
+     * @param enabled true if the raster cache should be used.
+     */
+    public static void setRasterCacheEnabled(final boolean enabled) {
+        rasterCacheEnabled = enabled;
+        if (!enabled) BorderRasterCache.clear();
+    }
 
     public static void setGlowOpacity(final float alpha) {
         glowComposite = glowComposite.derive(alpha);
@@ -110,6 +130,14 @@ public class PaintUtil {
     private static void doPaint(final Graphics2D g, final float width, final float height, final float arc,
             final float bw, final boolean inside) {
         GraphicsContext context = GraphicsUtil.setupStrokePainting(g);
+        if (!rasterCacheEnabled || !BorderRasterCache.paintBorder(g, width, height, arc, bw, inside)) {
+            g.fill(createBorderShape(width, height, arc, bw, inside));
+        }
+        context.restore();
+    }
+
+    static Shape createBorderShape(final float width, final float height, final float arc, final float bw,
+            final boolean inside) {
         Shape outerRect;
         Shape innerRect;
         if (Scale.equalWithError(arc, 0)) {
@@ -124,8 +152,15 @@ public class PaintUtil {
         Path2D path = new Path2D.Float(Path2D.WIND_EVEN_ODD);
         path.append(outerRect, false);
         path.append(innerRect, false);
-        g.fill(path);
-        context.restore();
+        return path;
+    }
+
+    static Shape createOvalShape(final float x, final float y, final float width, final float height,
+            final float bw) {
+        Path2D shape = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+        shape.append(new Ellipse2D.Float(x - bw, y - bw, width + bw * 2, height + bw * 2), false);
+        shape.append(new Ellipse2D.Float(x, y, width, height), false);
+        return shape;
     }
 
     public static void paintFocusBorder(final Graphics2D g, final int width, final int height, final float arc,
@@ -180,11 +215,9 @@ public class PaintUtil {
         GraphicsContext config = new GraphicsContext(g);
         g.setComposite(PaintUtil.glowComposite);
         Outline.focus.setGraphicsColor(g, active);
-
-        Path2D shape = new Path2D.Float(Path2D.WIND_EVEN_ODD);
-        shape.append(new Ellipse2D.Float(x - bw, y - bw, width + bw * 2, height + bw * 2), false);
-        shape.append(new Ellipse2D.Float(x, y, width, height), false);
-        g.fill(shape);
+        if (!rasterCacheEnabled || !BorderRasterCache.paintOval(g, x, y, width, height, bw)) {
+            g.fill(createOvalShape(x, y, width, height, bw));
+        }
         config.restore();
     }
 
@@ -22,10 +22,14 @@
 package com.github.weisj.darklaf.graphics;
 
 import java.awt.*;
+import java.awt.font.FontRenderContext;
 import java.awt.image.BufferedImage;
 import java.awt.image.FilteredImageSource;
 import java.awt.image.ImageFilter;
 import java.lang.reflect.Field;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.swing.*;
@@ -34,14 +38,31 @@ import javax.swing.text.View;
 
 import sun.swing.SwingUtilities2;
 
+import com.github.weisj.darklaf.DarkLaf;
 import com.github.weisj.darklaf.ui.OpacityBufferedUI;
 import com.github.weisj.darklaf.util.*;
 
 public class StringPainter {
 
+    public static final String FORCE_TRANSLUCENT_AA_FLAG =
+            DarkLaf.SYSTEM_PROPERTY_PREFIX + "forceTranslucentAAPainting";
     private static final Logger LOGGER = LogUtil.getLogger(StringPainter.class);
 
+    private static final int TILE_CACHE_SIZE = 64;
+    private static final int MAX_TILE_PIXELS = 1 << 15;
+    private static final Map<TileKey, BufferedImage> TILE_CACHE =
+            Collections.synchronizedMap(new LinkedHashMap<TileKey, BufferedImage>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<TileKey, BufferedImage> eldest) {
+                    return size() > TILE_CACHE_SIZE;
+                }
+            });
+    private static final Map<Class<?>, Optional<Field>> SURFACE_FIELDS = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Optional<Field>> IMAGE_FIELDS = new ConcurrentHashMap<>();
+
     private static boolean translucentAAPaintingEnabled = true;
+    private static boolean translucentAAPaintingForced =
+            PropertyValue.TRUE.equals(System.getProperty(FORCE_TRANSLUCENT_AA_FLAG));
     private static boolean experimentalAntialiasingEnabled = false;
 
     public static void setExperimentalAntialiasingEnabled(final boolean enabled) {
@@ -56,6 +77,25 @@ public class StringPainter {
         return translucentAAPaintingEnabled;
     }
 
+    /**
+     * Sets whether text inside of non-opaque windows should be painted through an opaque offscreen
+     * buffer regardless of the platform. By default this is only done on Windows.
+     *
+     * @param forced true if opaque buffering should be used on all platforms.
+     */
+    public static void setTranslucentAAPaintingForced(final boolean forced) {
+        translucentAAPaintingForced = forced;
+    }
+
+    public static boolean isTranslucentAAPaintingForced() {
+        return translucentAAPaintingForced;
+    }
+
+    /** Discards all cached text images. */
+    public static void clearTextCache() {
+        TILE_CACHE.clear();
+    }
+
     public static boolean isExperimentalAntialiasingEnabled() {
         return experimentalAntialiasingEnabled;
     }
@@ -113,10 +153,15 @@ public class StringPainter {
 
         Graphics2D drawingGraphics = (Graphics2D) g;
         BufferedImage img = null; // Only needed for translucent AA painting.
+        OffscreenBufferPool pool = null; // Only set if the image has been taken from the pool.
+        TileKey tileKey = null; // Only set if the image should be cached.
         Point textPos = null; // Only needed for experimental algorithm.
+        int imgWidth = 0;
+        int imgHeight = 0;
 
         Color fgColor = g.getColor();
         Color bgColor = background;
+        View v = view != null ? view : PropertyUtil.getObject(c, BasicHTML.propertyKey, View.class);
 
         /*
          * If there is a non-opaque parent on Windows no sub-pixel AA is supported. In this case we paint
@@ -146,16 +191,34 @@ public class StringPainter {
                 bgColor = brightness > 127 ? Color.BLACK : Color.WHITE;
             }
 
-            img = ImageUtil.createCompatibleImage((int) Math.round(scaleX * textRect.width),
-                    (int) Math.round(scaleY * textRect.height));
-            drawingGraphics = prepareImage(img, bgColor, fgColor, scaleX, scaleY);
+            imgWidth = (int) Math.round(scaleX * textRect.width);
+            imgHeight = (int) Math.round(scaleY * textRect.height);
             textRect.setLocation(0, 0);
+
+            /*
+             * Without the experimental algorithm the buffer only depends on the text and its style, so
+             * plain text can be cached. Html views may paint arbitrary content and are never cached.
+             */
+            if (!experimentalAntialiasingEnabled && v == null && imgWidth * imgHeight <= MAX_TILE_PIXELS) {
+                tileKey = new TileKey(c, text, mnemIndex, font, fm, fgColor, bgColor, imgWidth, imgHeight, scaleX,
+                        scaleY);
+                BufferedImage tile = TILE_CACHE.get(tileKey);
+                if (tile != null) {
+                    g.drawImage(tile, x, y, textRect.width, textRect.height, null);
+                    context.restore();
+                    return;
+                }
+                img = ImageUtil.createCompatibleImage(imgWidth, imgHeight);
+            } else {
+                pool = OffscreenBufferPool.getInstance();
+                img = pool.acquire(imgWidth, imgHeight);
+            }
+            drawingGraphics = prepareImage(img, imgWidth, imgHeight, bgColor, fgColor, scaleX, scaleY);
         } else {
             drawingGraphics.clipRect(textRect.x, textRect.y, textRect.width, textRect.height);
         }
         drawingGraphics.setFont(font);
 
-        View v = view != null ? view : PropertyUtil.getObject(c, BasicHTML.propertyKey, View.class);
         if (v != null) {
             v.paint(drawingGraphics, textRect);
         } else {
@@ -169,27 +232,31 @@ public class StringPainter {
 
         if (paintOpaqueBuffered) {
             drawingGraphics.dispose();
-            Image result = postProcessImage((Graphics2D) g, img, textPos, bgColor, fgColor);
-            g.drawImage(result, x, y, textRect.width, textRect.height, null);
+            if (textPos != null) {
+                Image result = postProcessImage((Graphics2D) g, img.getSubimage(0, 0, imgWidth, imgHeight),
+                        textPos, bgColor, fgColor);
+                g.drawImage(result, x, y, textRect.width, textRect.height, null);
+            } else {
+                g.drawImage(img, x, y, x + textRect.width, y + textRect.height, 0, 0, imgWidth, imgHeight, null);
+            }
+            if (pool != null) pool.release(img);
+            if (tileKey != null) TILE_CACHE.put(tileKey, img);
         }
         context.restore();
     }
 
     private static Image postProcessImage(final Graphics2D g, final BufferedImage img, final Point textPos,
             final Color bgColor, final Color fgColor) {
-        if (experimentalAntialiasingEnabled) {
-            final BufferedImage destImg = getImage(g);
-            ImageFilter filter = new AntialiasingImageFilter(destImg, textPos.x, textPos.y, fgColor, bgColor);
-            return Toolkit.getDefaultToolkit().createImage(new FilteredImageSource(img.getSource(), filter));
-        } else {
-            return img;
-        }
+        final BufferedImage destImg = getImage(g);
+        ImageFilter filter = new AntialiasingImageFilter(destImg, textPos.x, textPos.y, fgColor, bgColor);
+        return Toolkit.getDefaultToolkit().createImage(new FilteredImageSource(img.getSource(), filter));
     }
 
     private static Component getNonOpaqueWindow(final JComponent c) {
         boolean imgGraphics = false;
         Component window = c;
-        if (translucentAAPaintingEnabled && SystemInfo.isWindows && !GraphicsUtil.isOpaqueBuffered(c)) {
+        if (translucentAAPaintingEnabled && (SystemInfo.isWindows || translucentAAPaintingForced)
+                && !GraphicsUtil.isOpaqueBuffered(c)) {
             Component comp = c;
             while (comp != null) {
                 Color bg = comp.getBackground();
@@ -209,17 +276,15 @@ public class StringPainter {
 
     private static BufferedImage getImage(final Graphics2D graphics2D) {
         try {
-            Field surfaceField = graphics2D.getClass().getField("surfaceData");
+            Field surfaceField = SURFACE_FIELDS.computeIfAbsent(graphics2D.getClass(), StringPainter::findSurfaceField)
+                    .orElse(null);
+            if (surfaceField == null) return null;
             Object surfaceDataValue = surfaceField.get(graphics2D);
             if (surfaceDataValue == null) return null;
 
-            Field imgField;
-            try {
-                imgField = surfaceDataValue.getClass().getDeclaredField("bufImg"); // BufImgSurfaceData
-            } catch (Exception ignored) {
-                imgField = surfaceDataValue.getClass().getField("offscreenImage"); // CGLSurfaceData
-            }
-            imgField.setAccessible(true);
+            Field imgField = IMAGE_FIELDS.computeIfAbsent(surfaceDataValue.getClass(), StringPainter::findImageField)
+                    .orElse(null);
+            if (imgField == null) return null;
             Object img = imgField.get(surfaceDataValue);
             if (img instanceof BufferedImage) {
                 return (BufferedImage) img;
@@ -230,13 +295,38 @@ public class StringPainter {
         return null;
     }
 
-    private static Graphics2D prepareImage(final BufferedImage img, final Color background, final Color color,
-            final double xScale, final double yScale) {
+    private static Optional<Field> findSurfaceField(final Class<?> graphicsClass) {
+        try {
+            return Optional.of(graphicsClass.getField("surfaceData"));
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Can't access surface data of " + graphicsClass, e);
+            return Optional.empty();
+        }
+    }
+
+    private static Optional<Field> findImageField(final Class<?> surfaceDataClass) {
+        try {
+            Field imgField;
+            try {
+                imgField = surfaceDataClass.getDeclaredField("bufImg"); // BufImgSurfaceData
+            } catch (Exception ignored) {
+                imgField = surfaceDataClass.getField("offscreenImage"); // CGLSurfaceData
+            }
+            imgField.setAccessible(true);
+            return Optional.of(imgField);
+        } catch (Exception e) {
+            LOGGER.log(Level.WARNING, "Can't access image of " + surfaceDataClass, e);
+            return Optional.empty();
+        }
+    }
+
+    private static Graphics2D prepareImage(final BufferedImage img, final int width, final int height,
+            final Color background, final Color color, final double xScale, final double yScale) {
         Graphics2D g = (Graphics2D) img.getGraphics();
         g.setColor(background);
-        g.fillRect(0, 0, img.getWidth(), img.getHeight());
+        g.fillRect(0, 0, width, height);
         g.setColor(color);
-        g.setClip(0, 0, img.getWidth(), img.getHeight());
+        g.setClip(0, 0, width, height);
         g.scale(xScale, yScale);
         return g;
     }
@@ -253,15 +343,71 @@ public class StringPainter {
     public static void paintOpacityBuffered(final Graphics g, final JComponent c, final OpacityBufferedUI ui) {
         double scaleX = Scale.getScaleX((Graphics2D) g);
         double scaleY = Scale.getScaleX((Graphics2D) g);
-        BufferedImage img = ImageUtil.createCompatibleImage((int) Math.round(scaleX * c.getWidth()),
-                (int) Math.round(scaleY * c.getHeight()));
-        Graphics imgGraphics = img.getGraphics();
-        imgGraphics.setColor(c.getBackground());
-        imgGraphics.fillRect(0, 0, c.getWidth(), c.getHeight());
-        imgGraphics.setClip(0, 0, img.getWidth(), img.getHeight());
-        ((Graphics2D) imgGraphics).scale(scaleX, scaleY);
+        int width = (int) Math.round(scaleX * c.getWidth());
+        int height = (int) Math.round(scaleY * c.getHeight());
+        OffscreenBufferPool pool = OffscreenBufferPool.getInstance();
+        BufferedImage img = pool.acquire(width, height);
+        Graphics imgGraphics = prepareImage(img, width, height, c.getBackground(), c.getBackground(), scaleX, scaleY);
         ui.updateUI(imgGraphics, c);
         imgGraphics.dispose();
-        g.drawImage(img, 0, 0, c.getWidth(), c.getHeight(), null);
+        g.drawImage(img, 0, 0, c.getWidth(), c.getHeight(), 0, 0, width, height, null);
+        pool.release(img);
+    }
+
+    private static final class TileKey {
+
+        private final String text;
+        private final int mnemIndex;
+        private final Font font;
+        private final FontRenderContext frc;
+        private final int fgColor;
+        private final int bgColor;
+        private final int width;
+        private final int height;
+        private final double scaleX;
+        private final double scaleY;
+        private final Object textAntialiasing;
+        private final Object lcdContrast;
+
+        private TileKey(final JComponent c, final String text, final int mnemIndex, final Font font,
+                final FontMetrics fm, final Color fgColor, final Color bgColor, final int width, final int height,
+                final double scaleX, final double scaleY) {
+            this.text = text;
+            this.mnemIndex = mnemIndex;
+            this.font = font;
+            this.frc = fm.getFontRenderContext();
+            this.fgColor = fgColor.getRGB();
+            this.bgColor = bgColor != null ? bgColor.getRGB() : 0;
+            this.width = width;
+            this.height = height;
+            this.scaleX = scaleX;
+            this.scaleY = scaleY;
+            this.textAntialiasing = c.getClientProperty(RenderingHints.KEY_TEXT_ANTIALIASING);
+            this.lcdContrast = c.getClientProperty(RenderingHints.KEY_TEXT_LCD_CONTRAST);
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (this == o) return true;
+            if (!(o instanceof TileKey)) return false;
+            TileKey key = (TileKey) o;
+            return mnemIndex == key.mnemIndex && fgColor == key.fgColor && bgColor == key.bgColor
+                    && width == key.width && height == key.height && Double.compare(key.scaleX, scaleX) == 0
+                    && Double.compare(key.scaleY, scaleY) == 0 && text.equals(key.text) && font.equals(key.font)
+                    && Objects.equals(frc, key.frc) && Objects.equals(textAntialiasing, key.textAntialiasing)
+                    && Objects.equals(lcdContrast, key.lcdContrast);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = text.hashCode();
+            result = 31 * result + mnemIndex;
+            result = 31 * result + font.hashCode();
+            result = 31 * result + fgColor;
+            result = 31 * result + bgColor;
+            result = 31 * result + width;
+            result = 31 * result + height;
+            return result;
+        }
     }
 }
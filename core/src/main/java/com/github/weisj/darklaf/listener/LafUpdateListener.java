@@ -0,0 +1,44 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.listener;
+
+import java.awt.*;
+import java.util.EventListener;
+
+import com.github.weisj.darklaf.LafManager;
+
+/**
+ * Listener which is notified whenever the component tree of a window has been updated after the
+ * look and feel changed. The listener has to be added with
+ * {@link LafManager#addLafUpdateListener(LafUpdateListener)}.
+ */
+@FunctionalInterface
+public interface LafUpdateListener extends EventListener {
+
+    /**
+     * Called on the thread performing the update after the ui of the window has been updated.
+     *
+     * @param window the updated window.
+     * @param nanos the time it took to update the window in nanoseconds.
+     */
+    void windowUpdated(Window window, long nanos);
+}
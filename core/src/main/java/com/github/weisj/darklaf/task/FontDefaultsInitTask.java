@@ -77,6 +77,12 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
     private static final String WINDOWS_10_FONT_NAME = "Segoe UI";
     private static final String MAC_OS_FONT_NAME = ".SF NS Text";
 
+    /*
+     * The fonts before the font size rule has been applied in the last run, and the rule itself.
+     */
+    private Map<Object, Font> baseFonts;
+    private FontSizeRule lastRule;
+
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
         loadFontProperties(defaults);
@@ -216,10 +222,47 @@ public class FontDefaultsInitTask implements DefaultsInitTask {
 
     private void applyFontRule(final Theme currentTheme, final UIDefaults defaults) {
         FontSizeRule rule = currentTheme.getFontSizeRule();
-        if (rule == null || rule.getType() == FontSizeRule.AdjustmentType.NO_ADJUSTMENT) return;
+        Map<Object, Font> fonts = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : defaults.entrySet()) {
+            if (entry.getValue() instanceof Font) fonts.put(entry.getKey(), (Font) entry.getValue());
+        }
+        baseFonts = fonts;
+        lastRule = rule;
+        if (isNoAdjustment(rule)) return;
         PropertyLoader.replacePropertiesOfType(Font.class, defaults, f -> fontWithRule(f, rule));
     }
 
+    /**
+     * Computes the font entries of the defaults which change if the installed theme is replaced by
+     * the given theme, which may only differ in its {@link FontSizeRule}. Fonts which have been
+     * overwritten after this task has run are left untouched. The defaults themselves aren't modified.
+     *
+     * @param newTheme the new theme.
+     * @param defaults the installed defaults.
+     * @param delta the map to put the changed entries into.
+     * @return false if the delta can't be computed because the task hasn't run yet.
+     */
+    public boolean computeFontDelta(final Theme newTheme, final UIDefaults defaults,
+            final Map<Object, Object> delta) {
+        Map<Object, Font> fonts = baseFonts;
+        if (fonts == null) return false;
+        FontSizeRule oldRule = lastRule;
+        FontSizeRule newRule = newTheme.getFontSizeRule();
+        Map<Object, Object> installed = new HashMap<>(defaults);
+        for (Map.Entry<Object, Font> entry : fonts.entrySet()) {
+            Font oldFont = isNoAdjustment(oldRule) ? entry.getValue() : fontWithRule(entry.getValue(), oldRule);
+            Font newFont = isNoAdjustment(newRule) ? entry.getValue() : fontWithRule(entry.getValue(), newRule);
+            if (oldFont.equals(newFont) || !oldFont.equals(installed.get(entry.getKey()))) continue;
+            delta.put(entry.getKey(), newFont);
+        }
+        lastRule = newRule;
+        return true;
+    }
+
+    private boolean isNoAdjustment(final FontSizeRule rule) {
+        return rule == null || rule.getType() == FontSizeRule.AdjustmentType.NO_ADJUSTMENT;
+    }
+
     private Font fontWithRule(final Font font, final FontSizeRule rule) {
         if (font == null) return null;
         float size = font.getSize2D();
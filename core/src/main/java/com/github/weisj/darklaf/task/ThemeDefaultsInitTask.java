@@ -22,13 +22,12 @@
 package com.github.weisj.darklaf.task;
 
 import java.awt.*;
-import java.util.HashMap;
-import java.util.Objects;
-import java.util.Properties;
+import java.util.*;
 
 import javax.swing.*;
 
 import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.PropertyDependencyGraph;
 import com.github.weisj.darklaf.PropertyLoader;
 import com.github.weisj.darklaf.platform.DecorationsHandler;
 import com.github.weisj.darklaf.theme.Theme;
@@ -55,12 +54,85 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
     private final DefaultsAdjustmentTask userPreferenceAdjustment = new UserDefaultsAdjustmentTask();
     private final DefaultsAdjustmentTask accentColorAdjustment = new AccentColorAdjustmentTask();
     private final DefaultsAdjustmentTask foregroundGeneration = new ForegroundColorGenerationTask();
+    /*
+     * State of the last run used to compute the entries which change with the accent colors: the
+     * theme properties before and after the accent colors have been applied, the resulting properties
+     * and how the properties loaded afterwards depend on each other.
+     */
+    private Properties baseProperties;
+    private Properties adjustedProperties;
+    private Properties lastProperties;
+    private PropertyDependencyGraph dependencyGraph;
 
     @Override
     public void run(final Theme currentTheme, final UIDefaults defaults) {
         loadThemeDefaults(currentTheme, defaults);
     }
 
+    /**
+     * Computes the entries of the defaults which change if the installed theme is replaced by the given
+     * theme, which may only differ in its {@link com.github.weisj.darklaf.theme.info.AccentColorRule}.
+     * Only the accent and selection colors are computed again. The changes are propagated to all
+     * entries referencing them using the dependency graph recorded during the last run. Entries which
+     * have been overwritten after this task has run are left untouched. The defaults themselves aren't
+     * modified.
+     *
+     * @param newTheme the new theme.
+     * @param defaults the installed defaults.
+     * @param delta the map to put the changed entries into.
+     * @return false if the delta can't be computed because the task hasn't run yet.
+     */
+    public boolean computeAccentDelta(final Theme newTheme, final UIDefaults defaults,
+            final Map<Object, Object> delta) {
+        if (dependencyGraph == null) return false;
+        Properties adjusted = (Properties) baseProperties.clone();
+        accentColorAdjustment.run(newTheme, adjusted);
+        foregroundGeneration.run(newTheme, adjusted);
+
+        Properties properties = (Properties) lastProperties.clone();
+        Map<String, Object> changes = new HashMap<>();
+        for (Map.Entry<Object, Object> entry : adjusted.entrySet()) {
+            Object key = entry.getKey();
+            Object oldValue = adjustedProperties.get(key);
+            if (!(key instanceof String) || Objects.equals(entry.getValue(), oldValue)) continue;
+            // Skip values which have been overwritten by properties loaded later.
+            if (!Objects.equals(properties.get(key), oldValue)) continue;
+            changes.put((String) key, entry.getValue());
+        }
+        Set<String> changed = new HashSet<>(dependencyGraph.update(changes, properties, defaults));
+        initAccentProperties(newTheme, properties);
+        for (String key : new String[] {ACCENT_COLOR_KEY, SELECTION_COLOR_KEY}) {
+            if (!Objects.equals(properties.get(key), lastProperties.get(key))) changed.add(key);
+        }
+
+        Map<Object, Object> installed = new HashMap<>(defaults);
+        for (String key : changed) {
+            Object oldValue = lastProperties.get(key);
+            if (key.startsWith(GLOBAL_PREFIX)) {
+                collectGlobalDelta(key.substring(GLOBAL_PREFIX.length()), oldValue, properties.get(key), installed,
+                        delta);
+            }
+            // Skip values which have been changed by later tasks.
+            if (!Objects.equals(installed.get(key), oldValue)) continue;
+            delta.put(key, properties.get(key));
+        }
+        adjustedProperties = adjusted;
+        lastProperties = properties;
+        return true;
+    }
+
+    private void collectGlobalDelta(final String globalKey, final Object oldValue, final Object newValue,
+            final Map<Object, Object> installed, final Map<Object, Object> delta) {
+        for (Map.Entry<Object, Object> entry : installed.entrySet()) {
+            if (!(entry.getKey() instanceof String) || lastProperties.containsKey(entry.getKey())) continue;
+            String key = (String) entry.getKey();
+            if (key.contains(".") && key.substring(key.lastIndexOf('.') + 1).equals(globalKey)
+                    && Objects.equals(entry.getValue(), oldValue)) {
+                delta.put(key, newValue);
+            }
+        }
+    }
+
     private void loadThemeDefaults(final Theme currentTheme, final UIDefaults defaults) {
         Properties uiProps = new Properties();
         currentTheme.loadDefaults(uiProps, defaults);
@@ -72,24 +144,36 @@ public class ThemeDefaultsInitTask implements DefaultsInitTask {
          * property.
          */
         userPreferenceAdjustment.run(currentTheme, uiProps);
+        Properties base = (Properties) uiProps.clone();
 
         /*
          * Adjust the accent/selection colors.
          */
         accentColorAdjustment.run(currentTheme, uiProps);
         foregroundGeneration.run(currentTheme, uiProps);
-
-        initGlobals(currentTheme, defaults, uiProps);
-        initUIProperties(currentTheme, defaults, uiProps);
-        initIconTheme(currentTheme, defaults, uiProps);
-        initPlatformProperties(currentTheme, defaults, uiProps);
-
-        DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
+        Properties adjusted = (Properties) uiProps.clone();
+
+        PropertyDependencyGraph graph = new PropertyDependencyGraph();
+        PropertyLoader.recordDependencies(graph, uiProps);
+        try {
+            initGlobals(currentTheme, defaults, uiProps);
+            initUIProperties(currentTheme, defaults, uiProps);
+            initIconTheme(currentTheme, defaults, uiProps);
+            initPlatformProperties(currentTheme, defaults, uiProps);
+
+            DecorationsHandler.getSharedInstance().loadDecorationProperties(uiProps, defaults);
+        } finally {
+            PropertyLoader.recordDependencies(null, null);
+        }
         adjustPlatformSpecifics(uiProps);
 
         initAccentProperties(currentTheme, uiProps);
 
         defaults.putAll(uiProps);
+        baseProperties = base;
+        adjustedProperties = adjusted;
+        lastProperties = uiProps;
+        dependencyGraph = graph;
     }
 
     private void backupAccentColors(final Properties uiProps) {
@@ -24,7 +24,7 @@ package com.github.weisj.darklaf.ui.button;
 import java.awt.*;
 
 import javax.swing.*;
-import javax.swing.border.Border;
+import javax.swing.border.AbstractBorder;
 import javax.swing.plaf.InsetsUIResource;
 import javax.swing.plaf.UIResource;
 
@@ -35,7 +35,7 @@ import com.github.weisj.darklaf.util.DarkUIUtil;
 import com.github.weisj.darklaf.util.PropertyUtil;
 
 /** @author Jannis Weis */
-public class DarkButtonBorder implements Border, UIResource {
+public class DarkButtonBorder extends AbstractBorder implements UIResource {
 
     private final Color focusBorderColor;
     private final Color defaultBorderColor;
@@ -262,14 +262,29 @@ public class DarkButtonBorder implements Border, UIResource {
         }
     }
 
+    @Override
     public Insets getBorderInsets(final Component c) {
+        return getBorderInsets(c, new InsetsUIResource(0, 0, 0, 0));
+    }
+
+    /**
+     * Stores the insets of the border in the given insets. This is used by
+     * {@link JComponent#getInsets(Insets)}, which lets the layout of the button reuse its insets object.
+     *
+     * @param c the component.
+     * @param insets the insets to store the result in.
+     * @return the insets.
+     */
+    @Override
+    public Insets getBorderInsets(final Component c, final Insets insets) {
         if (ButtonConstants.isBorderlessVariant(c)) {
-            return new InsetsUIResource(0, 0, 0, 0);
+            insets.set(0, 0, 0, 0);
+            return insets;
         }
         boolean shadowVariant = ButtonConstants.isBorderless(c);
         int shadow = shadowVariant ? 0 : getShadowSize();
-        return maskInsets(new InsetsUIResource(borderSize, borderSize, Math.max(borderSize, shadow), borderSize), c,
-                shadow);
+        insets.set(borderSize, borderSize, Math.max(borderSize, shadow), borderSize);
+        return maskInsets(insets, c, shadow);
     }
 
     protected Insets maskInsets(final Insets ins, final Component c, final int shadow) {
@@ -31,7 +31,6 @@ import javax.swing.plaf.InsetsUIResource;
 import javax.swing.plaf.UIResource;
 import javax.swing.plaf.basic.BasicButtonListener;
 import javax.swing.plaf.basic.BasicButtonUI;
-import javax.swing.plaf.basic.BasicGraphicsUtils;
 
 import com.github.weisj.darklaf.components.tooltip.ToolTipStyle;
 import com.github.weisj.darklaf.delegate.AbstractButtonLayoutDelegate;
@@ -43,6 +42,7 @@ import com.github.weisj.darklaf.ui.togglebutton.ToggleButtonFocusNavigationActio
 import com.github.weisj.darklaf.ui.tooltip.ToolTipConstants;
 import com.github.weisj.darklaf.util.AlignmentExt;
 import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.GeometryScratch;
 import com.github.weisj.darklaf.util.PropertyKey;
 import com.github.weisj.darklaf.util.PropertyUtil;
 
@@ -57,6 +57,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
     protected final Rectangle viewRect = new Rectangle();
     protected final Rectangle textRect = new Rectangle();
     protected final Rectangle iconRect = new Rectangle();
+    protected final Insets contentInsets = new Insets(0, 0, 0, 0);
     protected String displayText;
 
     protected int borderSize;
@@ -187,6 +188,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
         paintIcon(g, b, c);
         config.restoreClip();
         paintText(g, b, displayText);
+        config.restore();
     }
 
     protected void paintButtonBackground(final Graphics g, final JComponent c) {
@@ -224,9 +226,10 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
         int effectiveArc = ButtonConstants.chooseArcWithBorder(c, arc, 0, 0, borderSize);
         AlignmentExt corner = DarkButtonBorder.getCornerFlag(c);
 
-        Rectangle bgRect = getEffectiveRect(width, height, -(effectiveArc + 1), corner);
-
-        paintDarklafBorderBgImpl(c, g, showShadow, shadow, effectiveArc, bgRect);
+        try (GeometryScratch scratch = GeometryScratch.open()) {
+            Rectangle bgRect = getEffectiveRect(width, height, -(effectiveArc + 1), corner, scratch);
+            paintDarklafBorderBgImpl(c, g, showShadow, shadow, effectiveArc, bgRect);
+        }
     }
 
     protected void paintDarklafBorderBgImpl(final AbstractButton c, final Graphics2D g, final boolean showShadow,
@@ -263,7 +266,14 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
 
     protected Rectangle getEffectiveRect(final int width, final int height, final int adjustment,
             final AlignmentExt corner) {
-        Insets insetMask = new Insets(borderSize, borderSize, Math.max(borderSize, shadowHeight), borderSize);
+        return getEffectiveRect(width, height, adjustment, corner, null);
+    }
+
+    protected Rectangle getEffectiveRect(final int width, final int height, final int adjustment,
+            final AlignmentExt corner, final GeometryScratch scratch) {
+        int bottom = Math.max(borderSize, shadowHeight);
+        Insets insetMask = scratch != null ? scratch.insets(borderSize, borderSize, bottom, borderSize)
+                : new Insets(borderSize, borderSize, bottom, borderSize);
         if (corner != null) {
             insetMask = corner.maskInsets(insetMask, adjustment);
         }
@@ -271,7 +281,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
         int by = insetMask.top;
         int bw = width - insetMask.left - insetMask.right;
         int bh = height - insetMask.top - insetMask.bottom;
-        return new Rectangle(bx, by, bw, bh);
+        return scratch != null ? scratch.rectangle(bx, by, bw, bh) : new Rectangle(bx, by, bw, bh);
     }
 
     protected void paintBorderlessBackground(final AbstractButton b, final Graphics2D g, final int arc, final int width,
@@ -298,7 +308,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
             int w = width - x - Math.max(ins.right, margin.right);
             int h = height - y - Math.max(ins.bottom, margin.bottom);
 
-            GraphicsUtil.setupAAPainting(g);
+            GraphicsContext context = GraphicsUtil.setupAAPainting(g);
             if (ButtonConstants.isBorderlessRectangular(b)) {
                 paintBorderlessRectangularBackgroundIml(b, g, x, y, w, h);
             } else if (ButtonConstants.doConvertToBorderless(b)) {
@@ -307,6 +317,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
             } else {
                 paintBorderlessBackgroundImpl(b, g, arc, x, y, w, h);
             }
+            context.restore();
         }
     }
 
@@ -436,7 +447,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
     public Dimension getPreferredSize(final JComponent c) {
         AbstractButton b = (AbstractButton) c;
         prepareDelegate(b);
-        Dimension dim = BasicGraphicsUtils.getPreferredButtonSize(layoutDelegate, b.getIconTextGap());
+        Dimension dim = getPreferredButtonSize(layoutDelegate, b);
         DarkUIUtil.addInsets(dim, b.getMargin());
         if (ButtonConstants.isSquare(b)) {
             int size = Math.max(dim.width, dim.height);
@@ -445,6 +456,30 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
         return dim;
     }
 
+    /*
+     * Same as BasicGraphicsUtils#getPreferredButtonSize, but the intermediate geometry is taken from
+     * the scratch frame.
+     */
+    private static Dimension getPreferredButtonSize(final AbstractButton delegate, final AbstractButton b) {
+        try (GeometryScratch scratch = GeometryScratch.open()) {
+            Rectangle iconR = scratch.rectangle();
+            Rectangle textR = scratch.rectangle();
+            Rectangle viewR = scratch.rectangle(0, 0, Short.MAX_VALUE, Short.MAX_VALUE);
+            String text = delegate.getText();
+            FontMetrics fm = delegate.getFontMetrics(delegate.getFont());
+            SwingUtilities.layoutCompoundLabel(delegate, fm, text, delegate.getIcon(), delegate.getVerticalAlignment(),
+                    delegate.getHorizontalAlignment(), delegate.getVerticalTextPosition(),
+                    delegate.getHorizontalTextPosition(), viewR, iconR, textR,
+                    text == null ? 0 : b.getIconTextGap());
+            int x1 = Math.min(iconR.x, textR.x);
+            int x2 = Math.max(iconR.x + iconR.width, textR.x + textR.width);
+            int y1 = Math.min(iconR.y, textR.y);
+            int y2 = Math.max(iconR.y + iconR.height, textR.y + textR.height);
+            Insets insets = b.getInsets(scratch.insets());
+            return new Dimension(x2 - x1 + insets.left + insets.right, y2 - y1 + insets.top + insets.bottom);
+        }
+    }
+
     protected void prepareDelegate(final AbstractButton b) {
         layoutDelegate.setDelegate(b);
         Font f = b.getFont();
@@ -556,7 +591,7 @@ public class DarkButtonUI extends BasicButtonUI implements ButtonConstants {
         }
 
         protected void prepareContentRects(final AbstractButton b, final int width, final int height) {
-            Insets i = DarkUIUtil.addInsets(b.getInsets(), b.getMargin());
+            Insets i = DarkUIUtil.addInsets(b.getInsets(contentInsets), b.getMargin());
 
             AlignmentExt corner = DarkButtonBorder.getCornerFlag(b);
             if (corner != null) {
@@ -35,10 +35,13 @@ import java.awt.geom.Path2D;
 import java.awt.geom.Point2D;
 import java.awt.geom.Rectangle2D;
 import java.awt.image.ColorModel;
+import java.awt.image.DataBufferInt;
 import java.awt.image.Raster;
 import java.awt.image.WritableRaster;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.IntStream;
 
 import javax.swing.*;
 
@@ -73,6 +76,8 @@ public class ColorTriangle extends JComponent {
     protected double opacity = 1.0;
 
     protected CircleInfo circleInfo = new CircleInfo();
+    protected final InnerPaint innerPaint = new InnerPaint();
+    protected final OuterPaint outerPaint = new OuterPaint();
     protected Shape circleShape;
     protected Shape triangleShape;
     protected AffineTransform triangleInverse;
@@ -261,7 +266,7 @@ public class ColorTriangle extends JComponent {
         if (isHSB) {
             return Color.HSBtoRGB((float) h, (float) s, (float) v);
         } else {
-            return DarkColorModelHSL.getColorFromHSLValues(h, s, v).getRGB();
+            return DarkColorModelHSL.getRGBFromHSLValues(h, s, v);
         }
     }
 
@@ -380,6 +385,13 @@ public class ColorTriangle extends JComponent {
         updateDefaults();
     }
 
+    @Override
+    public void removeNotify() {
+        super.removeNotify();
+        innerPaint.context.releaseCache();
+        outerPaint.context.releaseCache();
+    }
+
     protected PickResult pick(final double x, final double y) {
         Point2D p = dummy;
         p.setLocation(x, y);
@@ -430,15 +442,16 @@ public class ColorTriangle extends JComponent {
         }
 
         g2d.setComposite(COMPOSITE.derive((float) opacity));
-        g2d.setPaint(new InnerPaint());
+        g2d.setPaint(innerPaint);
         g2d.fill(triangleShape);
 
-        g2d.setPaint(new OuterPaint());
+        g2d.setPaint(outerPaint);
         g2d.fill(circleShape);
         context.restoreComposite();
 
         drawIndicator(g2d, outerIndicator);
         drawIndicator(g2d, innerIndicator);
+        context.restore();
     }
 
     public void createShapes(final float x, final float y, final int size) {
@@ -589,17 +602,101 @@ public class ColorTriangle extends JComponent {
         }
     }
 
+    /**
+     * Paint context which renders the pixels of the whole device area once into a cached buffer. The
+     * buffer is only computed again if the size of the device area or the parameters reported by
+     * {@link #updateKey()} change, so repainting only copies the requested tiles. Large buffers are
+     * computed in parallel by splitting them into rows.
+     */
     protected abstract static class ColorWheelPaintContext implements PaintContext {
+        private static final int PARALLEL_THRESHOLD = 1 << 16;
+
         protected Rectangle deviceBounds;
         protected double cx;
         protected double cy;
         protected AffineTransform transform;
 
+        private int[] cache;
+        private int cacheWidth;
+        private int cacheHeight;
+        private boolean cacheValid;
+        private WritableRaster tile;
+        private int[] tileData;
+
         public void setHints(final Rectangle deviceBounds, final AffineTransform transform) {
             this.deviceBounds = deviceBounds;
             cx = deviceBounds.x + deviceBounds.width / 2.0;
             cy = deviceBounds.y + deviceBounds.height / 2.0;
             this.transform = transform;
+            if (updateKey()) cacheValid = false;
+        }
+
+        /**
+         * Update the parameters the pixel values depend on apart from the size of the device area.
+         *
+         * @return true if the parameters have changed and the cached pixels are invalid.
+         */
+        protected abstract boolean updateKey();
+
+        /**
+         * Compute the pixels of the given area into the buffer. Coordinates are relative to the origin
+         * of the device bounds. This method may be called concurrently for disjoint areas.
+         *
+         * @param data the buffer.
+         * @param offset the index of the first pixel in the buffer.
+         * @param scan the scanline stride of the buffer.
+         * @param x the x coordinate of the area.
+         * @param y the y coordinate of the area.
+         * @param w the width of the area.
+         * @param h the height of the area.
+         */
+        protected abstract void fill(final int[] data, final int offset, final int scan, final int x, final int y,
+                final int w, final int h);
+
+        @Override
+        public Raster getRaster(final int x, final int y, final int w, final int h) {
+            if (tile == null || tile.getWidth() < w || tile.getHeight() < h) {
+                tile = getColorModel().createCompatibleWritableRaster(w, h);
+                tileData = ((DataBufferInt) tile.getDataBuffer()).getData();
+            }
+            int scan = tile.getWidth();
+            int rx = x - deviceBounds.x;
+            int ry = y - deviceBounds.y;
+            if (rx >= 0 && ry >= 0 && rx + w <= deviceBounds.width && ry + h <= deviceBounds.height) {
+                int[] data = getCache();
+                for (int j = 0; j < h; j++) {
+                    System.arraycopy(data, (ry + j) * cacheWidth + rx, tileData, j * scan, w);
+                }
+            } else {
+                fill(tileData, 0, scan, rx, ry, w, h);
+            }
+            return tile;
+        }
+
+        private int[] getCache() {
+            int w = deviceBounds.width;
+            int h = deviceBounds.height;
+            if (!cacheValid || cacheWidth != w || cacheHeight != h) {
+                if (cache == null || cache.length < w * h) cache = new int[w * h];
+                int[] data = cache;
+                if (w * h >= PARALLEL_THRESHOLD) {
+                    IntStream.range(0, h).parallel().forEach(j -> fill(data, j * w, w, 0, j, w, 1));
+                } else {
+                    fill(data, 0, w, 0, 0, w, h);
+                }
+                cacheWidth = w;
+                cacheHeight = h;
+                cacheValid = true;
+            }
+            return cache;
+        }
+
+        /** Release the cached pixels. */
+        public void releaseCache() {
+            cache = null;
+            tile = null;
+            tileData = null;
+            cacheValid = false;
         }
 
         @Override
@@ -622,39 +719,100 @@ public class ColorTriangle extends JComponent {
     protected static class OuterPaintContext extends ColorWheelPaintContext {
 
         @Override
-        public Raster getRaster(final int x, final int y, final int w, final int h) {
-            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
+        protected boolean updateKey() {
+            // The wheel only depends on the size of the device area.
+            return false;
+        }
+
+        @Override
+        protected void fill(final int[] data, final int offset, final int scan, final int x, final int y,
+                final int w, final int h) {
+            double centerX = cx - deviceBounds.x;
+            double centerY = cy - deviceBounds.y;
             for (int j = 0; j < h; j++) {
+                int index = offset + j * scan;
                 for (int i = 0; i < w; i++) {
-                    float hue = (float) ((getWheelHue(x + i, y + j, cx, cy)));
-                    int rgb = Color.HSBtoRGB(hue, 1.0f, 1.0f);
-                    setPixel(raster, i, j, rgb);
+                    float hue = (float) getWheelHue(x + i, y + j, centerX, centerY);
+                    data[index + i] = Color.HSBtoRGB(hue, 1.0f, 1.0f);
                 }
             }
-            return raster;
         }
     }
 
     protected class InnerPaintContext extends ColorWheelPaintContext {
 
+        private final AffineTransform inverse = new AffineTransform();
+        private final AffineTransform pixelTransform = new AffineTransform();
+        private boolean invertible;
+        private boolean hsb;
+        private double hue;
+        /*
+         * Affine map from pixel coordinates relative to the device bounds to the normalized triangle
+         * coordinates expected by the saturation and value calculation.
+         */
+        private double m00;
+        private double m01;
+        private double m02;
+        private double m10;
+        private double m11;
+        private double m12;
+
         public InnerPaintContext() {}
 
         @Override
-        public Raster getRaster(final int x, final int y, final int w, final int h) {
-            WritableRaster raster = getColorModel().createCompatibleWritableRaster(w, h);
+        protected boolean updateKey() {
+            boolean wasInvertible = invertible;
+            inverse.setTransform(transform);
+            try {
+                inverse.invert();
+                invertible = true;
+            } catch (NoninvertibleTransformException e) {
+                invertible = false;
+            }
+            pixelTransform.setTransform(triangleInverse);
+            pixelTransform.concatenate(inverse);
+            pixelTransform.translate(deviceBounds.x, deviceBounds.y);
+            double r = innerRadius;
+            double n00 = pixelTransform.getScaleX() / r;
+            double n01 = pixelTransform.getShearX() / r;
+            double n02 = (pixelTransform.getTranslateX() - centerX) / r;
+            double n10 = pixelTransform.getShearY() / r;
+            double n11 = pixelTransform.getScaleY() / r;
+            double n12 = (pixelTransform.getTranslateY() - centerY) / r;
+            boolean changed = wasInvertible != invertible || hsb != isHSB || hue != getHue() || m00 != n00
+                    || m01 != n01 || m02 != n02 || m10 != n10 || m11 != n11 || m12 != n12;
+            hsb = isHSB;
+            hue = getHue();
+            m00 = n00;
+            m01 = n01;
+            m02 = n02;
+            m10 = n10;
+            m11 = n11;
+            m12 = n12;
+            return changed;
+        }
+
+        @Override
+        protected void fill(final int[] data, final int offset, final int scan, final int x, final int y,
+                final int w, final int h) {
             for (int j = 0; j < h; j++) {
+                int index = offset + j * scan;
+                if (!invertible) {
+                    Arrays.fill(data, index, index + w, 0);
+                    continue;
+                }
+                double x1 = m00 * x + m01 * (y + j) + m02;
+                double y1 = m10 * x + m11 * (y + j) + m12;
                 for (int i = 0; i < w; i++) {
-                    dummy.setLocation((x + i), (y + j));
-                    try {
-                        transform.inverseTransform(dummy, dummy);
-                        triangleInverse.transform(dummy, dummy);
-                        Point2D sv = getSaturationAndValue(dummy.getX(), dummy.getY());
-                        setPixel(raster, i, j, getColorRGB(getHue(), sv.getX(), sv.getY()));
-                    } catch (NoninvertibleTransformException ignored) {
-                    }
+                    double d = SQRT3 * x1 - y1 + 2.0;
+                    double sat = Math.max(Math.min((1.0 - 2.0 * y1) / d, 1), 0);
+                    double val = Math.max(Math.min(d / 3.0, 1), 0);
+                    data[index + i] = hsb ? Color.HSBtoRGB((float) hue, (float) sat, (float) val)
+                            : DarkColorModelHSL.getRGBFromHSLValues(hue, sat, val);
+                    x1 += m00;
+                    y1 += m10;
                 }
             }
-            return raster;
         }
     }
 
@@ -27,6 +27,7 @@ import java.awt.event.*;
 import javax.swing.*;
 
 import com.github.weisj.darklaf.components.tooltip.ToolTipContext;
+import com.github.weisj.darklaf.graphics.GraphicsContext;
 import com.github.weisj.darklaf.graphics.GraphicsUtil;
 import com.github.weisj.darklaf.graphics.PaintUtil;
 import com.github.weisj.darklaf.task.ForegroundColorGenerationTask;
@@ -152,9 +153,10 @@ abstract class SwatchPanel extends JPanel {
                     g.setColor(c2);
                     PaintUtil.drawRect(g, x, y, swatchSize.width, swatchSize.height, 1);
 
-                    GraphicsUtil.setupStrokePainting(g);
+                    GraphicsContext context = GraphicsUtil.setupStrokePainting(g);
                     g.drawLine(x + 1, y + 1, x + swatchSize.width - 1, y + swatchSize.height - 1);
                     g.drawLine(x + 1, y + swatchSize.height - 1, x + swatchSize.width - 1, y + 1);
+                    context.restore();
                 }
             }
         }
@@ -0,0 +1,496 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.filechooser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import javax.swing.filechooser.FileSystemView;
+import javax.swing.plaf.basic.BasicDirectoryModel;
+
+/**
+ * Directory model which streams the contents of a newly entered directory into the model in chunks
+ * instead of publishing them all at once after the whole directory has been enumerated.
+ *
+ * <p>
+ * The entries are kept sorted at all times (directories first, then by name). Each chunk is sorted
+ * on the loading thread and merged into the already published entries on the event dispatch
+ * thread. Rescanning the current directory still loads the complete listing first, so that
+ * insertions and removals can be published as minimal change events.
+ */
+public class DarkDirectoryModel extends BasicDirectoryModel {
+
+    public static final String BUSY_PROPERTY = "busy";
+
+    protected static final int DEFAULT_CHUNK_SIZE = 256;
+    protected static final int MAX_CHUNK_SIZE = 16384;
+    protected static final int DEFAULT_PUBLISH_DELAY = 100;
+
+    protected final Comparator<File> fileComparator = this::compareFiles;
+    protected final AtomicInteger fetchId = new AtomicInteger();
+
+    protected JFileChooser fileChooser;
+    protected List<File> directories;
+    protected List<File> files;
+    protected File loadedDirectory;
+    protected FilesLoader filesLoader;
+    protected boolean busy;
+    protected boolean nameOrdered = true;
+    protected int chunkSize;
+    protected long publishDelay;
+
+    public DarkDirectoryModel(final JFileChooser fileChooser) {
+        super(fileChooser);
+        this.fileChooser = fileChooser;
+        directories = new ArrayList<>();
+        files = new ArrayList<>();
+        int size = UIManager.getInt("FileChooser.loadChunkSize");
+        chunkSize = size > 0 ? size : DEFAULT_CHUNK_SIZE;
+        int delay = UIManager.getInt("FileChooser.loadPublishDelay");
+        publishDelay = (delay > 0 ? delay : DEFAULT_PUBLISH_DELAY) * 1000000L;
+        validateFileCache();
+    }
+
+    @Override
+    public void invalidateFileCache() {
+        if (fileChooser == null) return;
+        cancelLoader();
+        int fid = fetchId.incrementAndGet();
+        setBusy(false, fid);
+    }
+
+    @Override
+    public void validateFileCache() {
+        // Called from the super constructor before this model has been initialized.
+        if (fileChooser == null) return;
+        File currentDirectory = fileChooser.getCurrentDirectory();
+        if (currentDirectory == null) return;
+        cancelLoader();
+
+        int fid = fetchId.incrementAndGet();
+        boolean rescan = currentDirectory.equals(loadedDirectory);
+        if (!rescan) {
+            loadedDirectory = currentDirectory;
+            clearContents();
+        }
+        setBusy(true, fid);
+        filesLoader = new FilesLoader(currentDirectory, fid, !rescan);
+    }
+
+    protected void cancelLoader() {
+        if (filesLoader != null) {
+            filesLoader.cancel();
+            filesLoader = null;
+        }
+    }
+
+    /**
+     * Returns whether the model is currently loading the contents of a directory.
+     *
+     * @return true if loading.
+     */
+    public boolean isBusy() {
+        return busy;
+    }
+
+    protected void setBusy(final boolean busy, final int fid) {
+        invokeOnEDT(() -> {
+            if (fid != fetchId.get()) return;
+            boolean oldValue = this.busy;
+            this.busy = busy;
+            if (oldValue != busy) {
+                firePropertyChange(BUSY_PROPERTY, oldValue, busy);
+            }
+        });
+    }
+
+    @Override
+    public Vector<File> getDirectories() {
+        Vector<File> result = new Vector<>(directories.size() + 1);
+        result.add(fileChooser.getFileSystemView().createFileObject(fileChooser.getCurrentDirectory(), ".."));
+        result.addAll(directories);
+        return result;
+    }
+
+    @Override
+    public Vector<File> getFiles() {
+        return new Vector<>(files);
+    }
+
+    @Override
+    public void fireContentsChanged() {
+        fireContentsChanged(this, 0, getSize() - 1);
+    }
+
+    @Override
+    public int getSize() {
+        return directories != null ? directories.size() + files.size() : 0;
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(final Object o) {
+        if (!(o instanceof File) || directories == null) return -1;
+        File file = (File) o;
+        // Both lists are sorted, so the element can be found using a binary search.
+        int index = indexOf(directories, file);
+        if (index >= 0) return index;
+        index = indexOf(files, file);
+        return index >= 0 ? directories.size() + index : -1;
+    }
+
+    protected int indexOf(final List<File> list, final File file) {
+        if (!nameOrdered) return list.indexOf(file);
+        int index = Collections.binarySearch(list, file, fileComparator);
+        return index >= 0 && file.equals(list.get(index)) ? index : -1;
+    }
+
+    @Override
+    public Object getElementAt(final int index) {
+        int dirCount = directories.size();
+        return index < dirCount ? directories.get(index) : files.get(index - dirCount);
+    }
+
+    protected int compareFiles(final File a, final File b) {
+        String nameA = a.getName();
+        String nameB = b.getName();
+        // First ignore case when comparing
+        int diff = nameA.compareToIgnoreCase(nameB);
+        if (diff != 0) return diff;
+        // May differ in case (e.g. "mail" vs. "Mail")
+        return nameA.compareTo(nameB);
+    }
+
+    protected void clearContents() {
+        int size = getSize();
+        directories = new ArrayList<>();
+        files = new ArrayList<>();
+        nameOrdered = true;
+        if (size > 0) {
+            fireIntervalRemoved(this, 0, size - 1);
+        }
+    }
+
+    /**
+     * Merges the given chunk of sorted entries into the model. If the chunk forms a contiguous block
+     * inside the directories or files only insertion events are fired. Otherwise a single
+     * {@link FilesAddedEvent} is fired for the whole chunk.
+     *
+     * @param fid the fetch id the chunk belongs to.
+     * @param newDirectories the sorted directories of the chunk.
+     * @param newFiles the sorted files of the chunk.
+     */
+    protected void mergeChunk(final int fid, final List<File> newDirectories, final List<File> newFiles) {
+        if (fid != fetchId.get()) return;
+        boolean dirsContiguous = isContiguousInsertion(directories, newDirectories);
+        boolean filesContiguous = isContiguousInsertion(files, newFiles);
+        if (dirsContiguous && filesContiguous) {
+            if (!newDirectories.isEmpty()) {
+                int start = insertionIndex(directories, newDirectories.get(0));
+                directories.addAll(start, newDirectories);
+                fireIntervalAdded(this, start, start + newDirectories.size() - 1);
+            }
+            if (!newFiles.isEmpty()) {
+                int start = insertionIndex(files, newFiles.get(0));
+                files.addAll(start, newFiles);
+                int offset = directories.size();
+                fireIntervalAdded(this, offset + start, offset + start + newFiles.size() - 1);
+            }
+        } else {
+            directories = merge(directories, newDirectories);
+            files = merge(files, newFiles);
+            List<File> added = new ArrayList<>(newDirectories.size() + newFiles.size());
+            added.addAll(newDirectories);
+            added.addAll(newFiles);
+            fireFilesAdded(added);
+        }
+    }
+
+    protected void fireFilesAdded(final List<File> added) {
+        Object[] listeners = listenerList.getListenerList();
+        ListDataEvent e = null;
+        for (int i = listeners.length - 2; i >= 0; i -= 2) {
+            if (listeners[i] == ListDataListener.class) {
+                if (e == null) {
+                    e = new FilesAddedEvent(this, 0, getSize() - 1, added);
+                }
+                ((ListDataListener) listeners[i + 1]).contentsChanged(e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the contents with the result of a complete rescan. Simple insertions or removals of a
+     * single block are published as such, to allow e.g. newly created folders to be selected.
+     *
+     * @param fid the fetch id the result belongs to.
+     * @param newDirectories the sorted directories.
+     * @param newFiles the sorted files.
+     * @param ordered whether the entries are ordered by {@link #compareFiles(File, File)}.
+     */
+    protected void replaceContents(final int fid, final List<File> newDirectories, final List<File> newFiles,
+            final boolean ordered) {
+        if (fid != fetchId.get()) return;
+        nameOrdered = ordered;
+        List<File> oldCache = new ArrayList<>(getSize());
+        oldCache.addAll(directories);
+        oldCache.addAll(files);
+        List<File> newCache = new ArrayList<>(newDirectories.size() + newFiles.size());
+        newCache.addAll(newDirectories);
+        newCache.addAll(newFiles);
+        if (oldCache.equals(newCache)) return;
+
+        int oldSize = oldCache.size();
+        int newSize = newCache.size();
+        int start = 0;
+        int max = Math.min(oldSize, newSize);
+        while (start < max && oldCache.get(start).equals(newCache.get(start))) {
+            start++;
+        }
+        int delta = Math.abs(newSize - oldSize);
+        directories = newDirectories;
+        files = newFiles;
+        if (newSize > oldSize
+                && newCache.subList(start + delta, newSize).equals(oldCache.subList(start, oldSize))) {
+            fireIntervalAdded(this, start, start + delta - 1);
+        } else if (newSize < oldSize
+                && oldCache.subList(start + delta, oldSize).equals(newCache.subList(start, newSize))) {
+            fireIntervalRemoved(this, start, start + delta - 1);
+        } else {
+            fireContentsChanged();
+        }
+    }
+
+    protected boolean isContiguousInsertion(final List<File> target, final List<File> chunk) {
+        if (chunk.isEmpty() || target.isEmpty()) return true;
+        int first = insertionIndex(target, chunk.get(0));
+        int last = insertionIndex(target, chunk.get(chunk.size() - 1));
+        return first == last;
+    }
+
+    protected int insertionIndex(final List<File> target, final File file) {
+        int index = Collections.binarySearch(target, file, fileComparator);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    protected List<File> merge(final List<File> target, final List<File> chunk) {
+        if (chunk.isEmpty()) return target;
+        List<File> result = new ArrayList<>(target.size() + chunk.size());
+        int i = 0;
+        int j = 0;
+        while (i < target.size() && j < chunk.size()) {
+            if (compareFiles(target.get(i), chunk.get(j)) <= 0) {
+                result.add(target.get(i++));
+            } else {
+                result.add(chunk.get(j++));
+            }
+        }
+        result.addAll(target.subList(i, target.size()));
+        result.addAll(chunk.subList(j, chunk.size()));
+        return result;
+    }
+
+    protected static void invokeOnEDT(final Runnable runnable) {
+        if (SwingUtilities.isEventDispatchThread()) {
+            runnable.run();
+        } else {
+            SwingUtilities.invokeLater(runnable);
+        }
+    }
+
+    /**
+     * Contents changed event which is fired if a chunk of entries has been merged into the model at
+     * non-contiguous positions. Listeners which are only interested in the added entries can use
+     * {@link #getAddedFiles()} instead of processing the whole model.
+     */
+    public static class FilesAddedEvent extends ListDataEvent {
+
+        private final List<File> addedFiles;
+
+        public FilesAddedEvent(final Object source, final int index0, final int index1, final List<File> addedFiles) {
+            super(source, CONTENTS_CHANGED, index0, index1);
+            this.addedFiles = Collections.unmodifiableList(addedFiles);
+        }
+
+        public List<File> getAddedFiles() {
+            return addedFiles;
+        }
+    }
+
+    protected class FilesLoader implements Runnable {
+
+        protected final File directory;
+        protected final int fid;
+        protected final boolean streaming;
+        protected final FileSystemView fileSystemView;
+        protected final boolean useFileHiding;
+        protected final boolean fileSelectionEnabled;
+        protected final Thread loadThread;
+        protected volatile boolean cancelled;
+
+        protected List<File> pendingDirectories = new ArrayList<>();
+        protected List<File> pendingFiles = new ArrayList<>();
+        /*
+         * Number of files handed to the event dispatch thread. Only accessed by the loading thread. The
+         * model size can't be used instead, as it lags behind chunks which aren't merged yet.
+         */
+        protected int publishedCount;
+
+        public FilesLoader(final File directory, final int fid, final boolean streaming) {
+            this.directory = directory;
+            this.fid = fid;
+            this.streaming = streaming;
+            fileSystemView = fileChooser.getFileSystemView();
+            useFileHiding = fileChooser.isFileHidingEnabled();
+            fileSelectionEnabled = fileChooser.isFileSelectionEnabled();
+            loadThread = new Thread(this, "Darklaf File Loading Thread");
+            loadThread.setDaemon(true);
+            loadThread.start();
+        }
+
+        public void cancel() {
+            cancelled = true;
+            loadThread.interrupt();
+        }
+
+        protected boolean isCancelled() {
+            return cancelled || loadThread.isInterrupted();
+        }
+
+        @Override
+        public void run() {
+            try {
+                if (!loadFromDirectoryStream()) {
+                    loadFromFileSystemView();
+                }
+            } finally {
+                setBusy(false, fid);
+            }
+        }
+
+        /*
+         * Enumerates the directory lazily. Only used for the default file system view and real file
+         * system directories, as custom views may override which files are listed.
+         */
+        protected boolean loadFromDirectoryStream() {
+            if (!DarkFilePaneUIBridge.usesShellFolder(fileChooser) || !fileSystemView.isFileSystem(directory)) {
+                return false;
+            }
+            Path path;
+            try {
+                path = directory.toPath();
+            } catch (InvalidPathException e) {
+                return false;
+            }
+            List<File> dirs = new ArrayList<>();
+            List<File> fs = new ArrayList<>();
+            int publishSize = chunkSize;
+            long lastPublish = System.nanoTime();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(path)) {
+                for (Path child : stream) {
+                    if (isCancelled()) return true;
+                    File file = fileSystemView.createFileObject(directory, child.getFileName().toString());
+                    if (useFileHiding && fileSystemView.isHiddenFile(file)) continue;
+                    addFile(file, streaming ? pendingDirectories : dirs, streaming ? pendingFiles : fs);
+                    if (streaming) {
+                        int pending = pendingDirectories.size() + pendingFiles.size();
+                        long now = System.nanoTime();
+                        if (pending >= publishSize || (pending > 0 && now - lastPublish >= publishDelay)) {
+                            publishChunk();
+                            lastPublish = now;
+                            publishSize = Math.min(2 * publishSize, MAX_CHUNK_SIZE);
+                        }
+                    }
+                }
+            } catch (IOException | SecurityException e) {
+                // Directory can't be read lazily. Let the file system view decide what to show.
+                if (!streaming || publishedCount == 0) return false;
+            }
+            if (isCancelled()) return true;
+            if (streaming) {
+                publishChunk();
+            } else {
+                dirs.sort(fileComparator);
+                fs.sort(fileComparator);
+                publishAll(dirs, fs, true);
+            }
+            return true;
+        }
+
+        protected void loadFromFileSystemView() {
+            File[] list = fileSystemView.getFiles(directory, useFileHiding);
+            if (isCancelled()) return;
+            Vector<File> dirs = new Vector<>();
+            Vector<File> fs = new Vector<>();
+            for (File file : list) {
+                if (isCancelled()) return;
+                addFile(file, dirs, fs);
+            }
+            // Virtual folders use the native sort order of the shell.
+            sort(dirs);
+            sort(fs);
+            publishAll(dirs, fs, false);
+        }
+
+        protected void addFile(final File file, final List<File> dirs, final List<File> fs) {
+            if (!fileChooser.accept(file)) return;
+            if (fileChooser.isTraversable(file)) {
+                dirs.add(file);
+            } else if (fileSelectionEnabled) {
+                fs.add(file);
+            }
+        }
+
+        protected void publishChunk() {
+            List<File> dirs = pendingDirectories;
+            List<File> fs = pendingFiles;
+            pendingDirectories = new ArrayList<>();
+            pendingFiles = new ArrayList<>();
+            if (dirs.isEmpty() && fs.isEmpty()) return;
+            publishedCount += dirs.size() + fs.size();
+            dirs.sort(fileComparator);
+            fs.sort(fileComparator);
+            SwingUtilities.invokeLater(() -> {
+                if (!isCancelled()) mergeChunk(fid, dirs, fs);
+            });
+        }
+
+        protected void publishAll(final List<File> dirs, final List<File> fs, final boolean ordered) {
+            SwingUtilities.invokeLater(() -> {
+                if (!isCancelled()) replaceContents(fid, dirs, fs, ordered);
+            });
+        }
+    }
+}
@@ -48,6 +48,7 @@ import com.github.weisj.darklaf.util.AlignmentExt;
 public class DarkFileChooserUI extends DarkFileChooserUIBridge {
 
     public static final String KEY_VIEW_TYPE = "viewType";
+    public static final String KEY_SHOW_FILTER_FIELD = "JFileChooser.showFilterField";
     private static final String MIME_TEXT = "text/";
     private static final String MIME_IMAGE = "image/";
 
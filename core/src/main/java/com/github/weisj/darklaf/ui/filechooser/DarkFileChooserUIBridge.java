@@ -111,6 +111,7 @@ public abstract class DarkFileChooserUIBridge extends BasicFileChooserUI {
     protected String detailsViewButtonToolTipText = null;
     protected String detailsViewButtonAccessibleName = null;
     protected AlignedLabel fileNameLabel;
+    protected DarkDirectoryModel directoryModel;
 
     /**
      * Constructs a new instance of {@code MetalFileChooserUI}.
@@ -147,10 +148,26 @@ public abstract class DarkFileChooserUIBridge extends BasicFileChooserUI {
             filePane.uninstallUI();
             filePane = null;
         }
+        if (directoryModel != null) {
+            directoryModel.invalidateFileCache();
+        }
 
         super.uninstallUI(c);
     }
 
+    @Override
+    protected void createModel() {
+        if (directoryModel != null) {
+            directoryModel.invalidateFileCache();
+        }
+        directoryModel = new DarkDirectoryModel(getFileChooser());
+    }
+
+    @Override
+    public BasicDirectoryModel getModel() {
+        return directoryModel;
+    }
+
     public abstract void installComponents(final JFileChooser fc);
 
     public void uninstallComponents(final JFileChooser fc) {
@@ -26,11 +26,14 @@ import java.awt.event.ComponentAdapter;
 import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseEvent;
+import java.beans.PropertyChangeEvent;
 import java.io.File;
+import java.text.MessageFormat;
 import java.util.function.Supplier;
 
 import javax.accessibility.AccessibleContext;
 import javax.swing.*;
+import javax.swing.border.EmptyBorder;
 import javax.swing.event.AncestorEvent;
 import javax.swing.event.ListDataEvent;
 import javax.swing.event.ListDataListener;
@@ -43,20 +46,48 @@ import javax.swing.text.Position;
 import sun.swing.SwingUtilities2;
 
 import com.github.weisj.darklaf.components.OverlayScrollPane;
+import com.github.weisj.darklaf.components.loading.LoadingIndicator;
 import com.github.weisj.darklaf.listener.AncestorAdapter;
+import com.github.weisj.darklaf.listener.UpdateDocumentListener;
 import com.github.weisj.darklaf.ui.table.DarkTableUI;
 import com.github.weisj.darklaf.ui.table.TextTableCellEditorBorder;
 import com.github.weisj.darklaf.ui.table.renderer.DarkTableCellEditor;
 import com.github.weisj.darklaf.ui.table.renderer.DarkTableCellEditorDelegate;
+import com.github.weisj.darklaf.ui.text.DarkTextFieldUI;
 import com.github.weisj.darklaf.ui.text.DarkTextUI;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 
 public class DarkFilePane extends DarkFilePaneUIBridge {
 
     protected TableCellEditor tableCellEditor;
+    protected LoadingIndicator loadingIndicator;
+    protected Timer loadingTimer;
+    protected String loadingText;
+    protected int loadingDelay;
+    protected JTextField filterField;
+    protected final ListDataListener loadingListener = new ListDataListener() {
+        @Override
+        public void intervalAdded(final ListDataEvent e) {
+            updateLoadingText();
+        }
+
+        @Override
+        public void intervalRemoved(final ListDataEvent e) {
+            updateLoadingText();
+        }
+
+        @Override
+        public void contentsChanged(final ListDataEvent e) {
+            updateLoadingText();
+        }
+    };
 
     public DarkFilePane(final FileChooserUIAccessor fileChooserUIAccessor) {
         super(fileChooserUIAccessor);
+        if (getModel() != null) {
+            getModel().addListDataListener(loadingListener);
+        }
+        updateFilterField();
     }
 
     @Override
@@ -71,6 +102,115 @@ public class DarkFilePane extends DarkFilePaneUIBridge {
         editCell.setBorder(new TextTableCellEditorBorder());
         editCell.putClientProperty("JTextField.listCellEditor", true);
         editCell.putClientProperty(DarkTextUI.KEY_IS_LIST_EDITOR, true);
+        loadingText = UIManager.getString("FileChooser.loadingText");
+        loadingDelay = UIManager.getInt("FileChooser.loadPublishDelay");
+    }
+
+    @Override
+    public void uninstallUI() {
+        super.uninstallUI();
+        if (getModel() != null) {
+            getModel().removeListDataListener(loadingListener);
+        }
+        if (loadingTimer != null) {
+            loadingTimer.stop();
+        }
+        setLoadingIndicatorVisible(false);
+    }
+
+    @Override
+    public void propertyChange(final PropertyChangeEvent e) {
+        super.propertyChange(e);
+        String key = e.getPropertyName();
+        if (DarkDirectoryModel.BUSY_PROPERTY.equals(key)) {
+            updateLoadingState();
+        } else if (DarkFileChooserUI.KEY_SHOW_FILTER_FIELD.equals(key)) {
+            updateFilterField();
+        } else if (JFileChooser.DIRECTORY_CHANGED_PROPERTY.equals(key)) {
+            if (filterField != null) {
+                filterField.setText("");
+            }
+        }
+    }
+
+    protected boolean isFilterFieldEnabled() {
+        Object value = getFileChooser().getClientProperty(DarkFileChooserUI.KEY_SHOW_FILTER_FIELD);
+        if (value instanceof Boolean) return (Boolean) value;
+        return UIManager.getBoolean("FileChooser.showFilterField");
+    }
+
+    protected void updateFilterField() {
+        boolean enabled = isFilterFieldEnabled();
+        boolean installed = filterField != null && filterField.getParent() == this;
+        if (enabled == installed) return;
+        if (enabled) {
+            add(getFilterField(), BorderLayout.NORTH);
+        } else {
+            filterField.setText("");
+            remove(filterField);
+        }
+        revalidate();
+        repaint();
+    }
+
+    protected JTextField getFilterField() {
+        if (filterField == null) {
+            filterField = new JTextField();
+            filterField.setName("FileChooser.filterField");
+            filterField.putClientProperty(DarkTextFieldUI.KEY_VARIANT, DarkTextFieldUI.VARIANT_SEARCH);
+            filterField.putClientProperty(DarkTextFieldUI.KEY_SHOW_CLEAR, true);
+            filterField.putClientProperty(DarkTextUI.KEY_DEFAULT_TEXT, UIManager.getString("FileChooser.filterText"));
+            filterField.getDocument()
+                    .addDocumentListener((UpdateDocumentListener) () -> setNameFilter(filterField.getText()));
+        }
+        return filterField;
+    }
+
+    protected void updateLoadingState() {
+        if (isLoading()) {
+            // Only show the indicator if loading takes noticeably long to avoid flickering.
+            if (loadingTimer == null) {
+                loadingTimer = new Timer(loadingDelay, e -> setLoadingIndicatorVisible(isLoading()));
+                loadingTimer.setRepeats(false);
+            }
+            loadingTimer.restart();
+        } else {
+            if (loadingTimer != null) {
+                loadingTimer.stop();
+            }
+            setLoadingIndicatorVisible(false);
+        }
+    }
+
+    protected LoadingIndicator getLoadingIndicator() {
+        if (loadingIndicator == null) {
+            loadingIndicator = new LoadingIndicator();
+            loadingIndicator.setName("FileChooser.loadingIndicator");
+            loadingIndicator.setBorder(new EmptyBorder(2, 2, 2, 2));
+        }
+        return loadingIndicator;
+    }
+
+    protected void setLoadingIndicatorVisible(final boolean visible) {
+        boolean isVisible = loadingIndicator != null && loadingIndicator.getParent() == this;
+        if (visible != isVisible) {
+            LoadingIndicator indicator = getLoadingIndicator();
+            if (visible) {
+                add(indicator, BorderLayout.SOUTH);
+            } else {
+                remove(indicator);
+            }
+            indicator.setRunning(visible);
+            revalidate();
+            repaint();
+        }
+        updateLoadingText();
+    }
+
+    protected void updateLoadingText() {
+        if (loadingIndicator != null && loadingIndicator.getParent() == this && loadingText != null) {
+            loadingIndicator.setText(MessageFormat.format(loadingText, getModel().getSize()));
+        }
     }
 
     public JPanel createList() {
@@ -80,20 +220,13 @@ public class DarkFilePane extends DarkFilePaneUIBridge {
         @SuppressWarnings("serial") // anonymous class
         final JList<Object> list = new JList<Object>() {
             public int getNextMatch(final String prefix, final int startIndex, final Position.Bias bias) {
-                ListModel<?> model = getModel();
-                int max = model.getSize();
+                int max = getModel().getSize();
                 if (prefix == null || startIndex < 0 || startIndex >= max) {
                     throw new IllegalArgumentException();
                 }
                 // start search from the next element before/after the selected element
                 boolean backwards = (bias == Position.Bias.Backward);
-                for (int i = startIndex; backwards ? i >= 0 : i < max; i += (backwards ? -1 : 1)) {
-                    String filename = fileChooser.getName((File) model.getElementAt(i));
-                    if (filename.regionMatches(true, 0, prefix, 0, prefix.length())) {
-                        return i;
-                    }
-                }
-                return -1;
+                return findNextMatch(prefix, startIndex, backwards ? 0 : max - 1, backwards);
             }
         };
         list.setCellRenderer(new DarkFileRenderer());
@@ -155,6 +155,11 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
     protected final FileChooserUIAccessor fileChooserUIAccessor;
     protected DetailsTableModel detailsTableModel;
     protected DetailsTableRowSorter rowSorter;
+    protected FileNameIndex fileNameIndex;
+    protected Map<File, Integer> modelIndices;
+    protected String matchPrefix;
+    protected int[] matchViewIndices;
+    protected NameFilter nameFilter;
     protected final KeyListener detailsKeyListener = new KeyAdapter() {
         protected final long timeFactor;
 
@@ -175,8 +180,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
          * number of the same letters followed by first typed another letter.
          */
         public void keyTyped(final KeyEvent e) {
-            BasicDirectoryModel model = getModel();
-            int rowCount = model.getSize();
+            int rowCount = getRowSorter().getViewRowCount();
 
             if (detailsTable == null || rowCount == 0 || e.isAltDown() || e.isControlDown() || e.isMetaDown()) {
                 return;
@@ -241,24 +245,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         }
 
         protected int getNextMatch(final int startIndex, final int finishIndex) {
-            BasicDirectoryModel model = getModel();
-            JFileChooser fileChooser = getFileChooser();
-            DetailsTableRowSorter rowSorter = getRowSorter();
-
-            String prefix = typedString.toString().toLowerCase();
-
-            // Search element
-            for (int index = startIndex; index <= finishIndex; index++) {
-                File file = (File) model.getElementAt(rowSorter.convertRowIndexToModel(index));
-
-                String fileName = fileChooser.getName(file).toLowerCase();
-
-                if (fileName.startsWith(prefix)) {
-                    return index;
-                }
-            }
-
-            return -1;
+            return findNextMatch(typedString.toString(), startIndex, finishIndex, false);
         }
     };
     protected Action newFolderAction;
@@ -355,6 +342,150 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         return fileChooserUIAccessor.getModel();
     }
 
+    /**
+     * Returns the name index of the current directory. The index is created on the first query and
+     * is only maintained from then on.
+     *
+     * @return the name index.
+     */
+    protected FileNameIndex getFileNameIndex() {
+        if (fileNameIndex == null) {
+            fileNameIndex = new FileNameIndex(f -> getFileChooser().getName(f));
+            fileNameIndex.invalidate();
+        }
+        fileNameIndex.ensureValid(getModel());
+        return fileNameIndex;
+    }
+
+    protected boolean isFileNameIndexInUse() {
+        return fileNameIndex != null || nameFilter != null;
+    }
+
+    protected void indexFilesAdded(final List<File> added) {
+        clearMatchCache();
+        if (fileNameIndex != null) {
+            fileNameIndex.addAll(added);
+        }
+        if (nameFilter != null) {
+            nameFilter.addMatches(added);
+        }
+    }
+
+    protected void invalidateFileNameIndex() {
+        clearMatchCache();
+        if (fileNameIndex != null) {
+            if (getModel().getSize() == 0) {
+                fileNameIndex.clear();
+            } else {
+                fileNameIndex.invalidate();
+            }
+        }
+        if (nameFilter != null) {
+            nameFilter.invalidate();
+        }
+    }
+
+    protected void clearMatchCache() {
+        modelIndices = null;
+        clearMatchViewIndices();
+    }
+
+    protected void clearMatchViewIndices() {
+        matchPrefix = null;
+        matchViewIndices = null;
+    }
+
+    protected Map<File, Integer> getModelIndices() {
+        if (modelIndices == null) {
+            BasicDirectoryModel model = getModel();
+            int size = model.getSize();
+            modelIndices = new IdentityHashMap<>(size);
+            for (int i = 0; i < size; i++) {
+                modelIndices.put((File) model.getElementAt(i), i);
+            }
+        }
+        return modelIndices;
+    }
+
+    /**
+     * Returns the sorted view indices of the files whose name starts with the given prefix. The
+     * indices of the last prefix are kept until the model or the sorting changes.
+     *
+     * @param prefix the normalized prefix.
+     * @return the sorted view indices.
+     */
+    protected int[] getMatchViewIndices(final String prefix) {
+        if (matchViewIndices != null && prefix.equals(matchPrefix)) return matchViewIndices;
+        List<File> matches = getFileNameIndex().getMatches(prefix);
+        Map<File, Integer> indices = getModelIndices();
+        DetailsTableRowSorter rowSorter = getRowSorter();
+        int[] viewIndices = new int[matches.size()];
+        int count = 0;
+        for (File file : matches) {
+            Integer modelIndex = indices.get(file);
+            if (modelIndex == null) continue;
+            int viewIndex = rowSorter.convertRowIndexToView(modelIndex);
+            if (viewIndex >= 0) viewIndices[count++] = viewIndex;
+        }
+        Arrays.sort(viewIndices, 0, count);
+        matchPrefix = prefix;
+        matchViewIndices = Arrays.copyOf(viewIndices, count);
+        return matchViewIndices;
+    }
+
+    /**
+     * Finds the view index of the first file whose name starts with the given prefix inside the
+     * given range of view indices. The view indices of the matching files are looked up once per
+     * prefix, so repeated searches only need a binary search.
+     *
+     * @param prefix the prefix.
+     * @param startIndex the first view index of the range.
+     * @param endIndex the last view index of the range.
+     * @param backwards whether the last matching index should be returned instead of the first.
+     * @return the matching view index or -1 if there is no match.
+     */
+    protected int findNextMatch(final String prefix, final int startIndex, final int endIndex,
+            final boolean backwards) {
+        int[] viewIndices = getMatchViewIndices(FileNameIndex.normalize(prefix));
+        int lower = Math.min(startIndex, endIndex);
+        int upper = Math.max(startIndex, endIndex);
+        if (backwards) {
+            int i = lowerBound(viewIndices, upper + 1) - 1;
+            return i >= 0 && viewIndices[i] >= lower ? viewIndices[i] : -1;
+        } else {
+            int i = lowerBound(viewIndices, lower);
+            return i < viewIndices.length && viewIndices[i] <= upper ? viewIndices[i] : -1;
+        }
+    }
+
+    private static int lowerBound(final int[] values, final int key) {
+        int i = Arrays.binarySearch(values, key);
+        return i >= 0 ? i : -i - 1;
+    }
+
+    /**
+     * Only show the files whose name starts with the given prefix. Matching files are looked up in
+     * the name index and the filter is applied through a single update of the row sorter.
+     *
+     * @param prefix the prefix or null if no filter should be applied.
+     */
+    public void setNameFilter(final String prefix) {
+        String filter = prefix != null ? FileNameIndex.normalize(prefix) : "";
+        if (nameFilter == null ? filter.isEmpty() : nameFilter.prefix.equals(filter)) return;
+        applyEdit();
+        nameFilter = filter.isEmpty() ? null : new NameFilter(filter);
+        getRowSorter().setRowFilter(nameFilter);
+    }
+
+    public String getNameFilter() {
+        return nameFilter != null ? nameFilter.prefix : null;
+    }
+
+    protected boolean isLoading() {
+        BasicDirectoryModel model = getModel();
+        return model instanceof DarkDirectoryModel && ((DarkDirectoryModel) model).isBusy();
+    }
+
     public int getViewType() {
         return viewType;
     }
@@ -839,6 +970,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
     }
 
     protected void doDirectoryChanged(final PropertyChangeEvent e) {
+        setNameFilter(null);
         getDetailsTableModel().updateColumnInfo();
 
         JFileChooser fc = getFileChooser();
@@ -951,6 +1083,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
     protected DetailsTableRowSorter getRowSorter() {
         if (rowSorter == null) {
             rowSorter = new DetailsTableRowSorter();
+            rowSorter.addRowSorterListener(e -> clearMatchViewIndices());
         }
         return rowSorter;
     }
@@ -1075,17 +1208,27 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
     protected class SortableListModel extends AbstractListModel<Object>
             implements TableModelListener, RowSorterListener {
 
+        protected int lastSize;
+
         public SortableListModel() {
             getDetailsTableModel().addTableModelListener(this);
             getRowSorter().addRowSorterListener(this);
+            lastSize = getSize();
         }
 
         public void tableChanged(final TableModelEvent e) {
-            fireContentsChanged(this, 0, getSize());
+            fireContentsChanged();
+        }
+
+        protected void fireContentsChanged() {
+            int size = getSize();
+            int oldSize = lastSize;
+            lastSize = size;
+            fireContentsChanged(this, 0, Math.max(size, oldSize) - 1);
         }
 
         public int getSize() {
-            return getModel().getSize();
+            return getRowSorter().getViewRowCount();
         }
 
         public Object getElementAt(final int index) {
@@ -1094,7 +1237,7 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         }
 
         public void sorterChanged(final RowSorterEvent e) {
-            fireContentsChanged(this, 0, getSize());
+            fireContentsChanged();
         }
     }
 
@@ -1257,15 +1400,32 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
                     newFolderFile = null;
                 }
             }
+            if (isFileNameIndexInUse()) {
+                List<File> added = new ArrayList<>(i1 - i0 + 1);
+                for (int i = i0; i <= i1; i++) {
+                    added.add((File) getModel().getElementAt(i));
+                }
+                indexFilesAdded(added);
+            }
 
             fireTableRowsInserted(e.getIndex0(), e.getIndex1());
+            if (isLoading()) {
+                // Entries are streamed in while loading. Select the chooser's file once it appears.
+                new DelayedSelectionUpdater();
+            }
         }
 
         public void intervalRemoved(final ListDataEvent e) {
+            invalidateFileNameIndex();
             fireTableRowsDeleted(e.getIndex0(), e.getIndex1());
         }
 
         public void contentsChanged(final ListDataEvent e) {
+            if (e instanceof DarkDirectoryModel.FilesAddedEvent) {
+                indexFilesAdded(((DarkDirectoryModel.FilesAddedEvent) e).getAddedFiles());
+            } else {
+                invalidateFileNameIndex();
+            }
             // Update the selection after the model has been updated
             new DelayedSelectionUpdater();
             fireTableDataChanged();
@@ -1280,7 +1440,35 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         public DetailsTableRowSorter() {
             SorterModelWrapper modelWrapper = new SorterModelWrapper();
             setModelWrapper(modelWrapper);
-            modelWrapper.getModel().addTableModelListener(e -> modelStructureChanged());
+            modelWrapper.getModel().addTableModelListener(e -> {
+                /*
+                 * The details table forwards changes to its row sorter itself. Only update if no table is
+                 * attached to keep the sort keys and to avoid resorting all rows on every change.
+                 */
+                if (detailsTable == null || detailsTable.getRowSorter() != this) {
+                    forwardModelChange(e);
+                }
+            });
+        }
+
+        /*
+         * Mirrors the way JTable notifies its row sorter, so streamed in chunks are only inserted into the
+         * existing sort order instead of rebuilding it.
+         */
+        private void forwardModelChange(final TableModelEvent e) {
+            int firstRow = e.getFirstRow();
+            int lastRow = e.getLastRow();
+            if (firstRow == TableModelEvent.HEADER_ROW) {
+                modelStructureChanged();
+            } else if (e.getType() == TableModelEvent.INSERT) {
+                rowsInserted(firstRow, lastRow);
+            } else if (e.getType() == TableModelEvent.DELETE) {
+                rowsDeleted(firstRow, lastRow);
+            } else if (lastRow == Integer.MAX_VALUE) {
+                allRowsChanged();
+            } else {
+                rowsUpdated(firstRow, lastRow);
+            }
         }
 
         public void updateComparators(final ShellFolderColumnInfo[] columns) {
@@ -1329,6 +1517,42 @@ public abstract class DarkFilePaneUIBridge extends JPanel implements PropertyCha
         }
     }
 
+    /** Row filter which only includes files whose name starts with the given prefix. */
+    protected class NameFilter extends RowFilter<TableModel, Integer> {
+        protected final String prefix;
+        protected Set<File> matches;
+
+        public NameFilter(final String prefix) {
+            this.prefix = prefix;
+        }
+
+        protected Set<File> getMatches() {
+            if (matches == null) {
+                matches = Collections.newSetFromMap(new IdentityHashMap<>());
+                matches.addAll(getFileNameIndex().getMatches(prefix));
+            }
+            return matches;
+        }
+
+        public void addMatches(final List<File> files) {
+            if (matches == null) return;
+            for (File file : files) {
+                if (fileNameIndex.matches(file, prefix)) {
+                    matches.add(file);
+                }
+            }
+        }
+
+        public void invalidate() {
+            matches = null;
+        }
+
+        @Override
+        public boolean include(final Entry<? extends TableModel, ? extends Integer> entry) {
+            return getMatches().contains(getModel().getElementAt(entry.getIdentifier()));
+        }
+    }
+
     /**
      * This class sorts directories before files, comparing directory to directory and file to file
      * using the wrapped comparator.
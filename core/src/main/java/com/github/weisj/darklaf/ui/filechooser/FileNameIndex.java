@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.filechooser;
+
+import java.io.File;
+import java.util.*;
+import java.util.function.Function;
+
+import javax.swing.*;
+
+/**
+ * Prefix index over the lower-cased display names of the files in a directory model. The index is
+ * a pair of parallel arrays sorted by name. Newly loaded entries are merged in, so the index can be
+ * maintained incrementally while a directory is loading.
+ */
+public class FileNameIndex {
+
+    private static final String[] EMPTY_KEYS = new String[0];
+    private static final File[] EMPTY_FILES = new File[0];
+
+    protected final Function<File, String> nameFunction;
+    protected String[] keys = EMPTY_KEYS;
+    protected File[] files = EMPTY_FILES;
+    protected int size;
+    protected boolean valid = true;
+
+    public FileNameIndex(final Function<File, String> nameFunction) {
+        this.nameFunction = nameFunction;
+    }
+
+    /**
+     * Normalizes the given prefix the same way the names of the files are normalized.
+     *
+     * @param prefix the prefix.
+     * @return the normalized prefix.
+     */
+    public static String normalize(final String prefix) {
+        return prefix.toLowerCase();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        keys = EMPTY_KEYS;
+        files = EMPTY_FILES;
+        size = 0;
+        valid = true;
+    }
+
+    /** Marks the index as outdated. It will be rebuilt when it is queried the next time. */
+    public void invalidate() {
+        valid = false;
+    }
+
+    public boolean isValid() {
+        return valid;
+    }
+
+    /**
+     * Rebuilds the index if it has been invalidated.
+     *
+     * @param model the model containing all indexed files.
+     */
+    public void ensureValid(final ListModel<?> model) {
+        if (valid) return;
+        clear();
+        List<File> all = new ArrayList<>(model.getSize());
+        for (int i = 0; i < model.getSize(); i++) {
+            all.add((File) model.getElementAt(i));
+        }
+        addAll(all);
+    }
+
+    /**
+     * Adds the given files to the index. The files are sorted and merged with the existing entries.
+     * If the index is currently invalid this is a no-op.
+     *
+     * @param added the files to add.
+     */
+    public void addAll(final List<File> added) {
+        if (!valid || added.isEmpty()) return;
+        int count = added.size();
+        Integer[] order = new Integer[count];
+        String[] addedKeys = new String[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            addedKeys[i] = createKey(added.get(i));
+        }
+        Arrays.sort(order, (a, b) -> addedKeys[a].compareTo(addedKeys[b]));
+
+        String[] newKeys = new String[size + count];
+        File[] newFiles = new File[size + count];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < size && j < count) {
+            int index = order[j];
+            if (keys[i].compareTo(addedKeys[index]) <= 0) {
+                newKeys[k] = keys[i];
+                newFiles[k++] = files[i++];
+            } else {
+                newKeys[k] = addedKeys[index];
+                newFiles[k++] = added.get(index);
+                j++;
+            }
+        }
+        while (i < size) {
+            newKeys[k] = keys[i];
+            newFiles[k++] = files[i++];
+        }
+        while (j < count) {
+            int index = order[j++];
+            newKeys[k] = addedKeys[index];
+            newFiles[k++] = added.get(index);
+        }
+        keys = newKeys;
+        files = newFiles;
+        size = k;
+    }
+
+    /**
+     * Returns all files whose name starts with the given normalized prefix. The files are ordered by
+     * name. The returned list is a view of the current state of the index and is only valid until the
+     * index is modified.
+     *
+     * @param prefix the normalized prefix.
+     * @return the matching files.
+     * @see #normalize(String)
+     */
+    public List<File> getMatches(final String prefix) {
+        int start = lowerBound(prefix);
+        int end = lowerBound(prefix + Character.MAX_VALUE);
+        return Collections.unmodifiableList(Arrays.asList(files).subList(start, Math.max(start, end)));
+    }
+
+    /**
+     * Returns whether the name of the given file starts with the normalized prefix.
+     *
+     * @param file the file.
+     * @param prefix the normalized prefix.
+     * @return true if the file matches.
+     * @see #normalize(String)
+     */
+    public boolean matches(final File file, final String prefix) {
+        return createKey(file).startsWith(prefix);
+    }
+
+    protected String createKey(final File file) {
+        String name = nameFunction.apply(file);
+        return normalize(name != null ? name : file.getName());
+    }
+
+    protected int lowerBound(final String key) {
+        int low = 0;
+        int high = size;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
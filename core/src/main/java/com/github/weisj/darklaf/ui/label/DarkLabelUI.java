@@ -34,6 +34,7 @@ import sun.swing.SwingUtilities2;
 import com.github.weisj.darklaf.graphics.GraphicsContext;
 import com.github.weisj.darklaf.graphics.StringPainter;
 import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.GeometryScratch;
 import com.github.weisj.darklaf.util.PropertyKey;
 
 /** @author Jannis Weis */
@@ -45,6 +46,8 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
 
     protected final Rectangle paintIconR = new Rectangle();
     protected final Rectangle paintTextR = new Rectangle();
+    protected final Rectangle paintViewR = new Rectangle();
+    protected final Insets paintInsets = new Insets(0, 0, 0, 0);
 
     public DarkLabelUI() {
         installUI(null);
@@ -67,6 +70,38 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
         inactiveForeground = UIManager.getColor("Label.inactiveForeground");
     }
 
+    /*
+     * Same as BasicLabelUI#getPreferredSize, but the intermediate geometry is taken from the scratch
+     * frame. Labels are measured on every layout of lists, tables and trees using them as renderers.
+     */
+    @Override
+    public Dimension getPreferredSize(final JComponent c) {
+        JLabel label = (JLabel) c;
+        String text = label.getText();
+        Icon icon = label.isEnabled() ? label.getIcon() : label.getDisabledIcon();
+        Font font = label.getFont();
+        try (GeometryScratch scratch = GeometryScratch.open()) {
+            Insets insets = label.getInsets(scratch.insets());
+            int dx = insets.left + insets.right;
+            int dy = insets.top + insets.bottom;
+            if (icon == null && (text == null || font == null)) {
+                return new Dimension(dx, dy);
+            } else if (text == null || (icon != null && font == null)) {
+                return new Dimension(icon.getIconWidth() + dx, icon.getIconHeight() + dy);
+            }
+            FontMetrics fm = label.getFontMetrics(font);
+            Rectangle iconR = scratch.rectangle();
+            Rectangle textR = scratch.rectangle();
+            Rectangle viewR = scratch.rectangle(dx, dy, Short.MAX_VALUE, Short.MAX_VALUE);
+            layoutCL(label, fm, text, icon, viewR, iconR, textR);
+            int x1 = Math.min(iconR.x, textR.x);
+            int x2 = Math.max(iconR.x + iconR.width, textR.x + textR.width);
+            int y1 = Math.min(iconR.y, textR.y);
+            int y2 = Math.max(iconR.y + iconR.height, textR.y + textR.height);
+            return new Dimension(x2 - x1 + dx, y2 - y1 + dy);
+        }
+    }
+
     @Override
     public void paint(final Graphics g, final JComponent c) {
         GraphicsContext config = new GraphicsContext(g);
@@ -77,6 +112,7 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
         paintBackground(g, c);
 
         if ((icon == null) && (text == null)) {
+            config.restore();
             return;
         }
 
@@ -89,6 +125,7 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
         }
 
         paintText(g, label, fm, clippedText);
+        config.restore();
     }
 
     protected void paintBackground(final Graphics g, final JComponent c) {}
@@ -129,10 +166,9 @@ public class DarkLabelUI extends BasicLabelUI implements PropertyChangeListener
     }
 
     protected String layout(final JLabel label, final FontMetrics fm, final int width, final int height) {
-        Insets insets = label.getInsets(null);
+        Insets insets = label.getInsets(paintInsets);
         String text = label.getText();
         Icon icon = getIcon(label);
-        Rectangle paintViewR = new Rectangle();
         paintViewR.x = insets.left;
         paintViewR.y = insets.top;
         paintViewR.width = width - (insets.left + insets.right);
@@ -35,6 +35,7 @@ import sun.swing.UIAction;
 import com.github.weisj.darklaf.graphics.GraphicsContext;
 import com.github.weisj.darklaf.graphics.GraphicsUtil;
 import com.github.weisj.darklaf.util.DarkUIUtil;
+import com.github.weisj.darklaf.util.GeometryScratch;
 import com.github.weisj.darklaf.util.LazyActionMap;
 import com.github.weisj.darklaf.util.StringUtil;
 
@@ -99,19 +100,22 @@ public class DarkMenuItemUIBase extends BasicMenuItemUI {
         JMenuItem mi = (JMenuItem) c;
         g.setFont(mi.getFont());
 
-        Rectangle viewRect = new Rectangle(0, 0, mi.getWidth(), mi.getHeight());
-        DarkUIUtil.applyInsets(viewRect, mi.getInsets());
-
-        MenuItemLayoutHelper lh = getMenuItemLayoutHelper(checkIcon, arrowIcon, defaultTextIconGap, mi, viewRect);
-        MenuItemLayoutHelper.LayoutResult lr = lh.layoutMenuItem();
-
-        paintBackground(g, mi, background);
-        paintCheckIcon(g, mi, lh, lr, holdc, foreground);
-        paintIcon(g, mi, lh, lr, holdc);
-        g.setColor(foreground);
-        paintText(g, mi, lh, lr);
-        paintAccText(g, mi, lh, lr);
-        paintArrowIcon(g, mi, lh, lr, foreground);
+        // The layout helper keeps a reference to the view rect, so the frame stays open while painting.
+        try (GeometryScratch scratch = GeometryScratch.open()) {
+            Rectangle viewRect = scratch.rectangle(0, 0, mi.getWidth(), mi.getHeight());
+            DarkUIUtil.applyInsets(viewRect, mi.getInsets(scratch.insets()));
+
+            MenuItemLayoutHelper lh = getMenuItemLayoutHelper(checkIcon, arrowIcon, defaultTextIconGap, mi, viewRect);
+            MenuItemLayoutHelper.LayoutResult lr = lh.layoutMenuItem();
+
+            paintBackground(g, mi, background);
+            paintCheckIcon(g, mi, lh, lr, holdc, foreground);
+            paintIcon(g, mi, lh, lr, holdc);
+            g.setColor(foreground);
+            paintText(g, mi, lh, lr);
+            paintAccText(g, mi, lh, lr);
+            paintArrowIcon(g, mi, lh, lr, foreground);
+        }
 
         // Restore original graphics font and color
         g.setColor(holdc);
@@ -250,8 +254,15 @@ public class DarkMenuItemUIBase extends BasicMenuItemUI {
             final int defaultTextIconGap) {
 
         JMenuItem mi = (JMenuItem) c;
-        MenuItemLayoutHelper lh = getMenuItemLayoutHelper(checkIcon, arrowIcon, defaultTextIconGap, mi,
-                MenuItemLayoutHelper.createMaxRect());
+        try (GeometryScratch scratch = GeometryScratch.open()) {
+            Rectangle maxRect = scratch.rectangle(0, 0, Integer.MAX_VALUE, Integer.MAX_VALUE);
+            MenuItemLayoutHelper lh = getMenuItemLayoutHelper(checkIcon, arrowIcon, defaultTextIconGap, mi, maxRect);
+            return getPreferredMenuItemSize(mi, lh, mi.getInsets(scratch.insets()));
+        }
+    }
+
+    protected Dimension getPreferredMenuItemSize(final JMenuItem mi, final MenuItemLayoutHelper lh,
+            final Insets insets) {
         Dimension result = new Dimension();
 
         // Calculate the result width
@@ -270,11 +281,8 @@ public class DarkMenuItemUIBase extends BasicMenuItemUI {
                 lh.getAccSize().getHeight(), lh.getArrowSize().getHeight());
 
         // Take into account menu item insets
-        Insets insets = mi.getInsets();
-        if (insets != null) {
-            result.width += insets.left + insets.right;
-            result.height += insets.top + insets.bottom;
-        }
+        result.width += insets.left + insets.right;
+        result.height += insets.top + insets.bottom;
 
         // if the height is even, bump it up one. This is critical.
         // for the text to center properly
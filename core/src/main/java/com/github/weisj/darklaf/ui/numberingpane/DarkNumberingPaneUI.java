@@ -22,12 +22,15 @@
 package com.github.weisj.darklaf.ui.numberingpane;
 
 import java.awt.*;
+import java.awt.event.ComponentEvent;
+import java.awt.event.ComponentListener;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.awt.event.MouseListener;
 import java.awt.event.MouseMotionListener;
 import java.beans.PropertyChangeEvent;
 import java.beans.PropertyChangeListener;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -35,6 +38,8 @@ import java.util.Map;
 import javax.swing.*;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.plaf.ComponentUI;
 import javax.swing.text.*;
 
@@ -61,6 +66,9 @@ public class DarkNumberingPaneUI extends ComponentUI {
     protected JViewport viewport;
     protected int maxIconWidth = 0;
     protected Color oldBackground;
+    protected final LineGeometryCache lineCache = new LineGeometryCache();
+    private final Rectangle lineRect = new Rectangle();
+    private char[] numberBuffer = new char[0];
 
     public static ComponentUI createUI(final JComponent c) {
         return new DarkNumberingPaneUI();
@@ -118,6 +126,8 @@ public class DarkNumberingPaneUI extends ComponentUI {
             textComponent.getCaret().removeChangeListener(getChangeListener());
             textComponent.getCaret().removeChangeListener(currentLinePainter);
             textComponent.removePropertyChangeListener(getPropertyChangeListener());
+            textComponent.removeComponentListener(getComponentListener());
+            textComponent.getDocument().removeDocumentListener(getDocumentListener());
         }
         numberingPane.removePropertyChangeListener(getPropertyChangeListener());
         numberingPane.removeMouseListener(getMouseListener());
@@ -128,6 +138,14 @@ public class DarkNumberingPaneUI extends ComponentUI {
         return getHandler();
     }
 
+    protected DocumentListener getDocumentListener() {
+        return getHandler();
+    }
+
+    protected ComponentListener getComponentListener() {
+        return getHandler();
+    }
+
     protected Handler getHandler() {
         if (handler == null) {
             handler = new Handler();
@@ -147,6 +165,15 @@ public class DarkNumberingPaneUI extends ComponentUI {
 
         Document doc = textComponent.getDocument();
         Rectangle viewRect = viewport.getViewRect();
+        Rectangle clip = g.getClipBounds();
+        if (clip != null) {
+            // The numbering pane has the same vertical coordinates as the text component.
+            int top = Math.max(viewRect.y, clip.y);
+            int bottom = Math.min(viewRect.y + viewRect.height, clip.y + clip.height);
+            if (bottom < top) return;
+            viewRect.y = top;
+            viewRect.height = bottom - top;
+        }
         Point p = viewRect.getLocation();
         int startIndex = textComponent.viewToModel(p);
         p.y += viewRect.height;
@@ -196,14 +223,12 @@ public class DarkNumberingPaneUI extends ComponentUI {
             }
         }
         int digits = String.valueOf(root.getElementCount()).length();
+        if (numberBuffer.length != digits) numberBuffer = new char[digits];
         for (int i = startLine; i <= endLine; i++) {
-            int off = root.getElement(i).getStartOffset();
-            try {
-                Rectangle lineRect = textComponent.modelToView(off);
-                g.setColor(lineRect.y == yCur ? foregroundHighlight : numberingPane.getForeground());
-                g.drawString(String.format("%1$" + digits + "d", i), OUTER_PAD, lineRect.y + lineRect.height - descent);
-            } catch (BadLocationException ignored) {
-            }
+            if (!lineCache.getLineBounds(textComponent, root, i, lineRect)) continue;
+            g.setColor(lineRect.y == yCur ? foregroundHighlight : numberingPane.getForeground());
+            formatLineNumber(i, numberBuffer);
+            g.drawChars(numberBuffer, 0, digits, OUTER_PAD, lineRect.y + lineRect.height - descent);
         }
         config.restore();
     }
@@ -212,18 +237,29 @@ public class DarkNumberingPaneUI extends ComponentUI {
         List<Map.Entry<Position, Icon>> icons = numberingPane
                 .getIconsInRange(root.getElement(startLine).getStartOffset(), root.getElement(endLine).getEndOffset());
         for (Map.Entry<Position, Icon> icon : icons) {
-            Rectangle lineRect;
-            try {
-                lineRect = textComponent.modelToView(icon.getKey().getOffset());
-                int h = icon.getValue().getIconHeight();
-                int x = OUTER_PAD + PAD + textWidth;
-                int y = lineRect.y + lineRect.height / 2 - h / 2;
-                icon.getValue().paintIcon(numberingPane, g, x, y);
-            } catch (BadLocationException ignored) {
-            }
+            int line = root.getElementIndex(icon.getKey().getOffset());
+            if (!lineCache.getLineBounds(textComponent, root, line, lineRect)) continue;
+            int h = icon.getValue().getIconHeight();
+            int x = OUTER_PAD + PAD + textWidth;
+            int y = lineRect.y + lineRect.height / 2 - h / 2;
+            icon.getValue().paintIcon(numberingPane, g, x, y);
         }
     }
 
+    /*
+     * Writes the line number right aligned into the buffer. Equivalent to String.format("%nd", line)
+     * but without allocating.
+     */
+    protected static void formatLineNumber(final int line, final char[] buffer) {
+        int value = line;
+        int i = buffer.length - 1;
+        do {
+            buffer[i--] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0 && i >= 0);
+        if (i >= 0) Arrays.fill(buffer, 0, i + 1, ' ');
+    }
+
     protected int calculateMaxIconWidth() {
         Collection<Icon> icons = numberingPane.getIcons();
         int max = numberingPane.getMinimumIconWidth();
@@ -242,7 +278,8 @@ public class DarkNumberingPaneUI extends ComponentUI {
         }
     }
 
-    protected class Handler extends MouseAdapter implements PropertyChangeListener, ChangeListener {
+    protected class Handler extends MouseAdapter
+            implements PropertyChangeListener, ChangeListener, DocumentListener, ComponentListener {
 
         protected int selectionLineStart;
         protected int selectionLineEnd;
@@ -262,9 +299,7 @@ public class DarkNumberingPaneUI extends ComponentUI {
                 List<Map.Entry<Position, Icon>> icons = numberingPane.getIconsInRange(startOffset, endOffset);
                 if (!icons.isEmpty()) {
                     Icon icon = icons.get(0).getValue();
-                    Rectangle lineRect;
-                    try {
-                        lineRect = textComponent.modelToView(start).getBounds();
+                    if (lineCache.getLineBounds(textComponent, doc.getDefaultRootElement(), start, lineRect)) {
                         int h = icon.getIconHeight();
                         int x = OUTER_PAD + PAD + textWidth;
                         int y = lineRect.y + lineRect.height / 2 - h / 2;
@@ -274,7 +309,6 @@ public class DarkNumberingPaneUI extends ComponentUI {
                                 listener.iconClicked(e);
                             }
                         }
-                    } catch (BadLocationException ignored) {
                     }
                 }
                 IndexListener[] list = numberingPane.getIndexListeners();
@@ -325,6 +359,40 @@ public class DarkNumberingPaneUI extends ComponentUI {
             numberingPane.repaint();
         }
 
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            invalidateLines(e);
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            invalidateLines(e);
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            invalidateLines(e);
+        }
+
+        protected void invalidateLines(final DocumentEvent e) {
+            Element root = e.getDocument().getDefaultRootElement();
+            lineCache.invalidateFrom(root.getElementIndex(e.getOffset()));
+        }
+
+        @Override
+        public void componentResized(final ComponentEvent e) {
+            lineCache.invalidate();
+        }
+
+        @Override
+        public void componentMoved(final ComponentEvent e) {}
+
+        @Override
+        public void componentShown(final ComponentEvent e) {}
+
+        @Override
+        public void componentHidden(final ComponentEvent e) {}
+
         @Override
         public void propertyChange(final PropertyChangeEvent evt) {
             String key = evt.getPropertyName();
@@ -342,6 +410,7 @@ public class DarkNumberingPaneUI extends ComponentUI {
                     }
                 }
             } else if (PropertyKey.FONT.equals(key)) {
+                if (evt.getSource() == textComponent) lineCache.invalidate();
                 Font font = textComponent.getFont();
                 numberingPane.setFont(font.deriveFont(Math.max(font.getSize() - 1, 1.0f)));
             } else if (NumberingPane.KEY_EDITOR.equals(key)) {
@@ -353,7 +422,10 @@ public class DarkNumberingPaneUI extends ComponentUI {
                     textComponent.getCaret().removeChangeListener(getChangeListener());
                     textComponent.getCaret().removeChangeListener(currentLinePainter);
                     textComponent.removePropertyChangeListener(getPropertyChangeListener());
+                    textComponent.removeComponentListener(getComponentListener());
+                    textComponent.getDocument().removeDocumentListener(getDocumentListener());
                 }
+                lineCache.invalidate();
                 if (newPane instanceof JTextComponent) {
                     textComponent = (JTextComponent) newPane;
                     try {
@@ -364,6 +436,8 @@ public class DarkNumberingPaneUI extends ComponentUI {
                     }
                     textComponent.addPropertyChangeListener(getPropertyChangeListener());
                     textComponent.getCaret().addChangeListener(getChangeListener());
+                    textComponent.addComponentListener(getComponentListener());
+                    textComponent.getDocument().addDocumentListener(getDocumentListener());
                     Font font = textComponent.getFont();
                     numberingPane.setFont(font.deriveFont(Math.max(font.getSize() - 1, 1.0f)));
                     oldBackground = textComponent.getBackground();
@@ -378,6 +452,18 @@ public class DarkNumberingPaneUI extends ComponentUI {
                 if (newVal instanceof Icon) {
                     maxIconWidth = Math.max(maxIconWidth, ((Icon) newVal).getIconWidth());
                 }
+            } else if (PropertyKey.DOCUMENT.equals(key)) {
+                Object oldDoc = evt.getOldValue();
+                Object newDoc = evt.getNewValue();
+                if (oldDoc instanceof Document) {
+                    ((Document) oldDoc).removeDocumentListener(getDocumentListener());
+                }
+                if (newDoc instanceof Document) {
+                    ((Document) newDoc).addDocumentListener(getDocumentListener());
+                }
+                lineCache.invalidate();
+            } else if (PropertyKey.UI.equals(key)) {
+                if (evt.getSource() == textComponent) lineCache.invalidate();
             } else if (PropertyKey.ANCESTOR.equals(key)) {
                 if (evt.getSource() == numberingPane) {
                     updateViewport((Component) evt.getNewValue());
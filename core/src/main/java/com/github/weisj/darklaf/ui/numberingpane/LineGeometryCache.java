@@ -0,0 +1,93 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.numberingpane;
+
+import java.awt.*;
+import java.util.Arrays;
+
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Element;
+import javax.swing.text.JTextComponent;
+
+/**
+ * Caches the vertical position and height of the first row of every line of a text component. Entries
+ * are measured lazily, so only lines which actually have been painted are ever queried from the
+ * view hierarchy.
+ */
+public class LineGeometryCache {
+
+    private static final int UNKNOWN = Integer.MIN_VALUE;
+
+    private int[] y = new int[0];
+    private int[] height = new int[0];
+
+    /** Invalidates all lines. */
+    public void invalidate() {
+        invalidateFrom(0);
+    }
+
+    /**
+     * Invalidates the given line and all lines after it.
+     *
+     * @param line the first invalid line.
+     */
+    public void invalidateFrom(final int line) {
+        int start = Math.max(line, 0);
+        if (start < y.length) Arrays.fill(y, start, y.length, UNKNOWN);
+    }
+
+    /**
+     * Get the bounds of the first row of the given line.
+     *
+     * @param textComponent the text component.
+     * @param root the root element of the document.
+     * @param line the line index.
+     * @param dest the rectangle to store the bounds in. Only y and height are set.
+     * @return true if the bounds could be determined.
+     */
+    public boolean getLineBounds(final JTextComponent textComponent, final Element root, final int line,
+            final Rectangle dest) {
+        ensureCapacity(root.getElementCount());
+        if (line < 0 || line >= y.length) return false;
+        if (y[line] == UNKNOWN) {
+            try {
+                Rectangle r = textComponent.modelToView(root.getElement(line).getStartOffset());
+                if (r == null) return false;
+                y[line] = r.y;
+                height[line] = r.height;
+            } catch (BadLocationException e) {
+                return false;
+            }
+        }
+        dest.y = y[line];
+        dest.height = height[line];
+        return true;
+    }
+
+    private void ensureCapacity(final int lineCount) {
+        if (lineCount == y.length) return;
+        int oldLength = y.length;
+        y = Arrays.copyOf(y, lineCount);
+        height = Arrays.copyOf(height, lineCount);
+        if (lineCount > oldLength) Arrays.fill(y, oldLength, lineCount, UNKNOWN);
+    }
+}
@@ -43,6 +43,7 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
     protected final TabButtonContainer newTabButton;
     protected final Timer timer;
     protected long lastClickEvent;
+    protected boolean popupDirty;
     private final DarkTabbedPaneUI ui;
 
     public DarkScrollableTabSupport(final DarkTabbedPaneUI ui, final int tabPlacement) {
@@ -99,6 +100,7 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
         } else {
             if (!ui.tabPane.isEnabled()) return;
             if (lastClickEvent == 0 || (System.currentTimeMillis() - lastClickEvent) > 250) {
+                if (popupDirty) updatePopupMenu();
                 Dimension pref = scrollPopupMenu.getPreferredSize();
                 boolean leftToRight = ui.tabPane.getComponentOrientation().isLeftToRight();
                 switch (ui.tabPane.getTabPlacement()) {
@@ -138,25 +140,18 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
         if (!ui.tabPane.isEnabled() || ui.tabPane.getTabCount() == 0) return;
         int scrollAmount = -1 * e.getUnitsToScroll() * e.getScrollAmount();
         int scrolled;
-        int scrollX = 0;
-        int scrollY = 0;
         if (!ui.isHorizontalTabPlacement()) {
             if (!moreTabsButton.isVisible()) return;
             timer.stop();
             scrolled = scroll(scrollAmount, false);
-            scrollY = scrolled;
         } else {
             if (!moreTabsButton.isVisible()) return;
             timer.stop();
             scrolled = scroll(scrollAmount, true);
-            scrollX = scrolled;
         }
         if (scrolled != 0) {
-            for (int i = 0; i < ui.tabPane.getTabCount(); i++) {
-                Component c = ui.tabPane.getTabComponentAt(i);
-                if (c == null) continue;
-                c.setLocation(c.getX() + scrollX, c.getY() + scrollY);
-            }
+            // Tab components scrolled into view may have to be attached again.
+            ui.scrollLayout.layoutTabComponents();
             showMoreTabsButton();
             updateRollover();
             viewport.repaint();
@@ -208,10 +203,18 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
 
     public void showMoreTabsButton() {
         moreTabsButton.setVisible(true);
-        scrollPopupMenu.removeAll();
         if (ui.maxVisible < 0 || ui.minVisible >= ui.tabPane.getTabCount()) {
             ui.scrollLayout.updateVisibleRange(ui.tabPane.getTabPlacement());
         }
+        // The menu items are only created once the popup is about to be shown.
+        popupDirty = true;
+        if (scrollPopupMenu.isVisible()) updatePopupMenu();
+        moreTabsButton.repaint();
+    }
+
+    protected void updatePopupMenu() {
+        popupDirty = false;
+        scrollPopupMenu.removeAll();
         if (ui.minVisible != ui.tabPane.getTabCount() && ui.maxVisible >= 0) {
             for (int i = 0; i < ui.minVisible; i++) {
                 scrollPopupMenu.add(createMenuItem(i));
@@ -220,7 +223,6 @@ public class DarkScrollableTabSupport extends ScrollableTabSupport implements Mo
         for (int i = ui.maxVisible + 1; i < ui.tabPane.getTabCount(); i++) {
             scrollPopupMenu.add(createMenuItem(i));
         }
-        moreTabsButton.repaint();
     }
 
     protected JMenuItem createMenuItem(final int i) {
@@ -653,12 +653,26 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
         if (scrollableTabLayoutEnabled()) {
             translatePointToTabPanel(0, 0, delta);
         }
+        Rectangle area = getTabComponentArea();
+        Component focusOwner = KeyboardFocusManager.getCurrentKeyboardFocusManager().getFocusOwner();
         for (int i = 0; i < tabPane.getTabCount(); i++) {
             Component c = tabPane.getTabComponentAt(i);
             if (c == null) {
                 continue;
             }
             getTabBounds(i, rect);
+            if (area != null && i != dropSourceIndex && !rect.intersects(area)
+                    && (focusOwner == null || !SwingUtilities.isDescendingFrom(focusOwner, c))) {
+                if (c.getParent() == tabContainer) tabContainer.detachTabComponent(c);
+                continue;
+            }
+            boolean attached = area != null && c.getParent() == null;
+            if (attached) {
+                // Changes of the orientation of the tabbed pane didn't reach the detached component.
+                ComponentOrientation orientation = tabPane.getComponentOrientation();
+                if (c.getComponentOrientation() != orientation) c.applyComponentOrientation(orientation);
+                tabContainer.add(c);
+            }
             c.setEnabled(tabPane.isEnabledAt(i));
 
             // Adjust dragged component position.
@@ -695,9 +709,28 @@ public class DarkTabbedPaneUI extends DarkTabbedPaneUIBridge {
 
             c.setBounds(x + getTabLabelShiftX(tabPlacement, i, isSeleceted),
                     y + getTabLabelShiftY(tabPlacement, i, isSeleceted), width, height);
+            if (attached) c.validate();
         }
     }
 
+    /**
+     * Returns the area in which tab components are kept in the component hierarchy. The tab
+     * components of tabs outside of this area are detached from the tab container and attached again
+     * once they are scrolled into the area. On reattachment the orientation of the tabbed pane is
+     * applied to the component. Installing a new ui attaches all tab components, hence a refresh of the
+     * component tree also reaches the detached components.
+     *
+     * @return the area in the coordinates of the tabbed pane or null if all tab components should stay
+     *         attached.
+     */
+    protected Rectangle getTabComponentArea() {
+        if (!scrollableTabLayoutEnabled()) return null;
+        Rectangle area = scrollableTabSupport.viewport.getBounds();
+        if (area.isEmpty()) return null;
+        area.grow(area.width / 2, area.height / 2);
+        return area;
+    }
+
     @Override
     protected void paintText(final Graphics g, final int tabPlacement, final Font font, final FontMetrics metrics,
             final int tabIndex, final String title, final Rectangle textRect, final boolean isSelected) {
@@ -27,7 +27,9 @@ import java.awt.event.FocusListener;
 import java.awt.event.InputEvent;
 import java.awt.event.MouseListener;
 import java.beans.PropertyChangeListener;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Vector;
 
@@ -192,6 +194,14 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
     // UI Installation/De-installation
     protected int baseline;
 
+    /**
+     * The measured widths of plain text titles for {@link #titleWidthMetrics}. Adding, removing or
+     * retitling a tab only requires the affected titles to be measured.
+     */
+    protected final Map<String, Integer> titleWidthCache = new HashMap<>();
+    /** The font metrics the cached title widths have been measured with. */
+    protected FontMetrics titleWidthMetrics;
+
     /**
      * Load action map.
      *
@@ -281,6 +291,8 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
         selectedTabPadInsets = null;
         tabAreaInsets = null;
         contentBorderInsets = null;
+        titleWidthCache.clear();
+        titleWidthMetrics = null;
     }
 
     /**
@@ -1379,13 +1391,35 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
                 width += (int) v.getPreferredSpan(View.X_AXIS);
             } else {
                 // plain text
-                String title = tabPane.getTitleAt(tabIndex);
-                width += SwingUtilities2.stringWidth(tabPane, metrics, title);
+                width += getTitleWidth(metrics, tabPane.getTitleAt(tabIndex));
             }
         }
         return width;
     }
 
+    /**
+     * Returns the width of a plain text title. Widths are cached until the font metrics change.
+     *
+     * @param metrics the font metrics
+     * @param title the title
+     * @return the width of the title
+     */
+    protected int getTitleWidth(final FontMetrics metrics, final String title) {
+        if (title == null) return 0;
+        if (!metrics.equals(titleWidthMetrics)) {
+            titleWidthCache.clear();
+            titleWidthMetrics = metrics;
+        }
+        Integer width = titleWidthCache.get(title);
+        if (width == null) {
+            // Titles of removed tabs are never evicted individually.
+            if (titleWidthCache.size() > 2 * tabPane.getTabCount() + 16) titleWidthCache.clear();
+            width = SwingUtilities2.stringWidth(tabPane, metrics, title);
+            titleWidthCache.put(title, width);
+        }
+        return width;
+    }
+
     /**
      * Returns the tab insets.
      *
@@ -2133,6 +2167,15 @@ public abstract class DarkTabbedPaneUIBridge extends TabbedPaneUI implements Swi
             }
         }
 
+        /**
+         * Removes the tab component from the container without removing it from the tabbed pane.
+         *
+         * @param comp the tab component.
+         */
+        protected void detachTabComponent(final Component comp) {
+            super.remove(comp);
+        }
+
         /** Remove unused tab components. */
         protected void removeUnusedTabComponents() {
             for (Component c : getComponents()) {
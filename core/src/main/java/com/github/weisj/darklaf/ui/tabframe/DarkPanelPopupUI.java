@@ -228,6 +228,10 @@ public class DarkPanelPopupUI extends DarkPanelUI implements PropertyChangeListe
             }
         } else if (TabFramePopup.KEY_CONTENT.equals(key)) {
             if (content == null) return;
+            Object oldContent = evt.getOldValue();
+            if (oldContent instanceof Component && ((Component) oldContent).getParent() == content) {
+                content.remove((Component) oldContent);
+            }
             content.add((Component) evt.getNewValue(), BorderLayout.CENTER);
             content.invalidate();
         } else if (TabFramePopup.KEY_TITLE.equals(key)) {
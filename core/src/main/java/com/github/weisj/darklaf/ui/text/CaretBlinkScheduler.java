@@ -0,0 +1,230 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.ui.text;
+
+import java.awt.*;
+import java.awt.event.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.swing.*;
+
+/**
+ * Single timer driving the blinking of all {@link DarkCaret}s. Blink phases are aligned to a common
+ * grid, so carets with the same blink rate are toggled by the same timer event. Carets whose window
+ * is not focused or iconified are kept solid and are not repainted until their window gains focus or
+ * their component is shown again. Focus is used instead of activation, as windows such as
+ * {@link JWindow}s and heavyweight popups are never active. If no caret is blinking the timer is
+ * stopped.
+ *
+ * <p>
+ * The scheduler also counts the repaints caused by carets, which can be queried through
+ * {@link #getRepaintsPerSecond()}.
+ */
+public final class CaretBlinkScheduler implements ActionListener {
+
+    private static CaretBlinkScheduler instance;
+
+    private final Timer timer;
+    private final List<DarkCaret> carets = new ArrayList<>();
+    private final Map<DarkCaret, Component> pausedCarets = new LinkedHashMap<>();
+    private final Set<Window> watchedWindows = new HashSet<>();
+    private final Handler handler = new Handler();
+
+    private long countStart;
+    private int count;
+    private int repaintsPerSecond;
+
+    private CaretBlinkScheduler() {
+        timer = new Timer(0, this);
+        timer.setRepeats(false);
+    }
+
+    public static CaretBlinkScheduler getInstance() {
+        if (instance == null) instance = new CaretBlinkScheduler();
+        return instance;
+    }
+
+    /**
+     * Returns the number of repaints caused by carets in the last full second.
+     *
+     * @return the repaints per second.
+     */
+    public int getRepaintsPerSecond() {
+        updateCount(System.currentTimeMillis());
+        return repaintsPerSecond;
+    }
+
+    void countRepaint() {
+        updateCount(System.currentTimeMillis());
+        count++;
+    }
+
+    private void updateCount(final long now) {
+        long elapsed = now - countStart;
+        if (elapsed >= 1000) {
+            repaintsPerSecond = elapsed < 2000 ? count : 0;
+            count = 0;
+            countStart = now - elapsed % 1000;
+        }
+    }
+
+    void register(final DarkCaret caret) {
+        if (!carets.contains(caret)) {
+            carets.add(caret);
+        }
+        restart(caret);
+    }
+
+    void unregister(final DarkCaret caret) {
+        resume(caret);
+        if (carets.remove(caret) && carets.isEmpty()) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Delays the next blink of the caret by at least one blink period.
+     *
+     * @param caret the caret.
+     */
+    void restart(final DarkCaret caret) {
+        if (!carets.contains(caret)) return;
+        resume(caret);
+        int rate = caret.getBlinkRate();
+        caret.nextBlink = rate > 0 ? nextBlinkTime(System.currentTimeMillis(), rate) + rate : Long.MAX_VALUE;
+        schedule();
+    }
+
+    @Override
+    public void actionPerformed(final ActionEvent e) {
+        long now = System.currentTimeMillis();
+        for (DarkCaret caret : carets.toArray(new DarkCaret[0])) {
+            if (now < caret.nextBlink) continue;
+            if (isPaused(caret.getBlinkTarget())) {
+                pause(caret);
+                continue;
+            }
+            caret.setBlinkVisible(!caret.isBlinkVisible());
+            int rate = caret.getBlinkRate();
+            caret.nextBlink = rate > 0 ? nextBlinkTime(now, rate) : Long.MAX_VALUE;
+        }
+        schedule();
+    }
+
+    private void schedule() {
+        if (carets.isEmpty()) {
+            timer.stop();
+            return;
+        }
+        long next = Long.MAX_VALUE;
+        for (DarkCaret caret : carets) {
+            next = Math.min(next, caret.nextBlink);
+        }
+        if (next == Long.MAX_VALUE) {
+            timer.stop();
+            return;
+        }
+        int delay = (int) Math.max(0, next - System.currentTimeMillis());
+        timer.setInitialDelay(delay);
+        timer.restart();
+    }
+
+    /*
+     * Keeps the caret solid and stops scheduling it until its component may blink again.
+     */
+    private void pause(final DarkCaret caret) {
+        caret.setBlinkVisible(true);
+        caret.nextBlink = Long.MAX_VALUE;
+        Component target = caret.getBlinkTarget();
+        if (target == null) return;
+        if (!pausedCarets.containsKey(caret)) {
+            pausedCarets.put(caret, target);
+            target.addHierarchyListener(handler);
+        }
+        Window window = SwingUtilities.getWindowAncestor(target);
+        if (window != null && watchedWindows.add(window)) {
+            window.addWindowListener(handler);
+            window.addWindowFocusListener(handler);
+        }
+    }
+
+    private void resume(final DarkCaret caret) {
+        Component target = pausedCarets.remove(caret);
+        if (target == null) return;
+        target.removeHierarchyListener(handler);
+        if (pausedCarets.isEmpty()) {
+            for (Window window : watchedWindows) {
+                window.removeWindowListener(handler);
+                window.removeWindowFocusListener(handler);
+            }
+            watchedWindows.clear();
+        }
+    }
+
+    private void resumeUnpaused() {
+        for (DarkCaret caret : pausedCarets.keySet().toArray(new DarkCaret[0])) {
+            if (isPaused(caret.getBlinkTarget())) {
+                // The component may have been moved to another window.
+                pause(caret);
+            } else {
+                restart(caret);
+            }
+        }
+    }
+
+    /*
+     * Returns the first point in time after now which lies on the blink grid of the given rate.
+     */
+    private static long nextBlinkTime(final long now, final int rate) {
+        return (now / rate + 1) * rate;
+    }
+
+    private static boolean isPaused(final Component c) {
+        if (c == null || !c.isShowing()) return true;
+        Window window = SwingUtilities.getWindowAncestor(c);
+        if (window == null || !window.isFocused()) return true;
+        return window instanceof Frame && (((Frame) window).getExtendedState() & Frame.ICONIFIED) != 0;
+    }
+
+    private final class Handler extends WindowAdapter implements HierarchyListener {
+
+        @Override
+        public void windowGainedFocus(final WindowEvent e) {
+            resumeUnpaused();
+        }
+
+        @Override
+        public void windowDeiconified(final WindowEvent e) {
+            resumeUnpaused();
+        }
+
+        @Override
+        public void hierarchyChanged(final HierarchyEvent e) {
+            if ((e.getChangeFlags() & HierarchyEvent.SHOWING_CHANGED) != 0) resumeUnpaused();
+        }
+    }
+}
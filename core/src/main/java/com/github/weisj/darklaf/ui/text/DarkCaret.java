@@ -58,6 +58,11 @@ public class DarkCaret extends DefaultCaret implements UIResource {
     private boolean dotLtr = true;
     private final int[] flagXPoints = new int[3];
     private final int[] flagYPoints = new int[3];
+    private final Rectangle caretBounds = new Rectangle();
+
+    private int blinkRate;
+    private boolean blinkVisible = true;
+    long nextBlink;
 
     public DarkCaret() {
         this(null, null);
@@ -79,7 +84,7 @@ public class DarkCaret extends DefaultCaret implements UIResource {
     public void setInsertMode(final boolean insertMode) {
         if (this.insertMode != insertMode) {
             this.insertMode = insertMode;
-            repaint();
+            updateCaretBounds();
         }
     }
 
@@ -143,7 +148,7 @@ public class DarkCaret extends DefaultCaret implements UIResource {
         }
         if (s != this.style) {
             this.style = s;
-            repaint();
+            updateCaretBounds();
         }
     }
 
@@ -154,7 +159,7 @@ public class DarkCaret extends DefaultCaret implements UIResource {
         }
         if (is != this.insertStyle) {
             this.insertStyle = is;
-            repaint();
+            updateCaretBounds();
         }
     }
 
@@ -179,9 +184,9 @@ public class DarkCaret extends DefaultCaret implements UIResource {
         if (alwaysVisible != this.alwaysVisible) {
             this.alwaysVisible = alwaysVisible;
             if (!isVisible()) {
-                // Force painting of caret since super class's "flasher" timer
-                // won't fire when the window doesn't have focus
-                repaint();
+                // Force painting of caret since the blink scheduler
+                // won't repaint it when the window doesn't have focus
+                repaintCaret();
             }
         }
     }
@@ -298,23 +303,129 @@ public class DarkCaret extends DefaultCaret implements UIResource {
     }
 
     @Override
-    protected synchronized void damage(final Rectangle r) {
+    protected void damage(final Rectangle r) {
         if (r != null) {
             validateWidth(r); // Check for "0" or "1" caret width
-            x = r.x - 1;
-            y = r.y;
-            width = r.width + 4;
-            height = r.height;
-
-            if (isBidiText() && !dotLtr) {
-                x -= FLAG_SIZE;
-                width += FLAG_SIZE;
+            getCaretBounds(r, this);
+            repaintCaret();
+        }
+    }
+
+    /**
+     * Computes the area the caret paints for the given location with the current style.
+     *
+     * @param r the caret location with validated width.
+     * @param dest the rectangle to store the bounds in.
+     * @return the caret bounds.
+     */
+    protected Rectangle getCaretBounds(final Rectangle r, final Rectangle dest) {
+        CaretStyle effectiveStyle = getEffectiveStyle();
+        int left = r.x;
+        int right = effectiveStyle.isCharacterWidth() ? r.x + r.width : r.x + effectiveStyle.getSize();
+        if (!effectiveStyle.isCharacterWidth() && isBidiText()) {
+            if (dotLtr) {
+                right += FLAG_SIZE;
+            } else {
+                left -= FLAG_SIZE;
             }
+        }
+        // One pixel of slack on each side accounts for rounding with fractional scaling.
+        dest.setBounds(left - 1, r.y, right - left + 2, r.height);
+        return dest;
+    }
 
+    private void updateCaretBounds() {
+        JTextComponent c = getComponent();
+        if (c == null) return;
+        repaintCaret();
+        try {
+            damage(c.getUI().modelToView(c, getDot(), getDotBias()));
+        } catch (BadLocationException ignored) {
+        }
+    }
+
+    protected void repaintCaret() {
+        if (getComponent() != null && width > 0 && height > 0) {
+            CaretBlinkScheduler.getInstance().countRepaint();
             repaint();
         }
     }
 
+    @Override
+    public void setBlinkRate(final int rate) {
+        blinkRate = Math.max(rate, 0);
+        // Blinking is done by the shared scheduler instead of a timer per caret.
+        super.setBlinkRate(0);
+        updateBlinking();
+    }
+
+    @Override
+    public int getBlinkRate() {
+        return blinkRate;
+    }
+
+    @Override
+    public void setVisible(final boolean e) {
+        super.setVisible(e);
+        updateBlinking();
+    }
+
+    @Override
+    public void install(final JTextComponent c) {
+        super.install(c);
+        updateBlinking();
+    }
+
+    @Override
+    public void deinstall(final JTextComponent c) {
+        super.deinstall(c);
+        updateBlinking();
+    }
+
+    @Override
+    protected void fireStateChanged() {
+        if (!blinkVisible) {
+            blinkVisible = true;
+            repaintCaret();
+        }
+        CaretBlinkScheduler.getInstance().restart(this);
+        super.fireStateChanged();
+    }
+
+    private void updateBlinking() {
+        if (getComponent() != null && super.isVisible() && blinkRate > 0) {
+            CaretBlinkScheduler.getInstance().register(this);
+        } else {
+            CaretBlinkScheduler.getInstance().unregister(this);
+            blinkVisible = true;
+        }
+    }
+
+    Component getBlinkTarget() {
+        return getComponent();
+    }
+
+    boolean isBlinkVisible() {
+        return blinkVisible;
+    }
+
+    void setBlinkVisible(final boolean visible) {
+        if (blinkVisible == visible) return;
+        blinkVisible = visible;
+        JTextComponent c = getComponent();
+        if ((width == 0 || height == 0) && c != null) {
+            try {
+                Rectangle r = c.getUI().modelToView(c, getDot(), getDotBias());
+                if (r != null && r.width != 0 && r.height != 0) {
+                    validateWidth(r);
+                    getCaretBounds(r, this);
+                }
+            } catch (BadLocationException ignored) {
+            }
+        }
+        repaintCaret();
+    }
+
     @Override
     protected Highlighter.HighlightPainter getSelectionPainter() {
         return getDarkSelectionPainter();
@@ -350,7 +461,7 @@ public class DarkCaret extends DefaultCaret implements UIResource {
 
     @Override
     public boolean isVisible() {
-        return super.isVisible() || isAlwaysVisible();
+        return (super.isVisible() && blinkVisible) || isAlwaysVisible();
     }
 
     @Override
@@ -367,7 +478,7 @@ public class DarkCaret extends DefaultCaret implements UIResource {
             }
             validateWidth(r);
 
-            if (width > 0 && height > 0 && !contains(r.x, r.y, r.width, r.height)) {
+            if (width > 0 && height > 0 && !equals(getCaretBounds(r, caretBounds))) {
                 Rectangle clip = g.getClipBounds();
                 if (clip != null && !clip.contains(this)) {
                     // Clip doesn't contain the old location, force it
@@ -401,9 +512,9 @@ public class DarkCaret extends DefaultCaret implements UIResource {
                     break;
                 case THICK_VERTICAL_LINE_STYLE:
                 case VERTICAL_LINE_STYLE:
-                    g.fillRect(r.x, r.y, style.getSize(), r.height);
+                    g.fillRect(r.x, r.y, getEffectiveStyle().getSize(), r.height);
                     if (isBidiText()) {
-                        flagXPoints[0] = r.x + (dotLtr ? style.getSize() : 0);
+                        flagXPoints[0] = r.x + (dotLtr ? getEffectiveStyle().getSize() : 0);
                         flagYPoints[0] = r.y;
                         flagXPoints[1] = flagXPoints[0];
                         flagYPoints[1] = flagYPoints[0] + FLAG_SIZE;
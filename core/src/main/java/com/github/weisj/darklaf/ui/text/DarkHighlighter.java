@@ -21,7 +21,542 @@
  */
 package com.github.weisj.darklaf.ui.text;
 
+import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
+import java.beans.PropertyChangeEvent;
+import java.beans.PropertyChangeListener;
+import java.util.*;
+import java.util.List;
+
+import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+import javax.swing.plaf.TextUI;
 import javax.swing.plaf.basic.BasicTextUI;
+import javax.swing.text.*;
+
+import com.github.weisj.darklaf.util.PropertyKey;
 
+/**
+ * Highlighter which keeps layered highlights in an interval tree over their document positions.
+ * Views only query the highlights overlapping the range they paint, which keeps painting cheap even
+ * if there are thousands of highlights (e.g. search results). The painted bounds of each highlight
+ * are remembered until the layout of the component changes and are used to repaint the highlight
+ * once it is changed or removed. The shapes of the highlights are still computed by their painters
+ * every time a highlight is painted, as {@link LayeredHighlighter.LayerPainter} offers no way to paint
+ * a previously computed shape.
+ *
+ * <p>
+ * Non layered highlights are painted for the whole component as the painters are free to paint
+ * independently of their offsets.
+ */
 public class DarkHighlighter extends BasicTextUI.BasicHighlighter {
+
+    private static final Highlighter.Highlight[] NO_HIGHLIGHTS = new Highlighter.Highlight[0];
+
+    private final Set<HighlightInfo> highlights = new LinkedHashSet<>();
+    private final List<HighlightInfo> unlayeredHighlights = new ArrayList<>();
+    private final List<HighlightInfo> queryResult = new ArrayList<>();
+    private final Random random = new Random();
+    private final Handler handler = new Handler();
+    private final DamageQueue damageQueue = new DamageQueue();
+    private Highlighter.Highlight[] highlightArray;
+    private LayeredHighlightInfo root;
+    private JTextComponent component;
+    private Document document;
+    private long nextId;
+    private int layoutStamp;
+
+    @Override
+    public void install(final JTextComponent c) {
+        component = c;
+        super.install(c);
+        c.addComponentListener(handler);
+        c.addPropertyChangeListener(handler);
+        setDocument(c.getDocument());
+    }
+
+    @Override
+    public void deinstall(final JTextComponent c) {
+        c.removeComponentListener(handler);
+        c.removePropertyChangeListener(handler);
+        setDocument(null);
+        super.deinstall(c);
+        component = null;
+    }
+
+    private void setDocument(final Document doc) {
+        if (document != null) document.removeDocumentListener(handler);
+        document = doc;
+        if (document != null) document.addDocumentListener(handler);
+        invalidateLayout();
+    }
+
+    /**
+     * Invalidates the painted bounds of all highlights. This is done automatically if the document or
+     * size of the component changes.
+     */
+    public void invalidateLayout() {
+        layoutStamp++;
+    }
+
+    @Override
+    public void paint(final Graphics g) {
+        if (unlayeredHighlights.isEmpty()) return;
+        Rectangle a = component.getBounds();
+        Insets insets = component.getInsets();
+        a.x = insets.left;
+        a.y = insets.top;
+        a.width -= insets.left + insets.right;
+        a.height -= insets.top + insets.bottom;
+        for (HighlightInfo info : unlayeredHighlights) {
+            info.getPainter().paint(g, info.getStartOffset(), info.getEndOffset(), a, component);
+        }
+    }
+
+    @Override
+    public Object addHighlight(final int p0, final int p1, final Highlighter.HighlightPainter p)
+            throws BadLocationException {
+        if (p0 < 0) {
+            throw new BadLocationException("Invalid start offset", p0);
+        }
+        if (p1 < p0) {
+            throw new BadLocationException("Invalid end offset", p1);
+        }
+        Document doc = component.getDocument();
+        HighlightInfo info;
+        if (getDrawsLayeredHighlights() && p instanceof LayeredHighlighter.LayerPainter) {
+            LayeredHighlightInfo lhi = new LayeredHighlightInfo(p, nextId++, random.nextInt());
+            lhi.p0 = doc.createPosition(p0);
+            lhi.p1 = doc.createPosition(p1);
+            insert(lhi);
+            info = lhi;
+        } else {
+            info = new HighlightInfo(p, nextId++);
+            info.p0 = doc.createPosition(p0);
+            info.p1 = doc.createPosition(p1);
+            unlayeredHighlights.add(info);
+        }
+        highlights.add(info);
+        highlightArray = null;
+        damageQueue.damageRange(info.p0, info.p1);
+        return info;
+    }
+
+    @Override
+    public void removeHighlight(final Object tag) {
+        if (!(tag instanceof HighlightInfo) || !highlights.remove(tag)) return;
+        highlightArray = null;
+        if (tag instanceof LayeredHighlightInfo) {
+            LayeredHighlightInfo lhi = (LayeredHighlightInfo) tag;
+            repaintHighlight(lhi);
+            delete(lhi);
+        } else {
+            HighlightInfo info = (HighlightInfo) tag;
+            damageQueue.damageRange(info.p0, info.p1);
+            unlayeredHighlights.remove(info);
+        }
+    }
+
+    @Override
+    public void removeAllHighlights() {
+        if (highlights.isEmpty()) return;
+        Rectangle dirty = null;
+        int p0 = -1;
+        int p1 = -1;
+        for (HighlightInfo info : highlights) {
+            if (info instanceof LayeredHighlightInfo) {
+                LayeredHighlightInfo lhi = (LayeredHighlightInfo) info;
+                if (lhi.hasValidBounds()) {
+                    if (dirty == null) {
+                        dirty = new Rectangle(lhi.x, lhi.y, lhi.width, lhi.height);
+                    } else {
+                        dirty.add(new Rectangle(lhi.x, lhi.y, lhi.width, lhi.height));
+                    }
+                    continue;
+                }
+            }
+            if (p0 == -1) {
+                p0 = info.getStartOffset();
+                p1 = info.getEndOffset();
+            } else {
+                p0 = Math.min(p0, info.getStartOffset());
+                p1 = Math.max(p1, info.getEndOffset());
+            }
+        }
+        if (dirty != null && component != null) {
+            component.repaint(dirty.x, dirty.y, dirty.width, dirty.height);
+        }
+        if (p0 != -1 && component != null) {
+            try {
+                Document doc = component.getDocument();
+                damageQueue.damageRange(doc.createPosition(p0), doc.createPosition(p1));
+            } catch (BadLocationException ignored) {
+            }
+        }
+        highlights.clear();
+        unlayeredHighlights.clear();
+        highlightArray = null;
+        root = null;
+    }
+
+    @Override
+    public void changeHighlight(final Object tag, final int p0, final int p1) throws BadLocationException {
+        if (p0 < 0) {
+            throw new BadLocationException("Invalid beginning of the range", p0);
+        }
+        if (p1 < p0) {
+            throw new BadLocationException("Invalid end of the range", p1);
+        }
+        if (!(tag instanceof HighlightInfo) || !highlights.contains(tag)) return;
+        Document doc = component.getDocument();
+        if (tag instanceof LayeredHighlightInfo) {
+            LayeredHighlightInfo lhi = (LayeredHighlightInfo) tag;
+            repaintHighlight(lhi);
+            lhi.width = lhi.height = 0;
+            delete(lhi);
+            lhi.p0 = doc.createPosition(p0);
+            lhi.p1 = doc.createPosition(p1);
+            insert(lhi);
+            damageQueue.damageRange(lhi.p0, lhi.p1);
+        } else {
+            HighlightInfo info = (HighlightInfo) tag;
+            int oldP0 = info.getStartOffset();
+            int oldP1 = info.getEndOffset();
+            if (p0 == oldP0) {
+                damageQueue.damageRange(doc.createPosition(Math.min(oldP1, p1)),
+                        doc.createPosition(Math.max(oldP1, p1)));
+            } else if (p1 == oldP1) {
+                damageQueue.damageRange(doc.createPosition(Math.min(p0, oldP0)),
+                        doc.createPosition(Math.max(p0, oldP0)));
+            } else {
+                damageQueue.damageRange(info.p0, info.p1);
+                damageQueue.damageRange(doc.createPosition(p0), doc.createPosition(p1));
+            }
+            info.p0 = doc.createPosition(p0);
+            info.p1 = doc.createPosition(p1);
+        }
+    }
+
+    @Override
+    public Highlighter.Highlight[] getHighlights() {
+        if (highlights.isEmpty()) return NO_HIGHLIGHTS;
+        if (highlightArray == null) {
+            highlightArray = highlights.toArray(new Highlighter.Highlight[0]);
+        }
+        return Arrays.copyOf(highlightArray, highlightArray.length);
+    }
+
+    @Override
+    public void paintLayeredHighlights(final Graphics g, final int p0, final int p1, final Shape viewBounds,
+            final JTextComponent editor, final View view) {
+        if (root == null) return;
+        List<HighlightInfo> result = queryResult;
+        result.clear();
+        // Matches the highlights which start before p1 and end after p0.
+        collectOverlapping(root, p0 + 1, p1 - 1, result);
+        if (result.isEmpty()) return;
+        // Highlights added first are painted last.
+        result.sort((a, b) -> Long.compare(b.id, a.id));
+        for (HighlightInfo info : result) {
+            ((LayeredHighlightInfo) info).paintLayeredHighlights(g, p0, p1, viewBounds, editor, view);
+        }
+        result.clear();
+    }
+
+    /**
+     * Returns all layered highlights which overlap the given range of offsets.
+     *
+     * @param startOffset the start offset (inclusive).
+     * @param endOffset the end offset (inclusive).
+     * @return the highlights ordered by the time they have been added.
+     */
+    public List<Highlighter.Highlight> getHighlightsInRange(final int startOffset, final int endOffset) {
+        List<HighlightInfo> result = new ArrayList<>();
+        collectOverlapping(root, startOffset, endOffset, result);
+        result.sort(Comparator.comparingLong(h -> h.id));
+        return new ArrayList<>(result);
+    }
+
+    private void repaintHighlight(final LayeredHighlightInfo lhi) {
+        if (lhi.hasValidBounds()) {
+            component.repaint(lhi.x, lhi.y, lhi.width, lhi.height);
+        } else {
+            damageQueue.damageRange(lhi.p0, lhi.p1);
+        }
+    }
+
+    /*
+     * Collects all highlights with start <= hi and end >= lo.
+     */
+    private void collectOverlapping(final LayeredHighlightInfo node, final int lo, final int hi,
+            final List<HighlightInfo> result) {
+        if (node == null || node.maxEnd.getOffset() < lo) return;
+        collectOverlapping(node.left, lo, hi, result);
+        if (node.getStartOffset() > hi) return;
+        if (node.getEndOffset() >= lo) result.add(node);
+        collectOverlapping(node.right, lo, hi, result);
+    }
+
+    /*
+     * The tree is a treap ordered by the start offset of the highlights. The start positions keep
+     * their relative order if the document is edited. The same holds for the maximum end of a subtree
+     * as long as it is stored as a position, so the tree never has to be rebuilt on document changes.
+     */
+    private void insert(final LayeredHighlightInfo node) {
+        node.left = node.right = node.parent = null;
+        node.maxEnd = node.p1;
+        if (root == null) {
+            root = node;
+            return;
+        }
+        LayeredHighlightInfo current = root;
+        while (true) {
+            if (compare(node, current) < 0) {
+                if (current.left == null) {
+                    current.left = node;
+                    break;
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = node;
+                    break;
+                }
+                current = current.right;
+            }
+        }
+        node.parent = current;
+        updateToRoot(current);
+        while (node.parent != null && node.priority > node.parent.priority) {
+            rotateUp(node);
+        }
+    }
+
+    private void delete(final LayeredHighlightInfo node) {
+        while (node.left != null && node.right != null) {
+            rotateUp(node.left.priority > node.right.priority ? node.left : node.right);
+        }
+        LayeredHighlightInfo child = node.left != null ? node.left : node.right;
+        LayeredHighlightInfo parent = node.parent;
+        replaceChild(parent, node, child);
+        if (child != null) child.parent = parent;
+        updateToRoot(parent);
+        node.left = node.right = node.parent = null;
+    }
+
+    private void rotateUp(final LayeredHighlightInfo node) {
+        LayeredHighlightInfo parent = node.parent;
+        LayeredHighlightInfo grandParent = parent.parent;
+        if (node == parent.left) {
+            parent.left = node.right;
+            if (node.right != null) node.right.parent = parent;
+            node.right = parent;
+        } else {
+            parent.right = node.left;
+            if (node.left != null) node.left.parent = parent;
+            node.left = parent;
+        }
+        parent.parent = node;
+        node.parent = grandParent;
+        replaceChild(grandParent, parent, node);
+        update(parent);
+        update(node);
+    }
+
+    private void replaceChild(final LayeredHighlightInfo parent, final LayeredHighlightInfo oldChild,
+            final LayeredHighlightInfo newChild) {
+        if (parent == null) {
+            root = newChild;
+        } else if (parent.left == oldChild) {
+            parent.left = newChild;
+        } else {
+            parent.right = newChild;
+        }
+    }
+
+    private void updateToRoot(final LayeredHighlightInfo node) {
+        LayeredHighlightInfo current = node;
+        while (current != null) {
+            update(current);
+            current = current.parent;
+        }
+    }
+
+    private void update(final LayeredHighlightInfo node) {
+        Position maxEnd = node.p1;
+        if (node.left != null && node.left.maxEnd.getOffset() > maxEnd.getOffset()) {
+            maxEnd = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd.getOffset() > maxEnd.getOffset()) {
+            maxEnd = node.right.maxEnd;
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(final HighlightInfo a, final HighlightInfo b) {
+        int cmp = Integer.compare(a.getStartOffset(), b.getStartOffset());
+        if (cmp != 0) return cmp;
+        return Long.compare(a.id, b.id);
+    }
+
+    protected static class HighlightInfo implements Highlighter.Highlight {
+
+        protected final Highlighter.HighlightPainter painter;
+        protected final long id;
+        protected Position p0;
+        protected Position p1;
+
+        protected HighlightInfo(final Highlighter.HighlightPainter painter, final long id) {
+            this.painter = painter;
+            this.id = id;
+        }
+
+        @Override
+        public int getStartOffset() {
+            return p0.getOffset();
+        }
+
+        @Override
+        public int getEndOffset() {
+            return p1.getOffset();
+        }
+
+        @Override
+        public Highlighter.HighlightPainter getPainter() {
+            return painter;
+        }
+    }
+
+    protected class LayeredHighlightInfo extends HighlightInfo {
+
+        private final int priority;
+        private LayeredHighlightInfo left;
+        private LayeredHighlightInfo right;
+        private LayeredHighlightInfo parent;
+        private Position maxEnd;
+
+        private int x;
+        private int y;
+        private int width;
+        private int height;
+        private int stamp;
+
+        protected LayeredHighlightInfo(final Highlighter.HighlightPainter painter, final long id,
+                final int priority) {
+            super(painter, id);
+            this.priority = priority;
+        }
+
+        protected boolean hasValidBounds() {
+            return width > 0 && height > 0 && stamp == layoutStamp;
+        }
+
+        protected void union(final Shape bounds) {
+            if (bounds == null) return;
+            Rectangle alloc = bounds instanceof Rectangle ? (Rectangle) bounds : bounds.getBounds();
+            if (width == 0 || height == 0 || stamp != layoutStamp) {
+                x = alloc.x;
+                y = alloc.y;
+                width = alloc.width;
+                height = alloc.height;
+                stamp = layoutStamp;
+            } else {
+                width = Math.max(x + width, alloc.x + alloc.width);
+                height = Math.max(y + height, alloc.y + alloc.height);
+                x = Math.min(x, alloc.x);
+                width -= x;
+                y = Math.min(y, alloc.y);
+                height -= y;
+            }
+        }
+
+        protected void paintLayeredHighlights(final Graphics g, final int p0, final int p1, final Shape viewBounds,
+                final JTextComponent editor, final View view) {
+            int start = Math.max(getStartOffset(), p0);
+            int end = Math.min(getEndOffset(), p1);
+            union(((LayeredHighlighter.LayerPainter) painter).paintLayer(g, start, end, viewBounds, editor, view));
+        }
+    }
+
+    protected class Handler extends ComponentAdapter implements PropertyChangeListener, DocumentListener {
+
+        @Override
+        public void componentResized(final ComponentEvent e) {
+            invalidateLayout();
+        }
+
+        @Override
+        public void propertyChange(final PropertyChangeEvent evt) {
+            String key = evt.getPropertyName();
+            if (PropertyKey.DOCUMENT.equals(key)) {
+                setDocument(component.getDocument());
+            } else if (PropertyKey.FONT.equals(key)) {
+                invalidateLayout();
+            }
+        }
+
+        @Override
+        public void insertUpdate(final DocumentEvent e) {
+            invalidateLayout();
+        }
+
+        @Override
+        public void removeUpdate(final DocumentEvent e) {
+            invalidateLayout();
+        }
+
+        @Override
+        public void changedUpdate(final DocumentEvent e) {
+            invalidateLayout();
+        }
+    }
+
+    /*
+     * Damaging a range has to happen on the event dispatch thread after the document has finished
+     * updating. Ranges are collected and damaged together.
+     */
+    protected class DamageQueue implements Runnable {
+
+        private final List<Position> starts = new ArrayList<>();
+        private final List<Position> ends = new ArrayList<>();
+        private Document lastDoc;
+
+        public synchronized void damageRange(final Position p0, final Position p1) {
+            if (component == null) {
+                starts.clear();
+                ends.clear();
+                lastDoc = null;
+                return;
+            }
+            Document doc = component.getDocument();
+            if (starts.isEmpty() || doc != lastDoc) {
+                starts.clear();
+                ends.clear();
+                lastDoc = doc;
+                SwingUtilities.invokeLater(this);
+            }
+            starts.add(p0);
+            ends.add(p1);
+        }
+
+        @Override
+        public synchronized void run() {
+            if (component != null && lastDoc == component.getDocument()) {
+                TextUI mapper = component.getUI();
+                if (mapper != null) {
+                    int len = lastDoc.getLength();
+                    for (int i = 0; i < starts.size(); i++) {
+                        int p0 = Math.min(starts.get(i).getOffset(), len);
+                        int p1 = Math.min(ends.get(i).getOffset(), len);
+                        mapper.damageRange(component, p0, p1);
+                    }
+                }
+            }
+            starts.clear();
+            ends.clear();
+            lastDoc = null;
+        }
+    }
 }
@@ -30,11 +30,12 @@ import com.github.weisj.darklaf.ui.button.DarkButtonBorder;
 public class DarkToggleButtonBorder extends DarkButtonBorder {
 
     @Override
-    public Insets getBorderInsets(final Component c) {
+    public Insets getBorderInsets(final Component c, final Insets insets) {
         if (c instanceof JToggleButton && ToggleButtonConstants.isSlider((JComponent) c)) {
             int borderSize = getBorderSize();
-            return new Insets(borderSize, borderSize, borderSize, borderSize);
+            insets.set(borderSize, borderSize, borderSize, borderSize);
+            return insets;
         }
-        return super.getBorderInsets(c);
+        return super.getBorderInsets(c, insets);
     }
 }
@@ -90,12 +90,14 @@ public class DarkToggleButtonUI extends DarkButtonUI implements ToggleButtonCons
 
     @Override
     public void paint(final Graphics g, final JComponent c) {
+        GraphicsContext config = null;
         if (ToggleButtonConstants.isSlider(c)) {
-            GraphicsContext config = GraphicsUtil.setupStrokePainting(g);
+            config = GraphicsUtil.setupStrokePainting(g);
             paintSlider((Graphics2D) g, (AbstractButton) c);
             config.restoreClip();
         }
         super.paint(g, c);
+        if (config != null) config.restore();
     }
 
     @Override
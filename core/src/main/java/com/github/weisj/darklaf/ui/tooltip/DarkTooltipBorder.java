@@ -23,7 +23,7 @@ package com.github.weisj.darklaf.ui.tooltip;
 
 import java.awt.*;
 import java.awt.geom.Area;
-import java.awt.geom.Rectangle2D;
+import java.awt.geom.Path2D;
 
 import javax.swing.*;
 import javax.swing.border.Border;
@@ -116,23 +116,30 @@ public class DarkTooltipBorder implements Border, AlignableTooltipBorder {
         }
         Insets ins = shadowBorder.getBorderInsets(c);
         adjustInsets(ins);
-        Area innerArea = bubbleBorder.getBubbleArea(x + ins.left, y + ins.top, width - ins.left - ins.right,
-                height - ins.top - ins.bottom, bubbleBorder.getThickness());
+        int bx = x + ins.left;
+        int by = y + ins.top;
+        int bw = width - ins.left - ins.right;
+        int bh = height - ins.top - ins.bottom;
         if (!skipShadow && paintShadow) {
-            paintShadow(c, g, x, y, width, height, innerArea);
+            Shape bubbleShape = bubbleBorder.getBubbleShape(bx, by, bw, bh, bubbleBorder.getThickness());
+            paintShadow(c, g, x, y, width, height, bubbleShape);
         }
-        Area outerArea = bubbleBorder.getBubbleArea(x + ins.left, y + ins.top, width - ins.left - ins.right,
-                height - ins.top - ins.bottom, 0);
-        outerArea.subtract(innerArea);
-        bubbleBorder.paintBorder(g, outerArea);
+        bubbleBorder.paintBorder(c, g, bx, by, bw, bh);
         context.restore();
     }
 
     public void paintShadow(final Component c, final Graphics g, final int x, final int y, final int width,
             final int height, final Area bubbleArea) {
+        paintShadow(c, g, x, y, width, height, (Shape) bubbleArea);
+    }
+
+    public void paintShadow(final Component c, final Graphics g, final int x, final int y, final int width,
+            final int height, final Shape bubbleShape) {
         Shape oldClip = g.getClip();
-        Area clip = new Area(new Rectangle2D.Double(x, y, width, height));
-        clip.subtract(bubbleArea);
+        // The bubble lies inside the bounds, hence the even-odd rule cuts it out without area operations.
+        Path2D clip = new Path2D.Float(Path2D.WIND_EVEN_ODD);
+        clip.append(new Rectangle(x, y, width, height), false);
+        clip.append(bubbleShape, false);
         g.setClip(clip);
         int bw = 1 + bubbleBorder.getThickness();
         shadowBorder.paintBorder(c, g, x + bw, y + bw, width - 2 * bw, height - 2 * bw);
@@ -57,8 +57,6 @@ public final class DarkUIUtil {
 
     private static final int CELL_SEARCH_DEPTH = 3;
     public static final IconLoader ICON_LOADER = IconLoader.get(IconLoader.class);
-    private static final Rectangle iconRect = new Rectangle();
-    private static final Rectangle textRect = new Rectangle();
 
     public static Rectangle applyInsets(final Rectangle rect, final Insets insets) {
         if (insets != null && rect != null) {
@@ -345,13 +343,15 @@ public final class DarkUIUtil {
     }
 
     public static boolean isOverText(final JLabel label, final Rectangle bounds, final Point p) {
-        textRect.setBounds(0, 0, 0, 0);
-        iconRect.setBounds(0, 0, 0, 0);
-        SwingUtilities.layoutCompoundLabel(label, label.getFontMetrics(label.getFont()), label.getText(),
-                label.getIcon(), label.getVerticalAlignment(), label.getHorizontalAlignment(),
-                label.getVerticalTextPosition(), label.getHorizontalTextPosition(), bounds, iconRect, textRect,
-                label.getIconTextGap());
-        return textRect.contains(p);
+        try (GeometryScratch scratch = GeometryScratch.open()) {
+            Rectangle textRect = scratch.rectangle();
+            Rectangle iconRect = scratch.rectangle();
+            SwingUtilities.layoutCompoundLabel(label, label.getFontMetrics(label.getFont()), label.getText(),
+                    label.getIcon(), label.getVerticalAlignment(), label.getHorizontalAlignment(),
+                    label.getVerticalTextPosition(), label.getHorizontalTextPosition(), bounds, iconRect, textRect,
+                    label.getIconTextGap());
+            return textRect.contains(p);
+        }
     }
 
     public static boolean isOverText(final MouseEvent e, final int row, final int column, final JTable table) {
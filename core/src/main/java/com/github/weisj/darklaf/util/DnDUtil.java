@@ -22,18 +22,41 @@
 package com.github.weisj.darklaf.util;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.ref.SoftReference;
 
 import com.github.weisj.darklaf.graphics.PaintUtil;
 
 public class DnDUtil {
 
+    /*
+     * Only a single drag can be in progress at a time, hence the image of the last drag can be reused
+     * if the size matches.
+     */
+    private static SoftReference<BufferedImage> dragImageCache = new SoftReference<>(null);
+
     public static Image createDragImage(final Component c, final int lw, final Color borderColor) {
         return createDragImage(c, new Rectangle(0, 0, c.getWidth(), c.getHeight()), lw, borderColor);
     }
 
+    /**
+     * Create the image shown while dragging the given area of a component. Only the area itself is
+     * painted at the current scale of the component. The returned image is reused for the next drag
+     * and must not be retained beyond the drag.
+     *
+     * @param c the component.
+     * @param bounds the bounds inside the component to capture.
+     * @param lw the width of the border.
+     * @param borderColor the color of the border.
+     * @return the drag image.
+     */
     public static Image createDragImage(final Component c, final Rectangle bounds, final int lw,
             final Color borderColor) {
-        Image tabImage = ImageUtil.scaledImageFromComponent(c, bounds);
+        GraphicsConfiguration gc = c.getGraphicsConfiguration();
+        double scaleX = Scale.getScaleX(gc);
+        double scaleY = Scale.getScaleY(gc);
+        BufferedImage tabImage = getDragImage((int) (scaleX * bounds.width), (int) (scaleY * bounds.height));
+        ImageUtil.paintComponent(tabImage, c, bounds, scaleX, scaleY, true);
         int w = tabImage.getWidth(null);
         int h = tabImage.getHeight(null);
         Graphics g = tabImage.getGraphics();
@@ -43,4 +66,18 @@ public class DnDUtil {
         g.dispose();
         return tabImage;
     }
+
+    private static BufferedImage getDragImage(final int width, final int height) {
+        BufferedImage image = dragImageCache.get();
+        if (image != null && image.getWidth() == width && image.getHeight() == height) {
+            Graphics2D g = image.createGraphics();
+            g.setComposite(AlphaComposite.Clear);
+            g.fillRect(0, 0, width, height);
+            g.dispose();
+            return image;
+        }
+        image = ImageUtil.createCompatibleTransparentImage(width, height);
+        dragImageCache = new SoftReference<>(image);
+        return image;
+    }
 }
@@ -0,0 +1,133 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf.util;
+
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.*;
+
+/**
+ * Scratch geometry objects for paint and layout code. A scratch frame is opened for the duration of
+ * a paint or layout call:
+ *
+ * <pre>
+ * try (GeometryScratch scratch = GeometryScratch.open()) {
+ *     Rectangle r = scratch.rectangle(0, 0, width, height);
+ *     ...
+ * }
+ * </pre>
+ *
+ * Objects returned by a frame are only valid until the frame is closed and must not be stored. Frames
+ * opened on the event dispatch thread are reused, so nested frames never share objects and the
+ * objects of a frame are recycled once it has been closed. On any other thread every frame creates
+ * new objects, so the api is safe to use there but doesn't avoid allocation.
+ */
+public final class GeometryScratch implements AutoCloseable {
+
+    private static final List<GeometryScratch> FRAMES = new ArrayList<>();
+    private static int depth;
+
+    private final boolean pooled;
+    private final List<Rectangle> rectangles = new ArrayList<>();
+    private final List<Insets> insets = new ArrayList<>();
+    private final List<Dimension> dimensions = new ArrayList<>();
+    private final List<Point> points = new ArrayList<>();
+    private int rectangleCount;
+    private int insetsCount;
+    private int dimensionCount;
+    private int pointCount;
+
+    private GeometryScratch(final boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Opens a new scratch frame. The frame has to be closed by the same thread.
+     *
+     * @return the scratch frame.
+     */
+    public static GeometryScratch open() {
+        if (!SwingUtilities.isEventDispatchThread()) return new GeometryScratch(false);
+        if (depth == FRAMES.size()) FRAMES.add(new GeometryScratch(true));
+        return FRAMES.get(depth++);
+    }
+
+    /**
+     * Returns the number of scratch frames which are currently open on the event dispatch thread.
+     *
+     * @return the number of open frames.
+     */
+    public static int getOpenFrameCount() {
+        return depth;
+    }
+
+    public Rectangle rectangle() {
+        return rectangle(0, 0, 0, 0);
+    }
+
+    public Rectangle rectangle(final int x, final int y, final int width, final int height) {
+        if (rectangleCount == rectangles.size()) rectangles.add(new Rectangle());
+        Rectangle r = rectangles.get(rectangleCount++);
+        r.setBounds(x, y, width, height);
+        return r;
+    }
+
+    public Insets insets() {
+        return insets(0, 0, 0, 0);
+    }
+
+    public Insets insets(final int top, final int left, final int bottom, final int right) {
+        if (insetsCount == insets.size()) insets.add(new Insets(0, 0, 0, 0));
+        Insets ins = insets.get(insetsCount++);
+        ins.set(top, left, bottom, right);
+        return ins;
+    }
+
+    public Dimension dimension(final int width, final int height) {
+        if (dimensionCount == dimensions.size()) dimensions.add(new Dimension());
+        Dimension dim = dimensions.get(dimensionCount++);
+        dim.setSize(width, height);
+        return dim;
+    }
+
+    public Point point(final int x, final int y) {
+        if (pointCount == points.size()) points.add(new Point());
+        Point p = points.get(pointCount++);
+        p.setLocation(x, y);
+        return p;
+    }
+
+    @Override
+    public void close() {
+        if (!pooled) return;
+        if (depth == 0 || FRAMES.get(depth - 1) != this) {
+            throw new IllegalStateException("Scratch frames have to be closed in reverse order.");
+        }
+        rectangleCount = 0;
+        insetsCount = 0;
+        dimensionCount = 0;
+        pointCount = 0;
+        depth--;
+    }
+}
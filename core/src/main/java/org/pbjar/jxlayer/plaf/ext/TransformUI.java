@@ -72,20 +72,18 @@ import com.sun.java.swing.SwingUtilities3;
  * inner area. Also, when calculating the preferred size of {@link JXLayer}, it transforms the
  * normally calculated size with the {@link AffineTransform} returned from {@link
  * #getPreferredTransform(Dimension, JXLayer)}.
- * <li>This implementation allocates a fresh {@link BufferedImage} the size of the clip area, each
- * time that the {@link #paint(Graphics, JComponent)} method is invoked. This is different
- * from the implementation of {@link AbstractBufferedLayerUI}, that maintains a cached image,
- * the size of the view. An important reason to not follow the {@link AbstractBufferedLayerUI}
- * strategy is that, when applying scaling transformations with a large scaling factor, a
- * {@link OutOfMemoryError} may be thrown because it will try to allocate a buffer of an
- * extreme size, even if not all of its contents will actually be visible on the screen.
- * <li>Rather than configuring the screen graphics object, the image's graphics object is
- * configured through {@link #configureGraphics(Graphics2D, JXLayer)}.
- * <li>Regardless of whether or not the view is opaque, a background color is painted. It is
- * obtained from the first component upwards in the hierarchy starting with the view, that is
- * opaque. If an opaque component is not found, the background color of the layer is used.
- * Painting the background is necessary to prevent visual artifacts when the transformation is
- * changed dynamically.
+ * <li>By default the view is painted directly through the transformed graphics object. If buffered
+ * rendering is enabled with {@link #setBufferedRendering(boolean)}, the view is rendered into a
+ * persistent {@link BufferedImage}, which is only reallocated if the size of the view changes. Only
+ * the regions reported as dirty by the {@link RepaintManager} are rendered again, after which the
+ * buffer is drawn with the transformation applied, using the interpolation set with
+ * {@link #setInterpolation(Object)}. Different from {@link AbstractBufferedLayerUI} the buffer
+ * has the size of the view in device space and isn't scaled by the transformation, as allocating a
+ * buffer for a large scaling factor may throw an {@link OutOfMemoryError}.
+ * <li>When rendering into the buffer, regardless of whether or not the view is opaque, a background
+ * color is painted. It is obtained from the first component upwards in the hierarchy starting
+ * with the view, that is opaque. If an opaque component is not found, the background color of
+ * the layer is used.
  * <li>Rendering hints may be set with {@link #setRenderingHints(Map)}, {@link
  * #addRenderingHint(RenderingHints.Key, Object)} and {@link #addRenderingHints(Map)}.
  * </ul>
@@ -119,6 +117,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
     private static final boolean delegatePossible;
     private static final RepaintManager wrappedManager = new TransformRepaintManager();
     private static final Logger LOGGER = LogUtil.getLogger(TransformUI.class);
+    private static final long MAX_BUFFER_PIXELS = 4096L * 4096L;
 
     static {
         boolean value;
@@ -160,6 +159,18 @@ public class TransformUI extends MouseEventUI<JComponent> {
     private TransformModel transformModel;
     private LayoutManager originalLayout;
 
+    private boolean bufferedRendering;
+    private Object interpolation = RenderingHints.VALUE_INTERPOLATION_BILINEAR;
+    private BufferedImage buffer;
+    private double bufferScaleX;
+    private double bufferScaleY;
+    /*
+     * Regions are added by the repaint manager on whichever thread calls repaint, while the buffer is rendered
+     * on the event dispatch thread. Both the region and the existence of the buffer are guarded by this lock.
+     */
+    private final Object dirtyRegionLock = new Object();
+    private Rectangle dirtyRegion;
+
     /**
      * Construct a {@link TransformUI} with a {@link DefaultTransformModel}.
      */
@@ -222,6 +233,60 @@ public class TransformUI extends MouseEventUI<JComponent> {
         this.renderingHints.putAll(hints);
     }
 
+    /**
+     * Returns whether the view is rendered into a persistent buffer.
+     *
+     * @return true if buffered rendering is enabled
+     * @see    #setBufferedRendering(boolean)
+     */
+    public boolean isBufferedRendering() {
+        return bufferedRendering;
+    }
+
+    /**
+     * Set whether the view should be rendered into a persistent buffer, the size of the view in device
+     * space. Only regions of the view which have been repainted are rendered into the buffer again,
+     * which is then drawn with the transformation applied. This trades rendering quality for speed,
+     * as the contents of the buffer are interpolated if the transformation scales or rotates them.
+     *
+     * @param bufferedRendering true if buffered rendering should be enabled
+     * @see   #setInterpolation(Object)
+     */
+    public void setBufferedRendering(final boolean bufferedRendering) {
+        if (this.bufferedRendering == bufferedRendering) return;
+        this.bufferedRendering = bufferedRendering;
+        releaseBuffer();
+        JXLayer<? extends JComponent> installedLayer = this.getInstalledLayer();
+        if (installedLayer != null) installedLayer.repaint();
+    }
+
+    /**
+     * Get the interpolation used to draw the buffer if buffered rendering is enabled.
+     *
+     * @return the value for {@link RenderingHints#KEY_INTERPOLATION}
+     * @see    #setInterpolation(Object)
+     */
+    public Object getInterpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Set the interpolation used to draw the buffer if buffered rendering is enabled. Defaults to
+     * {@link RenderingHints#VALUE_INTERPOLATION_BILINEAR}.
+     *
+     * @param  interpolation            a value for {@link RenderingHints#KEY_INTERPOLATION}
+     * @throws IllegalArgumentException if the value isn't compatible with the interpolation key
+     * @see                             #setBufferedRendering(boolean)
+     */
+    public void setInterpolation(final Object interpolation) {
+        if (!RenderingHints.KEY_INTERPOLATION.isCompatibleValue(interpolation)) {
+            throw new IllegalArgumentException("Not an interpolation value: " + interpolation);
+        }
+        this.interpolation = interpolation;
+        JXLayer<? extends JComponent> installedLayer = this.getInstalledLayer();
+        if (installedLayer != null && bufferedRendering) installedLayer.repaint();
+    }
+
     /**
      * Get the {@link TransformModel}.
      *
@@ -301,6 +366,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
                .removePropertyChangeListener(KEY_VIEW, this.viewChangeListener);
         installedLayer.setLayout(originalLayout);
         setView(null);
+        releaseBuffer();
         super.uninstallUI(c);
     }
 
@@ -349,6 +415,33 @@ public class TransformUI extends MouseEventUI<JComponent> {
         }
     }
 
+    /**
+     * Primarily intended for use by {@link RepaintManager}. Marks a region of the layer, which is about
+     * to be repainted, to be rendered again into the buffer. Does nothing if buffered rendering isn't
+     * enabled.
+     *
+     * @param rect  the dirty region in the coordinates of the layer, before the transformation is
+     *              applied
+     * @param layer the layer
+     */
+    public final void addDirtyRegion(final Rectangle rect, final JXLayer<? extends JComponent> layer) {
+        JComponent view = layer.getView();
+        if (view == null) return;
+        Rectangle region = new Rectangle(rect.x - view.getX(), rect.y - view.getY(), rect.width, rect.height);
+        synchronized (dirtyRegionLock) {
+            if (buffer == null) return;
+            dirtyRegion = dirtyRegion != null ? dirtyRegion.union(region) : region;
+        }
+    }
+
+    private Rectangle takeDirtyRegion() {
+        synchronized (dirtyRegionLock) {
+            Rectangle region = dirtyRegion;
+            dirtyRegion = null;
+            return region;
+        }
+    }
+
     /**
      * Mark {@link TransformUI} as dirty if the LookAndFeel was changed.
      *
@@ -391,6 +484,106 @@ public class TransformUI extends MouseEventUI<JComponent> {
         }
     }
 
+    private void restoreDoubleBuffering() {
+        for (JComponent comp : originalDoubleBuffered) {
+            comp.setDoubleBuffered(true);
+        }
+        originalDoubleBuffered.clear();
+    }
+
+    private void releaseBuffer() {
+        synchronized (dirtyRegionLock) {
+            if (buffer != null) {
+                buffer.flush();
+                buffer = null;
+            }
+            dirtyRegion = null;
+        }
+    }
+
+    /**
+     * Overridden to draw the view from the buffer if buffered rendering is enabled. Falls back to
+     * painting the view directly if the buffer would exceed a sensible size.
+     *
+     * @see #setBufferedRendering(boolean)
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void paint(final Graphics g, final JComponent c) {
+        JXLayer<? extends JComponent> layer = (JXLayer<? extends JComponent>) c;
+        JComponent view = layer.getView();
+        if (!bufferedRendering || view == null || !(g instanceof Graphics2D)
+            || !paintBuffered((Graphics2D) g, layer, view)) {
+            super.paint(g, c);
+        }
+    }
+
+    private boolean paintBuffered(final Graphics2D g, final JXLayer<? extends JComponent> layer,
+                                  final JComponent view) {
+        AffineTransform deviceTransform = g.getTransform();
+        double scaleX = Math.hypot(deviceTransform.getScaleX(), deviceTransform.getShearY());
+        double scaleY = Math.hypot(deviceTransform.getShearX(), deviceTransform.getScaleY());
+        int width = (int) Math.ceil(view.getWidth() * scaleX);
+        int height = (int) Math.ceil(view.getHeight() * scaleY);
+        if (width <= 0 || height <= 0 || (long) width * height > MAX_BUFFER_PIXELS) {
+            releaseBuffer();
+            return false;
+        }
+        Rectangle viewBounds = new Rectangle(0, 0, view.getWidth(), view.getHeight());
+        boolean renderAll = isDirty();
+        if (renderAll) setDirty(false);
+        if (buffer == null || buffer.getWidth() != width || buffer.getHeight() != height
+            || bufferScaleX != scaleX || bufferScaleY != scaleY) {
+            releaseBuffer();
+            BufferedImage newBuffer = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            synchronized (dirtyRegionLock) {
+                buffer = newBuffer;
+            }
+            bufferScaleX = scaleX;
+            bufferScaleY = scaleY;
+            renderAll = true;
+        }
+        // Regions added after this point are kept for the repaint the repaint manager has scheduled for them.
+        Rectangle region = takeDirtyRegion();
+        if (renderAll) region = viewBounds;
+        if (region != null) {
+            region = region.intersection(viewBounds);
+            if (!region.isEmpty()) renderBuffer(layer, view, region);
+        }
+
+        Graphics2D g2 = (Graphics2D) g.create();
+        try {
+            configureGraphics(g2, layer);
+            g2.translate(view.getX(), view.getY());
+            g2.scale(1 / scaleX, 1 / scaleY);
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, interpolation);
+            g2.drawImage(buffer, 0, 0, null);
+        } finally {
+            g2.dispose();
+        }
+        return true;
+    }
+
+    /*
+     * Renders the given region of the view, in view coordinates, into the buffer.
+     */
+    private void renderBuffer(final JXLayer<? extends JComponent> layer, final JComponent view,
+                              final Rectangle region) {
+        Graphics2D g2 = buffer.createGraphics();
+        try {
+            g2.scale(bufferScaleX, bufferScaleY);
+            g2.clip(region);
+            g2.setColor(getBackgroundColor(layer));
+            g2.fill(region);
+            g2.addRenderingHints(getRenderingHints(layer));
+            setToNoDoubleBuffering(view);
+            view.paint(g2);
+        } finally {
+            restoreDoubleBuffering();
+            g2.dispose();
+        }
+    }
+
     /**
      * If the view of the {@link JXLayer} is (partly) obscured by its parent (this is the case when the size of the view
      * (in component space) is larger than the size of the {@link JXLayer}), the obscured parts will not be painted by
@@ -404,7 +597,9 @@ public class TransformUI extends MouseEventUI<JComponent> {
      * <p>
      * In all other cases, the super method is invoked.
      * <p>
-     * The {@code g2} argument is a graphics object obtained from a {@link BufferedImage}.
+     * This method is only reached if the view is painted directly, i.e. if buffered rendering is disabled or the
+     * buffer would be too large. The {@code g2} argument then is the graphics object passed to
+     * {@link #paint(Graphics, JComponent)} with the transformation of this UI applied.
      *
      * @see #paint(Graphics, JComponent)
      */
@@ -416,10 +611,7 @@ public class TransformUI extends MouseEventUI<JComponent> {
                 setToNoDoubleBuffering(view);
                 g2.translate(view.getX(), view.getY());
                 view.paint(g2);
-                for (JComponent comp : originalDoubleBuffered) {
-                    comp.setDoubleBuffered(true);
-                }
-                originalDoubleBuffered.clear();
+                restoreDoubleBuffering();
                 return;
             }
         }
@@ -482,8 +674,9 @@ public class TransformUI extends MouseEventUI<JComponent> {
                 TransformUI ui = (TransformUI) layer.getUI();
                 Point point = c.getLocationOnScreen();
                 SwingUtilities.convertPointFromScreen(point, layer);
-                Rectangle transformPortRegion = ui.transform(new Rectangle(x + point.x, y + point.y, w, h),
-                                                             layer);
+                Rectangle region = new Rectangle(x + point.x, y + point.y, w, h);
+                ui.addDirtyRegion(region, layer);
+                Rectangle transformPortRegion = ui.transform(region, layer);
                 RepaintManager.currentManager(layer).addDirtyRegion(layer,
                                                                     transformPortRegion.x,
                                                                     transformPortRegion.y,
@@ -94,8 +94,9 @@ public final class TransformRPMImpl {
                 TransformUI ui = (TransformUI) layerUI;
                 Point point = aComponent.getLocationOnScreen();
                 SwingUtilities.convertPointFromScreen(point, layer);
-                Rectangle transformPortRegion = ui.transform(new Rectangle(x + point.x, y + point.y, w, h),
-                                                             (JXLayer<JComponent>) layer);
+                Rectangle region = new Rectangle(x + point.x, y + point.y, w, h);
+                ui.addDirtyRegion(region, (JXLayer<JComponent>) layer);
+                Rectangle transformPortRegion = ui.transform(region, (JXLayer<JComponent>) layer);
                 manager.addDirtyRegion(layer,
                                        transformPortRegion.x, transformPortRegion.y,
                                        transformPortRegion.width, transformPortRegion.height);
@@ -0,0 +1,77 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package misc;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+import com.github.weisj.darklaf.graphics.GraphicsContext;
+import com.github.weisj.darklaf.graphics.GraphicsUtil;
+
+/**
+ * Reports the bytes allocated per save/restore cycle of a {@link GraphicsContext}, comparing a context which
+ * copies all rendering hints with the contexts created by the {@link GraphicsUtil} setup methods.
+ */
+public final class GraphicsContextAllocationBenchmark {
+
+    private static final int WARMUP = 50_000;
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(final String[] args) {
+        Graphics2D g = new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB).createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_LCD_HRGB);
+        g.clipRect(0, 0, 8, 8);
+        report("All hints", g, GraphicsContext::new);
+        report("setupStrokePainting", g, GraphicsUtil::setupStrokePainting);
+        report("setupAAPainting", g, GraphicsUtil::setupAAPainting);
+        report("setupAntialiasing", g, GraphicsUtil::setupAntialiasing);
+        report("paintWithAlpha", g, graphics -> GraphicsUtil.paintWithAlpha(graphics, 0.5f));
+        g.dispose();
+    }
+
+    private static void report(final String name, final Graphics2D g,
+            final Function<Graphics2D, GraphicsContext> factory) {
+        run(g, factory, WARMUP);
+        long before = getAllocatedBytes();
+        run(g, factory, ITERATIONS);
+        long bytes = getAllocatedBytes() - before;
+        Logger.getGlobal().info(String.format("%-20s %6.1f bytes per paint", name, bytes / (double) ITERATIONS));
+    }
+
+    private static void run(final Graphics2D g, final Function<Graphics2D, GraphicsContext> factory,
+            final int iterations) {
+        for (int i = 0; i < iterations; i++) {
+            GraphicsContext context = factory.apply(g);
+            g.setColor(Color.RED);
+            g.fillRect(0, 0, 1, 1);
+            context.restore();
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package misc;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+
+/**
+ * Reports the bytes allocated per layout and per paint of a representative button, label and menu item.
+ * The paint numbers include creating the graphics object.
+ */
+public final class PaintAllocationBenchmark {
+
+    private static final int WARMUP = 2000;
+    private static final int ITERATIONS = 1000;
+
+    public static void main(final String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            LafManager.install(new IntelliJTheme());
+            JButton button = new JButton("Button");
+            JLabel label = new JLabel("Label");
+            JMenuItem menuItem = new JMenuItem("Menu Item");
+            menuItem.setAccelerator(KeyStroke.getKeyStroke("control A"));
+            BufferedImage img = new BufferedImage(200, 50, BufferedImage.TYPE_INT_ARGB);
+            for (JComponent c : new JComponent[] {button, label, menuItem}) {
+                c.setSize(c.getPreferredSize());
+                double layoutBytes = measure(c, img, false);
+                double paintBytes = measure(c, img, true);
+                Logger.getGlobal().info(String.format("%-10s %8.1f bytes per layout %8.1f bytes per paint",
+                        c.getClass().getSimpleName(), layoutBytes, paintBytes));
+            }
+        });
+    }
+
+    private static double measure(final JComponent c, final BufferedImage img, final boolean paint) {
+        for (int i = 0; i < WARMUP; i++) {
+            run(c, img, paint);
+        }
+        long start = getAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            run(c, img, paint);
+        }
+        return (getAllocatedBytes() - start) / (double) ITERATIONS;
+    }
+
+    private static void run(final JComponent c, final BufferedImage img, final boolean paint) {
+        if (paint) {
+            Graphics2D g = img.createGraphics();
+            c.paint(g);
+            g.dispose();
+        } else {
+            c.invalidate();
+            c.getPreferredSize();
+            c.doLayout();
+        }
+    }
+
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean bean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        return bean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
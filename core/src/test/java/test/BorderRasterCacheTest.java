@@ -0,0 +1,165 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.function.Consumer;
+
+import javax.imageio.ImageIO;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.graphics.Outline;
+import com.github.weisj.darklaf.graphics.PaintUtil;
+
+class BorderRasterCacheTest extends AbstractImageTest {
+
+    private static final int WIDTH = 40;
+    private static final int HEIGHT = 24;
+    private static final double[] SCALES = {1, 1.25, 1.5, 2, 3};
+    private static final int[] ARCS = {0, 3, 8, 12};
+    private static final int[] INSETS = {0, 1, 2, 4};
+    private static final float[] BORDER_WIDTHS = {1, 2, 3};
+
+    private boolean rasterCacheEnabled;
+
+    public BorderRasterCacheTest() {
+        super("border_raster_cache");
+    }
+
+    @BeforeEach
+    void setup() {
+        rasterCacheEnabled = PaintUtil.isRasterCacheEnabled();
+        PaintUtil.setFocusGlow(new Color(0x3D7DCC));
+        PaintUtil.setErrorFocusGlow(new Color(0xE53E4D));
+    }
+
+    @AfterEach
+    void cleanup() {
+        PaintUtil.setRasterCacheEnabled(rasterCacheEnabled);
+    }
+
+    @Test
+    void testLineBorder() {
+        for (double scale : SCALES) {
+            for (int arc : ARCS) {
+                for (int inset : INSETS) {
+                    for (float bw : BORDER_WIDTHS) {
+                        String name = "line_" + scale + "_" + arc + "_" + inset + "_" + bw;
+                        compare(name, scale, inset, g -> {
+                            g.setColor(Color.BLACK);
+                            g.setStroke(new BasicStroke(bw));
+                            PaintUtil.paintLineBorder(g, 0, 0, WIDTH, HEIGHT, arc);
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testOutlineBorder() {
+        for (double scale : SCALES) {
+            for (int arc : ARCS) {
+                for (int inset : INSETS) {
+                    for (float bw : BORDER_WIDTHS) {
+                        String name = "outline_" + scale + "_" + arc + "_" + inset + "_" + bw;
+                        compare(name, scale, inset, g -> {
+                            PaintUtil.paintFocusBorder(g, WIDTH, HEIGHT, arc, bw);
+                            PaintUtil.paintOutlineBorder(g, WIDTH, HEIGHT, arc, bw, true, Outline.error);
+                        });
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void testFocusOval() {
+        for (double scale : SCALES) {
+            for (int inset : INSETS) {
+                for (float bw : BORDER_WIDTHS) {
+                    String name = "oval_" + scale + "_" + inset + "_" + bw;
+                    compare(name, scale, inset, g -> PaintUtil.paintFocusOval(g, bw, bw, HEIGHT, HEIGHT, bw));
+                }
+            }
+        }
+    }
+
+    /*
+     * At integral scales the cache reproduces the border as painted at the device origin, moved by whole pixels.
+     * Painting directly at another position may round differently, so it is compared against the moved
+     * reference. At fractional scales the cache isn't used and the output has to be the same as well.
+     */
+    private void compare(final String name, final double scale, final int inset, final Consumer<Graphics2D> painter) {
+        boolean integral = scale == Math.rint(scale);
+        int offset = integral ? (int) (inset * scale) : 0;
+        PaintUtil.setRasterCacheEnabled(false);
+        BufferedImage expected = paint(scale, integral ? 0 : inset, painter);
+        PaintUtil.setRasterCacheEnabled(true);
+        // The first call fills the cache, the second one paints from it.
+        paint(scale, inset, painter);
+        BufferedImage actual = paint(scale, inset, painter);
+        for (int y = 0; y < actual.getHeight(); y++) {
+            for (int x = 0; x < actual.getWidth(); x++) {
+                int ex = x - offset;
+                int ey = y - offset;
+                boolean inside = ex >= 0 && ey >= 0 && ex < expected.getWidth() && ey < expected.getHeight();
+                int expectedRGB = inside ? expected.getRGB(ex, ey) : 0;
+                if (expectedRGB != actual.getRGB(x, y)) {
+                    saveImage(name + "_expected", expected);
+                    saveImage(name + "_actual", actual);
+                    Assertions.fail("Pixel (" + x + ", " + y + ") of " + name + " differs. Expected "
+                            + Integer.toHexString(expectedRGB) + " but was "
+                            + Integer.toHexString(actual.getRGB(x, y)));
+                }
+            }
+        }
+    }
+
+    private static BufferedImage paint(final double scale, final int inset, final Consumer<Graphics2D> painter) {
+        int size = (int) Math.ceil((Math.max(WIDTH, HEIGHT) + 2 * inset + 10) * scale);
+        BufferedImage image = new BufferedImage(size, size, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.scale(scale, scale);
+        g.translate(inset, inset);
+        painter.accept(g);
+        g.dispose();
+        return image;
+    }
+
+    private void saveImage(final String name, final BufferedImage image) {
+        try {
+            File file = new File(getPath(name + ".png"));
+            file.getParentFile().mkdirs();
+            ImageIO.write(image, "png", file);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
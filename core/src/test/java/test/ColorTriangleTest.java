@@ -0,0 +1,110 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.color.DarkColorModelHSB;
+import com.github.weisj.darklaf.color.DarkColorModelHSL;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.ui.colorchooser.ColorTriangle;
+
+class ColorTriangleTest {
+
+    private static final int SIZE = 400;
+
+    @BeforeAll
+    static void setup() {
+        LafManager.install(new IntelliJTheme());
+    }
+
+    @Test
+    void testTriangleColors() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            ColorTriangle triangle = createTriangle();
+            BufferedImage img = new BufferedImage(2 * SIZE, 2 * SIZE, BufferedImage.TYPE_INT_ARGB);
+            for (double scale : new double[] {1, 2}) {
+                // The centroid of the triangle has saturation 1/2 and value 2/3.
+                triangle.setColorModel(DarkColorModelHSB.getInstance());
+                triangle.setColor(this, Color.RED);
+                assertColorEquals(Color.HSBtoRGB(0, 0.5f, 2f / 3f), paintCentroid(triangle, img, scale));
+
+                triangle.setColorModel(DarkColorModelHSL.getInstance());
+                triangle.setColor(this, Color.RED);
+                assertColorEquals(DarkColorModelHSL.getColorFromHSLValues(0, 0.5, 2.0 / 3.0).getRGB(),
+                        paintCentroid(triangle, img, scale));
+            }
+        });
+    }
+
+    @Test
+    void testHueChangeInvalidatesTriangle() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            ColorTriangle triangle = createTriangle();
+            BufferedImage img = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_ARGB);
+            triangle.setColorModel(DarkColorModelHSB.getInstance());
+            triangle.setColor(this, Color.RED);
+            assertColorEquals(Color.HSBtoRGB(0, 0.5f, 2f / 3f), paintCentroid(triangle, img, 1));
+
+            triangle.setColor(this, Color.GREEN);
+            assertColorEquals(Color.HSBtoRGB(1f / 3f, 0.5f, 2f / 3f), paintCentroid(triangle, img, 1));
+
+            triangle.setColorModel(DarkColorModelHSL.getInstance());
+            triangle.setColor(this, Color.GREEN);
+            assertColorEquals(DarkColorModelHSL.getColorFromHSLValues(1.0 / 3.0, 0.5, 2.0 / 3.0).getRGB(),
+                    paintCentroid(triangle, img, 1));
+
+            triangle.setColor(this, Color.BLUE);
+            assertColorEquals(DarkColorModelHSL.getColorFromHSLValues(2.0 / 3.0, 0.5, 2.0 / 3.0).getRGB(),
+                    paintCentroid(triangle, img, 1));
+        });
+    }
+
+    private static ColorTriangle createTriangle() {
+        ColorTriangle triangle = new ColorTriangle();
+        triangle.setSize(SIZE, SIZE);
+        return triangle;
+    }
+
+    private static int paintCentroid(final ColorTriangle triangle, final BufferedImage img, final double scale) {
+        Graphics2D g = img.createGraphics();
+        g.scale(scale, scale);
+        triangle.paint(g);
+        g.dispose();
+        int center = (int) (SIZE * scale / 2);
+        return img.getRGB(center, center);
+    }
+
+    private static void assertColorEquals(final int expected, final int actual) {
+        // The sampled pixel lies only approximately on the centroid.
+        for (int shift = 0; shift < 32; shift += 8) {
+            int diff = Math.abs(((expected >> shift) & 0xFF) - ((actual >> shift) & 0xFF));
+            Assertions.assertTrue(diff <= 1, String.format("Expected %08x but got %08x", expected, actual));
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.DefaultHighlighter;
+import javax.swing.text.Document;
+import javax.swing.text.Highlighter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.ui.text.DarkHighlighter;
+
+class DarkHighlighterTest {
+
+    private static final int ITERATIONS = 2000;
+    private static final int DOCUMENT_LENGTH = 500;
+
+    @Test
+    void testRangeQueryMatchesBruteForce() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            try {
+                runRandomOperations(new Random(42));
+            } catch (BadLocationException e) {
+                Assertions.fail(e.getMessage(), e);
+            }
+        });
+    }
+
+    private void runRandomOperations(final Random r) throws BadLocationException {
+        JTextArea textArea = new JTextArea();
+        DarkHighlighter highlighter = new DarkHighlighter();
+        textArea.setHighlighter(highlighter);
+        Document doc = textArea.getDocument();
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < DOCUMENT_LENGTH; i++) {
+            text.append((char) ('a' + r.nextInt(26)));
+        }
+        doc.insertString(0, text.toString(), null);
+
+        Highlighter.HighlightPainter painter = new DefaultHighlighter.DefaultHighlightPainter(null);
+        // The expected highlights in the order they have been added.
+        List<Highlighter.Highlight> expected = new ArrayList<>();
+        for (int i = 0; i < ITERATIONS; i++) {
+            int length = doc.getLength();
+            int p0 = r.nextInt(length + 1);
+            int p1 = Math.min(length, p0 + r.nextInt(20));
+            int op = r.nextInt(10);
+            if (op < 4 || expected.isEmpty()) {
+                expected.add((Highlighter.Highlight) highlighter.addHighlight(p0, p1, painter));
+            } else if (op < 6) {
+                highlighter.removeHighlight(expected.remove(r.nextInt(expected.size())));
+            } else if (op < 8) {
+                highlighter.changeHighlight(expected.get(r.nextInt(expected.size())), p0, p1);
+            } else if (op < 9) {
+                doc.insertString(p0, "xyz", null);
+            } else {
+                doc.remove(p0, Math.min(length - p0, r.nextInt(10)));
+            }
+            int lo = r.nextInt(doc.getLength() + 1);
+            int hi = Math.min(doc.getLength(), lo + r.nextInt(50));
+            Assertions.assertEquals(bruteForceQuery(expected, lo, hi), highlighter.getHighlightsInRange(lo, hi),
+                    "Query [" + lo + ", " + hi + "] in iteration " + i);
+        }
+        highlighter.removeAllHighlights();
+        Assertions.assertTrue(highlighter.getHighlightsInRange(0, doc.getLength()).isEmpty());
+    }
+
+    private static List<Highlighter.Highlight> bruteForceQuery(final List<Highlighter.Highlight> highlights,
+            final int lo, final int hi) {
+        List<Highlighter.Highlight> result = new ArrayList<>();
+        for (Highlighter.Highlight h : highlights) {
+            if (h.getStartOffset() <= hi && h.getEndOffset() >= lo) result.add(h);
+        }
+        return result;
+    }
+}
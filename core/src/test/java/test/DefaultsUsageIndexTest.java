@@ -0,0 +1,108 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
+
+class DefaultsUsageIndexTest {
+
+    private static final String USAGE_INDEX_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "defaultsUsageIndex";
+
+    private JFrame frame;
+
+    @BeforeEach
+    void setup() {
+        Assumptions.assumeFalse(GraphicsEnvironment.isHeadless());
+        System.setProperty(USAGE_INDEX_FLAG, "true");
+    }
+
+    @AfterEach
+    void cleanup() {
+        System.clearProperty(USAGE_INDEX_FLAG);
+        if (frame != null) TestUtils.runOnSwingThreadNotThrowing(frame::dispose);
+    }
+
+    @Test
+    void testChangedKeyOnlyRefreshesReadingDelegates() {
+        JLabel label = new JLabel("Label");
+        JButton button = new JButton("Button");
+        AtomicInteger labelUpdates = new AtomicInteger();
+        AtomicInteger buttonUpdates = new AtomicInteger();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            frame = new JFrame();
+            JPanel content = new JPanel();
+            content.add(label);
+            content.add(button);
+            frame.setContentPane(content);
+            frame.pack();
+            frame.setVisible(true);
+            // Index the delegates of the components in the frame.
+            LafManager.install();
+            label.addPropertyChangeListener("UI", e -> labelUpdates.incrementAndGet());
+            button.addPropertyChangeListener("UI", e -> buttonUpdates.incrementAndGet());
+
+            LafManager.updateDefaults(Collections.singletonMap("Label.foreground", Color.RED));
+        });
+        Assertions.assertEquals(1, labelUpdates.get());
+        Assertions.assertEquals(0, buttonUpdates.get());
+        Assertions.assertEquals(Color.RED, label.getForeground());
+    }
+
+    @Test
+    void testPopupMenusAreRefreshed() {
+        JMenuItem menuItem = new JMenuItem("Item");
+        AtomicInteger menuItemUpdates = new AtomicInteger();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            frame = new JFrame();
+            JPanel content = new JPanel();
+            JPopupMenu popupMenu = new JPopupMenu();
+            popupMenu.add(menuItem);
+            content.setComponentPopupMenu(popupMenu);
+            JLabel label = new JLabel("Label");
+            label.setInheritsPopupMenu(true);
+            content.add(label);
+            frame.setContentPane(content);
+            frame.pack();
+            frame.setVisible(true);
+            LafManager.install();
+            menuItem.addPropertyChangeListener("UI", e -> menuItemUpdates.incrementAndGet());
+
+            LafManager.updateDefaults(Collections.singletonMap("MenuItem.foreground", Color.RED));
+        });
+        // The popup menu is inherited by the label but must only be refreshed once.
+        Assertions.assertEquals(1, menuItemUpdates.get());
+        Assertions.assertEquals(Color.RED, menuItem.getForeground());
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.geom.RoundRectangle2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.ConvolveOp;
+import java.awt.image.Kernel;
+import java.util.Arrays;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.border.DropShadowBorder;
+
+class DropShadowBorderTest {
+
+    private static final Color SHADOW_COLOR = new Color(0x202428);
+    private static final float SHADOW_OPACITY = 0.5f;
+    private static final int[] CORNER_SIZES = {0, 5, 10};
+    private static final int INNER_SIZE = 20;
+
+    @Test
+    void testShadowMatchesConvolveOp() {
+        JComponent c = new JPanel();
+        for (int size = 1; size <= 12; size++) {
+            for (int cornerSize : CORNER_SIZES) {
+                DropShadowBorder border =
+                        new DropShadowBorder(SHADOW_COLOR, size, SHADOW_OPACITY, cornerSize, true, true, true, true);
+                int extent = INNER_SIZE + 2 * size;
+                BufferedImage actual = new BufferedImage(extent, extent, BufferedImage.TYPE_INT_ARGB);
+                Graphics2D g = actual.createGraphics();
+                border.paintBorder(c, g, 0, 0, extent, extent);
+                g.dispose();
+
+                BufferedImage expected = convolve(createShadowImage(size, cornerSize), size);
+                int rectWidth = cornerSize + 1;
+                int far = extent - size;
+                int mid = extent / 2;
+                String config = "size " + size + " and corner size " + cornerSize;
+                for (int j = 0; j < size; j++) {
+                    for (int i = 0; i < size; i++) {
+                        assertAlpha(expected, 1 + i, 1 + j, actual, i, j, "top left corner", config);
+                        assertAlpha(expected, rectWidth + i, 1 + j, actual, far + i, j, "top right corner", config);
+                        assertAlpha(expected, 1 + i, rectWidth + j, actual, i, far + j, "bottom left corner", config);
+                        assertAlpha(expected, rectWidth + i, rectWidth + j, actual, far + i, far + j,
+                                "bottom right corner", config);
+                    }
+                    assertAlpha(expected, 1 + j, size, actual, j, mid, "left side", config);
+                    assertAlpha(expected, rectWidth + j, rectWidth, actual, far + j, mid, "right side", config);
+                    assertAlpha(expected, size, 1 + j, actual, mid, j, "top side", config);
+                    assertAlpha(expected, rectWidth, rectWidth + j, actual, mid, far + j, "bottom side", config);
+                }
+            }
+        }
+    }
+
+    private static void assertAlpha(final BufferedImage expected, final int ex, final int ey,
+            final BufferedImage actual, final int ax, final int ay, final String region, final String config) {
+        int expectedAlpha = expected.getRGB(ex, ey) >>> 24;
+        int actualAlpha = actual.getRGB(ax, ay) >>> 24;
+        if (Math.abs(expectedAlpha - actualAlpha) > 1) {
+            Assertions.fail("Alpha at (" + ax + ", " + ay + ") in the " + region + " for " + config + " should be "
+                    + expectedAlpha + " but was " + actualAlpha);
+        }
+    }
+
+    /*
+     * The shadow image as created by DropShadowBorder before blurring.
+     */
+    private static BufferedImage createShadowImage(final int shadowSize, final int cornerSize) {
+        int rectWidth = cornerSize + 1;
+        int imageWidth = rectWidth + shadowSize * 2;
+        BufferedImage image = new BufferedImage(imageWidth, imageWidth, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = image.createGraphics();
+        g.setPaint(new Color(SHADOW_COLOR.getRed(), SHADOW_COLOR.getGreen(), SHADOW_COLOR.getBlue(),
+                (int) (SHADOW_OPACITY * 255)));
+        g.translate(shadowSize, shadowSize);
+        g.fill(new RoundRectangle2D.Double(0, 0, rectWidth, rectWidth, cornerSize, cornerSize));
+        g.dispose();
+        return image;
+    }
+
+    /*
+     * The blur previously used by DropShadowBorder.
+     */
+    private static BufferedImage convolve(final BufferedImage image, final int size) {
+        float[] kernel = new float[size * size];
+        Arrays.fill(kernel, 1.0f / (size * size));
+        ConvolveOp blur = new ConvolveOp(new Kernel(size, size, kernel));
+        BufferedImage target = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = target.createGraphics();
+        g.drawImage(image, blur, -(size / 2), -(size / 2));
+        g.dispose();
+        return target;
+    }
+}
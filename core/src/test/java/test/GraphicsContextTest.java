@@ -0,0 +1,101 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.graphics.GraphicsContext;
+import com.github.weisj.darklaf.graphics.GraphicsUtil;
+
+class GraphicsContextTest {
+
+    private static final RenderingHints.Key CUSTOM_KEY = new RenderingHints.Key(4711) {
+        @Override
+        public boolean isCompatibleValue(final Object val) {
+            return val instanceof String;
+        }
+    };
+
+    @Test
+    void testContextCanBeRestoredRepeatedly() {
+        Graphics2D g = createGraphics();
+        Color color = g.getColor();
+        GraphicsContext context = GraphicsUtil.paintWithAlpha(g, 0.5f);
+        g.setColor(Color.RED);
+        context.restore();
+        g.setColor(Color.BLUE);
+        context.restore();
+        Assertions.assertEquals(color, g.getColor());
+        Assertions.assertSame(g, context.getGraphics());
+        g.dispose();
+    }
+
+    @Test
+    void testStateIsRestored() {
+        Graphics2D g = createGraphics();
+        g.clipRect(0, 0, 5, 5);
+        g.setRenderingHint(CUSTOM_KEY, "before");
+        Shape clip = g.getClip();
+        AffineTransform transform = g.getTransform();
+        Color color = g.getColor();
+        Object antialiasing = g.getRenderingHint(RenderingHints.KEY_ANTIALIASING);
+        Object strokeControl = g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL);
+
+        GraphicsContext context = GraphicsUtil.setupStrokePainting(g);
+        g.setColor(Color.RED);
+        g.translate(3, 4);
+        g.clipRect(1, 1, 2, 2);
+        g.setRenderingHint(CUSTOM_KEY, "after");
+        context.restore();
+
+        Assertions.assertEquals(clip, g.getClip());
+        Assertions.assertEquals(transform, g.getTransform());
+        Assertions.assertEquals(color, g.getColor());
+        Assertions.assertEquals(antialiasing, g.getRenderingHint(RenderingHints.KEY_ANTIALIASING));
+        Assertions.assertEquals(strokeControl, g.getRenderingHint(RenderingHints.KEY_STROKE_CONTROL));
+        // Stroke painting only saves the hints it sets itself.
+        Assertions.assertEquals("after", g.getRenderingHint(CUSTOM_KEY));
+        g.dispose();
+    }
+
+    @Test
+    void testHintsAddedWhilePaintingAreRemoved() {
+        Graphics2D g = createGraphics();
+        GraphicsContext context = new GraphicsContext(g);
+        g.setRenderingHint(CUSTOM_KEY, "added");
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+        context.restore();
+        Assertions.assertNull(g.getRenderingHint(CUSTOM_KEY));
+        Assertions.assertNotEquals(RenderingHints.VALUE_INTERPOLATION_BICUBIC,
+                g.getRenderingHint(RenderingHints.KEY_INTERPOLATION));
+        g.dispose();
+    }
+
+    private static Graphics2D createGraphics() {
+        return new BufferedImage(10, 10, BufferedImage.TYPE_INT_ARGB).createGraphics();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.theme.IntelliJTheme;
+import com.github.weisj.darklaf.theme.Theme;
+import com.github.weisj.darklaf.theme.info.AccentColorRule;
+
+class IncrementalThemeUpdateTest {
+
+    private JFrame frame;
+
+    @BeforeEach
+    void setup() {
+        Assumptions.assumeFalse(GraphicsEnvironment.isHeadless());
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (frame != null) TestUtils.runOnSwingThreadNotThrowing(frame::dispose);
+    }
+
+    @Test
+    void testAccentColorChange() {
+        Theme theme = new IntelliJTheme();
+        JTextField textField = new JTextField("Text");
+        Map<Object, Object> oldDefaults = new HashMap<>();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            LafManager.install(theme);
+            frame = new JFrame();
+            frame.setContentPane(textField);
+            frame.pack();
+            frame.setVisible(true);
+            UIDefaults defaults = UIManager.getLookAndFeelDefaults();
+            for (Object key : new HashSet<>(defaults.keySet())) {
+                oldDefaults.put(key, defaults.get(key));
+            }
+
+            AccentColorRule accentColorRule = AccentColorRule.fromColor(Color.RED, Color.GREEN);
+            LafManager.install(theme.derive(theme.getFontSizeRule(), accentColorRule));
+        });
+        TestUtils.runOnSwingThreadNotThrowing(() -> {});
+
+        Set<Object> changedKeys = new HashSet<>();
+        UIDefaults defaults = UIManager.getLookAndFeelDefaults();
+        for (Map.Entry<Object, Object> entry : oldDefaults.entrySet()) {
+            if (!Objects.equals(entry.getValue(), defaults.get(entry.getKey()))) changedKeys.add(entry.getKey());
+        }
+        Assertions.assertTrue(changedKeys.contains("TextField.selectionBackground"), changedKeys::toString);
+        Assertions.assertFalse(changedKeys.contains("TextField.font"), changedKeys::toString);
+
+        Color selection = defaults.getColor("TextField.selectionBackground");
+        Assertions.assertNotEquals(oldDefaults.get("TextField.selectionBackground"), selection);
+        Assertions.assertEquals(selection, textField.getSelectionColor());
+    }
+}
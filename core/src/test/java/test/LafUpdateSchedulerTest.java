@@ -0,0 +1,213 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.DarkLaf;
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.listener.LafUpdateListener;
+import com.github.weisj.darklaf.theme.event.ThemeChangeEvent;
+import com.github.weisj.darklaf.theme.event.ThemeChangeListener;
+
+class LafUpdateSchedulerTest {
+
+    private static final String TIME_SLICED_FLAG = DarkLaf.SYSTEM_PROPERTY_PREFIX + "timeSlicedLafUpdate";
+
+    private final List<Window> windows = new ArrayList<>();
+    private final List<Window> updates = Collections.synchronizedList(new ArrayList<>());
+    private final LafUpdateListener listener = (window, nanos) -> {
+        if (windows.contains(window)) updates.add(window);
+    };
+    // Makes every slice contain exactly one window.
+    private final LafUpdateListener slowListener = (window, nanos) -> sleep(15);
+
+    @BeforeEach
+    void setup() {
+        Assumptions.assumeFalse(GraphicsEnvironment.isHeadless());
+        TestUtils.runOnSwingThreadNotThrowing(LafManager::install);
+        LafManager.addLafUpdateListener(listener);
+    }
+
+    @AfterEach
+    void cleanup() {
+        LafManager.removeLafUpdateListener(listener);
+        LafManager.removeLafUpdateListener(slowListener);
+        System.clearProperty(TIME_SLICED_FLAG);
+        TestUtils.runOnSwingThreadNotThrowing(() -> windows.forEach(Window::dispose));
+        windows.clear();
+    }
+
+    @Test
+    void testEveryWindowUpdatedOnce() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            JFrame frame = createFrame(true);
+            JDialog dialog = new JDialog(frame);
+            windows.add(dialog);
+            dialog.setVisible(true);
+            createFrame(false);
+            LafManager.updateLaf();
+        });
+        Assertions.assertEquals(windows.size(), updates.size());
+        Assertions.assertEquals(windows.size(), countByWindow().size());
+    }
+
+    @Test
+    void testActiveWindowUpdatedFirst() {
+        System.setProperty(TIME_SLICED_FLAG, "true");
+        LafManager.addLafUpdateListener(slowListener);
+        AtomicInteger activeIndex = new AtomicInteger(-1);
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            createFrame(true);
+            createFrame(true);
+            createFrame(true);
+        });
+        flushEventQueue();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Window active = KeyboardFocusManager.getCurrentKeyboardFocusManager().getActiveWindow();
+            activeIndex.set(windows.indexOf(active));
+            LafManager.updateLaf();
+        });
+        Assumptions.assumeTrue(activeIndex.get() >= 0);
+        flushEventQueue();
+        Assertions.assertEquals(windows.size(), updates.size());
+        Assertions.assertSame(windows.get(activeIndex.get()), updates.get(0));
+    }
+
+    @Test
+    void testNewUpdateDiscardsPendingSlices() {
+        System.setProperty(TIME_SLICED_FLAG, "true");
+        LafManager.addLafUpdateListener(slowListener);
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            createFrame(true);
+            createFrame(true);
+            createFrame(true);
+            LafManager.updateLaf();
+            Assertions.assertEquals(1, updates.size());
+            LafManager.updateLaf();
+            Assertions.assertEquals(2, updates.size());
+        });
+        flushEventQueue();
+        Assertions.assertEquals(windows.size() + 1, updates.size());
+        for (Map.Entry<Window, Integer> entry : countByWindow().entrySet()) {
+            int expected = entry.getKey() == updates.get(0) ? 2 : 1;
+            Assertions.assertEquals(expected, entry.getValue().intValue());
+        }
+    }
+
+    @Test
+    void testHiddenWindowUpdatedBeforeShown() {
+        System.setProperty(TIME_SLICED_FLAG, "true");
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            JFrame frame = createFrame(false);
+            LafManager.updateLaf();
+            Assertions.assertTrue(updates.isEmpty());
+            frame.setVisible(true);
+            // The update has to happen synchronously while showing the window, i.e. before it is painted.
+            Assertions.assertEquals(Collections.singletonList(frame), updates);
+        });
+        flushEventQueue();
+        Assertions.assertEquals(1, updates.size());
+    }
+
+    @Test
+    void testThemeInstalledAfterLastSlice() {
+        System.setProperty(TIME_SLICED_FLAG, "true");
+        LafManager.addLafUpdateListener(slowListener);
+        AtomicInteger updatesWhenInstalled = new AtomicInteger(-1);
+        ThemeChangeListener themeListener = new ThemeChangeListener() {
+            @Override
+            public void themeChanged(final ThemeChangeEvent e) {}
+
+            @Override
+            public void themeInstalled(final ThemeChangeEvent e) {
+                updatesWhenInstalled.set(updates.size());
+            }
+        };
+        LafManager.addThemeChangeListener(themeListener);
+        try {
+            TestUtils.runOnSwingThreadNotThrowing(() -> {
+                createFrame(true);
+                createFrame(true);
+                createFrame(true);
+                LafManager.install();
+                Assertions.assertEquals(-1, updatesWhenInstalled.get());
+            });
+            flushEventQueue();
+            Assertions.assertEquals(windows.size(), updatesWhenInstalled.get());
+        } finally {
+            LafManager.removeThemeChangeListener(themeListener);
+        }
+    }
+
+    private JFrame createFrame(final boolean visible) {
+        JFrame frame = new JFrame();
+        frame.setSize(100, 100);
+        windows.add(frame);
+        frame.setVisible(visible);
+        return frame;
+    }
+
+    private Map<Window, Integer> countByWindow() {
+        Map<Window, Integer> counts = new IdentityHashMap<>();
+        for (Window window : updates) {
+            counts.merge(window, 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    /*
+     * Every slice updates at least one window and schedules the next slice with invokeLater.
+     */
+    private void flushEventQueue() {
+        for (int i = 0; i < windows.size() + 2; i++) {
+            try {
+                SwingUtilities.invokeAndWait(() -> {});
+            } catch (InterruptedException | InvocationTargetException e) {
+                Assertions.fail(e.getMessage(), e);
+            }
+        }
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
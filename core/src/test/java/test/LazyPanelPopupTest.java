@@ -0,0 +1,100 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.components.tabframe.JTabFrame;
+import com.github.weisj.darklaf.components.tabframe.LazyPanelPopup;
+import com.github.weisj.darklaf.components.tabframe.TabFramePopup;
+import com.github.weisj.darklaf.util.Alignment;
+
+class LazyPanelPopupTest {
+
+    private static final int HIBERNATION_DELAY = 50;
+    private static final long TIMEOUT_MILLIS = 5000;
+
+    private final AtomicInteger createdContents = new AtomicInteger();
+    private JTabFrame tabFrame;
+    private LazyPanelPopup popup;
+
+    @BeforeAll
+    static void setup() {
+        LafManager.install();
+    }
+
+    @Test
+    void testContentIsRealizedOnOpenAndReleasedAfterHibernation() throws InterruptedException {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            tabFrame = new JTabFrame();
+            tabFrame.addTab(new JLabel("Eager"), "Eager", Alignment.SOUTH);
+            popup = new LazyPanelPopup("Lazy", () -> {
+                createdContents.incrementAndGet();
+                return new JLabel("Lazy");
+            });
+            popup.setHibernationDelay(HIBERNATION_DELAY);
+            tabFrame.addTab((TabFramePopup) popup, "Lazy", null, Alignment.NORTH);
+
+            Assertions.assertFalse(popup.isContentRealized());
+            Assertions.assertEquals(0, createdContents.get());
+            Assertions.assertEquals(1, tabFrame.getRealizedPopupCount());
+
+            tabFrame.openTab((TabFramePopup) popup);
+            Assertions.assertTrue(popup.isContentRealized());
+            Assertions.assertNotNull(popup.getContentPane());
+            Assertions.assertEquals(1, createdContents.get());
+            Assertions.assertEquals(2, tabFrame.getRealizedPopupCount());
+
+            tabFrame.closeTab((TabFramePopup) popup);
+            // The content is only released once the hibernation delay has passed.
+            Assertions.assertTrue(popup.isContentRealized());
+        });
+
+        awaitHibernation();
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            Assertions.assertEquals(1, tabFrame.getRealizedPopupCount());
+
+            tabFrame.openTab((TabFramePopup) popup);
+            Assertions.assertTrue(popup.isContentRealized());
+            Assertions.assertEquals(2, createdContents.get());
+            Assertions.assertEquals(2, tabFrame.getRealizedPopupCount());
+        });
+    }
+
+    private void awaitHibernation() throws InterruptedException {
+        AtomicBoolean realized = new AtomicBoolean(true);
+        long end = System.currentTimeMillis() + TIMEOUT_MILLIS;
+        while (realized.get() && System.currentTimeMillis() < end) {
+            Thread.sleep(HIBERNATION_DELAY);
+            TestUtils.runOnSwingThreadNotThrowing(() -> realized.set(popup.isContentRealized()));
+        }
+        Assertions.assertFalse(realized.get(), "Content wasn't released after the hibernation delay");
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.util.GeometryScratch;
+
+class PaintAllocationTest {
+
+    private static final int SCRATCH_ITERATIONS = 100000;
+
+    @Test
+    void testScratchFrameDoesNotAllocate() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            for (int i = 0; i < SCRATCH_ITERATIONS; i++) {
+                useScratch();
+            }
+            long start = TestUtils.getAllocatedBytes();
+            for (int i = 0; i < SCRATCH_ITERATIONS; i++) {
+                useScratch();
+            }
+            // Allow for a constant overhead of the measurement itself.
+            long allocated = TestUtils.getAllocatedBytes() - start;
+            Assertions.assertTrue(allocated < SCRATCH_ITERATIONS, "Scratch frames allocated " + allocated + " bytes");
+            Assertions.assertEquals(0, GeometryScratch.getOpenFrameCount());
+        });
+    }
+
+    private static void useScratch() {
+        try (GeometryScratch outer = GeometryScratch.open()) {
+            Rectangle r = outer.rectangle(1, 2, 3, 4);
+            try (GeometryScratch inner = GeometryScratch.open()) {
+                Assertions.assertNotSame(r, inner.rectangle());
+                inner.insets(1, 2, 3, 4);
+            }
+            outer.dimension(r.width, r.height);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.components.IncrementalScreenCapture;
+import com.github.weisj.darklaf.components.ScreenCapture;
+
+class ScreenCaptureTest {
+
+    private static final int SIZE = 18;
+
+    private final BufferedImage screen = new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB);
+    private final ScreenCapture screenCapture = new ScreenCapture() {
+        @Override
+        public Color getPixelColor(final int x, final int y) {
+            return new Color(screen.getRGB(x, y));
+        }
+
+        @Override
+        public BufferedImage createScreenCapture(final Rectangle bounds) {
+            BufferedImage img = new BufferedImage(bounds.width, bounds.height, BufferedImage.TYPE_INT_RGB);
+            Graphics g = img.getGraphics();
+            g.drawImage(screen, -bounds.x, -bounds.y, null);
+            g.dispose();
+            return img;
+        }
+    };
+
+    ScreenCaptureTest() {
+        Random random = new Random(0);
+        for (int x = 0; x < screen.getWidth(); x++) {
+            for (int y = 0; y < screen.getHeight(); y++) {
+                screen.setRGB(x, y, random.nextInt());
+            }
+        }
+    }
+
+    @Test
+    void testIncrementalCaptureMatchesFullCapture() {
+        IncrementalScreenCapture capture = new IncrementalScreenCapture(screenCapture);
+        Rectangle bounds = new Rectangle(50, 50, SIZE, SIZE);
+        Assertions.assertEquals(SIZE * SIZE, capture.update(bounds, null));
+        assertMatchesScreen(capture, bounds);
+
+        int[][] moves = {{1, 0}, {0, 1}, {-3, 2}, {5, -4}, {0, 0}, {-1, -1}, {SIZE, 0}, {2, -SIZE - 1}};
+        for (int[] move : moves) {
+            bounds.translate(move[0], move[1]);
+            int captured = capture.update(bounds, null);
+            assertMatchesScreen(capture, bounds);
+            if (Math.abs(move[0]) < SIZE && Math.abs(move[1]) < SIZE) {
+                Assertions.assertTrue(captured < SIZE * SIZE, "Captured whole region for small move");
+            }
+        }
+    }
+
+    @Test
+    void testDirtyAreaIsCapturedAgain() {
+        IncrementalScreenCapture capture = new IncrementalScreenCapture(screenCapture);
+        Rectangle bounds = new Rectangle(20, 20, SIZE, SIZE);
+        capture.update(bounds, null);
+
+        Graphics g = screen.getGraphics();
+        g.setColor(Color.RED);
+        g.fillRect(25, 25, 5, 5);
+        g.dispose();
+
+        bounds.translate(1, 1);
+        Assertions.assertEquals(2 * SIZE - 1 + 25, capture.update(bounds, new Rectangle(25, 25, 5, 5)));
+        assertMatchesScreen(capture, bounds);
+    }
+
+    @Test
+    void testDirtyAreaMovingWithRegion() {
+        BufferedImage background = new BufferedImage(screen.getWidth(), screen.getHeight(), screen.getType());
+        background.setData(screen.getData());
+        IncrementalScreenCapture capture = new IncrementalScreenCapture(screenCapture);
+        // The window overlaps the lower left part of the region, like the picker window of the pipette.
+        Rectangle window = new Rectangle(40, 60, 12, 12);
+        Rectangle bounds = new Rectangle(window.x - 6, window.y + 6, SIZE, SIZE);
+        drawWindow(background, window);
+        capture.update(bounds, window);
+        assertMatchesScreen(capture, bounds);
+
+        int[][] moves = {{1, 0}, {2, 3}, {-4, 1}, {0, -2}, {3, -3}};
+        for (int[] move : moves) {
+            Rectangle previousWindow = new Rectangle(window);
+            window.translate(move[0], move[1]);
+            bounds.translate(move[0], move[1]);
+            drawWindow(background, window);
+            capture.update(bounds, window.union(previousWindow));
+            assertMatchesScreen(capture, bounds);
+        }
+    }
+
+    private void drawWindow(final BufferedImage background, final Rectangle window) {
+        Graphics g = screen.getGraphics();
+        g.drawImage(background, 0, 0, null);
+        g.setColor(Color.RED);
+        g.fillRect(window.x, window.y, window.width, window.height);
+        g.dispose();
+    }
+
+    private void assertMatchesScreen(final IncrementalScreenCapture capture, final Rectangle bounds) {
+        BufferedImage img = capture.getImage();
+        for (int x = 0; x < bounds.width; x++) {
+            for (int y = 0; y < bounds.height; y++) {
+                Assertions.assertEquals(screen.getRGB(bounds.x + x, bounds.y + y) | 0xFF000000,
+                        img.getRGB(x, y) | 0xFF000000, "Pixel mismatch at " + x + "," + y);
+            }
+        }
+    }
+}
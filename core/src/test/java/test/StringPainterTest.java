@@ -0,0 +1,185 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+import javax.swing.*;
+import javax.swing.plaf.basic.BasicHTML;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Position;
+import javax.swing.text.View;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.graphics.StringPainter;
+
+class StringPainterTest {
+
+    private static final String TEXT = "Cached text";
+    private static final int WIDTH = 200;
+    private static final int HEIGHT = 40;
+
+    private boolean translucentAAPaintingForced;
+    private boolean translucentAAPaintingEnabled;
+    private JWindow window;
+    private JLabel label;
+
+    @BeforeEach
+    void setup() {
+        Assumptions.assumeFalse(GraphicsEnvironment.isHeadless());
+        translucentAAPaintingForced = StringPainter.isTranslucentAAPaintingForced();
+        translucentAAPaintingEnabled = StringPainter.isTranslucentAAPaintingEnabled();
+        StringPainter.setTranslucentAAPaintingForced(true);
+        StringPainter.setTranslucentAAPaintingEnabled(true);
+        StringPainter.clearTextCache();
+
+        // The label is opaque, but lies inside a translucent panel.
+        label = new JLabel(TEXT);
+        label.setBackground(Color.WHITE);
+        JPanel panel = new JPanel();
+        panel.setBackground(new Color(255, 255, 255, 128));
+        panel.add(label);
+        window = new JWindow();
+        window.setContentPane(panel);
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (window != null) window.dispose();
+        StringPainter.setTranslucentAAPaintingForced(translucentAAPaintingForced);
+        StringPainter.setTranslucentAAPaintingEnabled(translucentAAPaintingEnabled);
+        StringPainter.clearTextCache();
+    }
+
+    @Test
+    void testBufferedTextMatchesUnbufferedPainting() {
+        StringPainter.setTranslucentAAPaintingEnabled(false);
+        BufferedImage expected = paint();
+        StringPainter.setTranslucentAAPaintingEnabled(true);
+        BufferedImage rendered = paint();
+        BufferedImage cached = paint();
+        assertImageEquals(expected, rendered, "Rendered text");
+        assertImageEquals(expected, cached, "Cached text");
+    }
+
+    @Test
+    void testTextIsServedFromCache() {
+        paint();
+        long cachedBytes = measureAllocatedBytes();
+        StringPainter.clearTextCache();
+        long renderedBytes = measureAllocatedBytes();
+        Dimension size = getTextSize();
+        Assertions.assertTrue(renderedBytes >= 4L * size.width * size.height,
+                "Text wasn't rendered into a buffer. Allocated " + renderedBytes + " bytes");
+        Assertions.assertTrue(cachedBytes < renderedBytes / 2,
+                "Text wasn't served from the cache. Allocated " + cachedBytes + " of " + renderedBytes + " bytes");
+    }
+
+    @Test
+    void testHtmlViewIsNeverCached() {
+        CountingView view = new CountingView();
+        label.putClientProperty(BasicHTML.propertyKey, view);
+        paint();
+        paint();
+        Assertions.assertEquals(2, view.paintCount);
+    }
+
+    private long measureAllocatedBytes() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = prepareGraphics(image);
+        Rectangle textRect = new Rectangle(new Point(2, 2), getTextSize());
+        FontMetrics fm = label.getFontMetrics(label.getFont());
+        long before = TestUtils.getAllocatedBytes();
+        StringPainter.drawString(g, label, TEXT, textRect, fm);
+        long allocated = TestUtils.getAllocatedBytes() - before;
+        g.dispose();
+        return allocated;
+    }
+
+    private BufferedImage paint() {
+        BufferedImage image = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = prepareGraphics(image);
+        StringPainter.drawString(g, label, TEXT, new Rectangle(new Point(2, 2), getTextSize()),
+                label.getFontMetrics(label.getFont()));
+        g.dispose();
+        return image;
+    }
+
+    private Graphics2D prepareGraphics(final BufferedImage image) {
+        Graphics2D g = image.createGraphics();
+        g.setColor(label.getBackground());
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        g.setColor(Color.BLACK);
+        g.setFont(label.getFont());
+        return g;
+    }
+
+    private Dimension getTextSize() {
+        FontMetrics fm = label.getFontMetrics(label.getFont());
+        return new Dimension(fm.stringWidth(TEXT), fm.getHeight());
+    }
+
+    private static void assertImageEquals(final BufferedImage expected, final BufferedImage actual,
+            final String message) {
+        for (int y = 0; y < expected.getHeight(); y++) {
+            for (int x = 0; x < expected.getWidth(); x++) {
+                Assertions.assertEquals(expected.getRGB(x, y), actual.getRGB(x, y),
+                        message + " differs at (" + x + ", " + y + ")");
+            }
+        }
+    }
+
+    private static final class CountingView extends View {
+
+        private int paintCount;
+
+        private CountingView() {
+            super(null);
+        }
+
+        @Override
+        public float getPreferredSpan(final int axis) {
+            return 0;
+        }
+
+        @Override
+        public void paint(final Graphics g, final Shape allocation) {
+            paintCount++;
+        }
+
+        @Override
+        public Shape modelToView(final int pos, final Shape a, final Position.Bias b) throws BadLocationException {
+            return a;
+        }
+
+        @Override
+        public int viewToModel(final float x, final float y, final Shape a, final Position.Bias[] biasReturn) {
+            return 0;
+        }
+    }
+}
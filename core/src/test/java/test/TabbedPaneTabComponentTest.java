@@ -0,0 +1,128 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.components.ClosableTabbedPane;
+import com.github.weisj.darklaf.ui.tabbedpane.DarkTabbedPaneUI;
+
+class TabbedPaneTabComponentTest {
+
+    private static final int TAB_COUNT = 60;
+
+    private JFrame frame;
+    private ClosableTabbedPane tabbedPane;
+
+    @BeforeEach
+    void setup() {
+        Assumptions.assumeFalse(GraphicsEnvironment.isHeadless());
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            LafManager.install();
+            tabbedPane = new ClosableTabbedPane();
+            tabbedPane.setTabLayoutPolicy(JTabbedPane.SCROLL_TAB_LAYOUT);
+            for (int i = 0; i < TAB_COUNT; i++) {
+                tabbedPane.addTab("Tab " + i, new JLabel("Content " + i));
+            }
+            frame = new JFrame();
+            frame.setContentPane(tabbedPane);
+            frame.setSize(400, 200);
+            frame.validate();
+        });
+    }
+
+    @AfterEach
+    void cleanup() {
+        if (frame != null) TestUtils.runOnSwingThreadNotThrowing(frame::dispose);
+    }
+
+    @Test
+    void testTabComponentsAreDetachedOutsideOfView() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            int[] selectedTabs = {0, TAB_COUNT / 2, TAB_COUNT - 1, 0};
+            for (int selected : selectedTabs) {
+                selectTab(selected);
+                assertTabComponentState();
+                Assertions.assertNotNull(tabbedPane.getTabComponentAt(selected).getParent(),
+                        "Tab component of selected tab " + selected + " is detached");
+            }
+        });
+    }
+
+    @Test
+    void testOrientationIsAppliedOnReattach() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            selectTab(TAB_COUNT - 1);
+            Component first = tabbedPane.getTabComponentAt(0);
+            Assertions.assertNull(first.getParent(), "Tab component of the first tab is still attached");
+
+            frame.applyComponentOrientation(ComponentOrientation.RIGHT_TO_LEFT);
+            Assertions.assertTrue(first.getComponentOrientation().isLeftToRight());
+
+            selectTab(0);
+            Assertions.assertNotNull(first.getParent());
+            Assertions.assertFalse(first.getComponentOrientation().isLeftToRight());
+            assertTabComponentState();
+        });
+    }
+
+    private void selectTab(final int index) {
+        tabbedPane.setSelectedIndex(index);
+        tabbedPane.invalidate();
+        frame.validate();
+    }
+
+    /*
+     * Tab components are attached if and only if their tab lies within the tab area grown by half its
+     * size on each side. Attached components are placed inside of their tab.
+     */
+    private void assertTabComponentState() {
+        Rectangle area = ((DarkTabbedPaneUI) tabbedPane.getUI()).getTabAreaBounds();
+        area.grow(area.width / 2, area.height / 2);
+        int detached = 0;
+        for (int i = 0; i < TAB_COUNT; i++) {
+            Component c = tabbedPane.getTabComponentAt(i);
+            Rectangle tabBounds = tabbedPane.getBoundsAt(i);
+            boolean attached = c.getParent() != null;
+            Assertions.assertEquals(tabBounds.intersects(area), attached,
+                    "Tab " + i + " at " + tabBounds + " has wrong attachment state for area " + area);
+            if (attached) {
+                Rectangle bounds = SwingUtilities.convertRectangle(c.getParent(), c.getBounds(), tabbedPane);
+                Point center = new Point((int) bounds.getCenterX(), (int) bounds.getCenterY());
+                Assertions.assertTrue(tabBounds.contains(center),
+                        "Tab component " + bounds + " isn't placed inside of tab " + i + " at " + tabBounds);
+            } else {
+                detached++;
+            }
+        }
+        Assertions.assertTrue(detached > 0, "No tab component is detached");
+    }
+}
@@ -21,17 +21,35 @@
  */
 package test;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
 import java.lang.reflect.InvocationTargetException;
 import java.util.concurrent.atomic.AtomicReference;
 
 import javax.swing.*;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
 
 class TestUtils {
 
     private TestUtils() {}
 
+    /**
+     * Returns the number of bytes allocated by the current thread so far. Skips the test if the jvm
+     * doesn't support measuring allocations.
+     *
+     * @return the allocated bytes.
+     */
+    static long getAllocatedBytes() {
+        ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(bean instanceof com.sun.management.ThreadMXBean);
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean) bean;
+        Assumptions.assumeTrue(threadBean.isThreadAllocatedMemorySupported());
+        threadBean.setThreadAllocatedMemoryEnabled(true);
+        return threadBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
     static void runOnSwingThreadNotThrowing(final Runnable action) {
         AtomicReference<Exception> exceptionRef = new AtomicReference<>();
         try {
@@ -0,0 +1,102 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.theme.event.ThemeEvent;
+import com.github.weisj.darklaf.theme.event.ThemeEventListener;
+import com.github.weisj.darklaf.theme.event.ThemeEventSupport;
+
+class ThemeEventSupportTest {
+
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private final ThemeEventSupport<ThemeEvent, ThemeEventListener<ThemeEvent>> support = new ThemeEventSupport<>();
+    private final ThemeEvent event = new ThemeEvent() {};
+
+    @Test
+    void testListenerRemovingItselfDuringDispatch() {
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        ThemeEventListener<ThemeEvent> removing = new ThemeEventListener<ThemeEvent>() {
+            @Override
+            public void onEvent(final ThemeEvent e) {
+                calls.add("removing");
+                support.removeListener(this);
+            }
+        };
+        support.addListener(removing);
+        support.addListener(e -> calls.add("other"));
+
+        support.dispatchEvent(event);
+        Assertions.assertEquals(Arrays.asList("removing", "other"), calls);
+
+        calls.clear();
+        support.dispatchEvent(event);
+        Assertions.assertEquals(Collections.singletonList("other"), calls);
+    }
+
+    @Test
+    void testAsyncListenersAreNotifiedOnBackgroundThread() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Thread> thread = new AtomicReference<>();
+        AtomicReference<ThemeEvent> received = new AtomicReference<>();
+        support.addAsyncListener(e -> {
+            thread.set(Thread.currentThread());
+            received.set(e);
+            latch.countDown();
+        });
+
+        support.dispatchEvent(event);
+        Assertions.assertTrue(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS), "Async listener wasn't notified");
+        Assertions.assertSame(event, received.get());
+        Assertions.assertNotSame(Thread.currentThread(), thread.get());
+        Assertions.assertTrue(thread.get().isDaemon());
+    }
+
+    @Test
+    void testAsyncListenerExceptionsAreIsolated() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(2);
+        List<String> calls = Collections.synchronizedList(new ArrayList<>());
+        support.addAsyncListener(e -> {
+            throw new IllegalStateException("Expected exception of the test");
+        });
+        support.addAsyncListener(e -> latch.countDown());
+        support.addListener(e -> calls.add("sync"));
+
+        support.dispatchEvent(event);
+        Assertions.assertEquals(Collections.singletonList("sync"), calls);
+        // The executor keeps working after a listener has thrown.
+        support.dispatchEvent(event);
+        Assertions.assertTrue(latch.await(TIMEOUT_SECONDS, TimeUnit.SECONDS),
+                "Exception of an async listener prevented the notification of the others");
+    }
+}
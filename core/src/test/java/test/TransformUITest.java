@@ -0,0 +1,120 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package test;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.swing.*;
+
+import org.jdesktop.jxlayer.JXLayer;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.pbjar.jxlayer.plaf.ext.TransformUI;
+
+class TransformUITest {
+
+    private static final int SIZE = 100;
+
+    private final List<Rectangle> renderedRegions = new ArrayList<>();
+    private TransformUI ui;
+    private JXLayer<JComponent> layer;
+    private JComponent view;
+
+    @BeforeEach
+    void setup() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            view = new JComponent() {
+                @Override
+                protected void paintComponent(final Graphics g) {
+                    renderedRegions.add(g.getClipBounds());
+                }
+            };
+            view.setPreferredSize(new Dimension(SIZE, SIZE));
+            ui = new TransformUI();
+            ui.setBufferedRendering(true);
+            layer = new JXLayer<>(view, ui);
+            layer.setSize(SIZE, SIZE);
+            layer.doLayout();
+            paintLayer();
+            renderedRegions.clear();
+        });
+    }
+
+    @Test
+    void testOnlyReportedRegionsAreRendered() {
+        TestUtils.runOnSwingThreadNotThrowing(() -> {
+            paintLayer();
+            Assertions.assertTrue(renderedRegions.isEmpty(), "Clean buffer was rendered again " + renderedRegions);
+
+            Rectangle region = new Rectangle(10, 20, 5, 7);
+            addDirtyRegion(region);
+            paintLayer();
+            Assertions.assertEquals(1, renderedRegions.size());
+            Assertions.assertEquals(region, renderedRegions.get(0));
+        });
+    }
+
+    @Test
+    void testRegionFromOtherThreadIsNotLost() throws InterruptedException {
+        List<Rectangle> reported = new ArrayList<>();
+        for (int i = 0; i < SIZE * SIZE; i += 7) {
+            reported.add(new Rectangle(i % SIZE, i / SIZE, 1, 1));
+        }
+        Thread thread = new Thread(() -> {
+            for (Rectangle region : reported) {
+                addDirtyRegion(region);
+            }
+        });
+        thread.start();
+        while (thread.isAlive()) {
+            TestUtils.runOnSwingThreadNotThrowing(this::paintLayer);
+        }
+        thread.join();
+        // The repaint manager schedules a repaint after each reported region.
+        TestUtils.runOnSwingThreadNotThrowing(this::paintLayer);
+
+        for (Rectangle region : reported) {
+            Assertions.assertTrue(renderedRegions.stream().anyMatch(r -> r.contains(region)),
+                    "Region " + region + " was never rendered");
+        }
+    }
+
+    private void addDirtyRegion(final Rectangle viewRegion) {
+        Rectangle region = new Rectangle(viewRegion);
+        region.translate(view.getX(), view.getY());
+        ui.addDirtyRegion(region, layer);
+    }
+
+    private void paintLayer() {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            ui.paint(g, layer);
+        } finally {
+            g.dispose();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package ui.colorChooser;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.logging.Logger;
+
+import javax.swing.*;
+
+import ui.ComponentDemo;
+
+import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.ui.colorchooser.ColorTriangle;
+
+/**
+ * Reports the time of a full redraw of a {@link ColorTriangle} at scale 2. Every redraw changes the hue,
+ * which invalidates both the cached triangle and the indicators.
+ */
+public final class ColorTriangleRedrawDemo {
+
+    private static final int SIZE = 400;
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = 50;
+
+    public static void main(final String[] args) {
+        SwingUtilities.invokeLater(() -> {
+            LafManager.install(ComponentDemo.getTheme());
+            ColorTriangle triangle = new ColorTriangle();
+            triangle.setSize(SIZE, SIZE);
+            BufferedImage img = new BufferedImage(2 * SIZE, 2 * SIZE, BufferedImage.TYPE_INT_ARGB);
+            for (int i = 0; i < WARMUP; i++) {
+                redraw(triangle, img, i);
+            }
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                redraw(triangle, img, i);
+            }
+            long nanos = (System.nanoTime() - start) / ITERATIONS;
+            Logger.getGlobal().info("ColorTriangle: " + nanos / 1000 + " us per full redraw");
+        });
+    }
+
+    private static void redraw(final ColorTriangle triangle, final BufferedImage img, final int i) {
+        triangle.setColor(null, Color.getHSBColor(i / (float) ITERATIONS, 0.5f, 0.5f));
+        Graphics2D g = img.createGraphics();
+        g.scale(2, 2);
+        triangle.paint(g);
+        g.dispose();
+    }
+}
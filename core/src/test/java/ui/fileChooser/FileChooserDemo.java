@@ -28,6 +28,7 @@ import javax.swing.filechooser.FileNameExtensionFilter;
 import ui.ComponentDemo;
 
 import com.github.weisj.darklaf.LafManager;
+import com.github.weisj.darklaf.ui.filechooser.DarkFileChooserUI;
 import com.github.weisj.darklaf.util.DarkUIUtil;
 
 public final class FileChooserDemo {
@@ -38,6 +39,7 @@ public final class FileChooserDemo {
             JFileChooser chooser = new JFileChooser(System.getProperty("user.home"));
             chooser.addChoosableFileFilter(new FileNameExtensionFilter("Test Filter", ".svg"));
             chooser.setMultiSelectionEnabled(true);
+            chooser.putClientProperty(DarkFileChooserUI.KEY_SHOW_FILTER_FIELD, true);
             SwingUtilities.invokeLater(() -> DarkUIUtil.getWindow(chooser).toFront());
             chooser.showOpenDialog(null);
         });
@@ -0,0 +1,211 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.util.*;
+
+import javax.swing.*;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+
+/**
+ * Records which properties have been derived from which other properties through references while
+ * they are loaded by the {@link PropertyLoader}. The graph can then be used to change the value of
+ * some properties and update all properties depending on them without loading all properties
+ * again.
+ *
+ * @see PropertyLoader#recordDependencies(PropertyDependencyGraph, Map)
+ */
+public final class PropertyDependencyGraph {
+
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<String, Set<String>> dependents = new HashMap<>();
+    private final Set<String> references = new HashSet<>();
+
+    /**
+     * Returns the number of recorded properties.
+     *
+     * @return the number of properties.
+     */
+    public int size() {
+        return nodes.size();
+    }
+
+    /**
+     * Returns the keys of all properties which reference the given property directly.
+     *
+     * @param key the key of the property.
+     * @return the keys of the dependent properties.
+     */
+    public Set<String> getDependents(final String key) {
+        Set<String> deps = dependents.get(key);
+        return deps != null ? Collections.unmodifiableSet(deps) : Collections.emptySet();
+    }
+
+    /**
+     * Returns the keys of all properties the given property references directly.
+     *
+     * @param key the key of the property.
+     * @return the keys of the referenced properties.
+     */
+    public Set<String> getReferences(final String key) {
+        Node node = nodes.get(key);
+        return node != null ? Collections.unmodifiableSet(node.references) : Collections.emptySet();
+    }
+
+    /**
+     * Updates the given property and propagates the change to all properties depending on it.
+     *
+     * @param key the key of the property.
+     * @param value the new value.
+     * @param values the property values to update.
+     * @param currentDefaults the defaults used to resolve references which aren't contained in the values.
+     * @return the keys of all changed properties.
+     * @see #update(Map, Map, UIDefaults)
+     */
+    public Set<String> update(final String key, final Object value, final Map<Object, Object> values,
+            final UIDefaults currentDefaults) {
+        return update(Collections.singletonMap(key, value), values, currentDefaults);
+    }
+
+    /**
+     * Updates the given properties and propagates the changes to all properties depending on them in
+     * topological order. A dependent property is evaluated again from its original definition if one
+     * of the properties it references has changed. Dependent properties whose value doesn't match the
+     * recorded value anymore have been overwritten after loading and are left untouched, as are the
+     * properties depending on them.
+     *
+     * @param changes the new values of the properties.
+     * @param values the property values to update.
+     * @param currentDefaults the defaults used to resolve references which aren't contained in the values.
+     * @return the keys of all changed properties.
+     */
+    public Set<String> update(final Map<String, Object> changes, final Map<Object, Object> values,
+            final UIDefaults currentDefaults) {
+        Set<String> changed = new LinkedHashSet<>();
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            String key = change.getKey();
+            Object value = change.getValue();
+            if (Objects.equals(values.get(key), value)) continue;
+            if (value != null) {
+                values.put(key, value);
+            } else {
+                values.remove(key);
+            }
+            Node node = nodes.get(key);
+            if (node != null) node.value = value;
+            changed.add(key);
+        }
+        if (changed.isEmpty()) return changed;
+
+        Map<String, Integer> inDegree = new HashMap<>();
+        Deque<String> stack = new ArrayDeque<>(changed);
+        while (!stack.isEmpty()) {
+            for (String dependent : getDependents(stack.pop())) {
+                if (inDegree.merge(dependent, 1, Integer::sum) == 1) stack.push(dependent);
+            }
+        }
+        Deque<String> queue = new ArrayDeque<>();
+        for (String key : changed) {
+            if (!inDegree.containsKey(key)) queue.add(key);
+        }
+        while (!queue.isEmpty()) {
+            String key = queue.poll();
+            if (!changed.contains(key)) evaluate(key, changed, values, currentDefaults);
+            for (String dependent : getDependents(key)) {
+                if (inDegree.merge(dependent, -1, Integer::sum) == 0) queue.add(dependent);
+            }
+        }
+        return changed;
+    }
+
+    private void evaluate(final String key, final Set<String> changed, final Map<Object, Object> values,
+            final UIDefaults currentDefaults) {
+        Node node = nodes.get(key);
+        if (node == null || Collections.disjoint(node.references, changed)) return;
+        if (!Objects.equals(values.get(key), node.value)) return;
+        Object value = PropertyLoader.parseValue(node.propertyKey, node.definition, values, currentDefaults,
+                node.iconLoader);
+        if (value == null || Objects.equals(value, node.value)) return;
+        values.put(key, value);
+        node.value = value;
+        changed.add(key);
+    }
+
+    /*
+     * Called by the property loader before a property is parsed.
+     */
+    void beginProperty() {
+        references.clear();
+    }
+
+    /*
+     * Called by the property loader for every reference encountered while parsing a property.
+     */
+    void addReference(final String key) {
+        references.add(key);
+    }
+
+    /*
+     * Called by the property loader after a property has been put into the values.
+     */
+    void record(final String key, final String propertyKey, final String definition, final Object value,
+            final IconLoader iconLoader) {
+        remove(key);
+        Set<String> refs = new HashSet<>(references);
+        refs.remove(key);
+        nodes.put(key, new Node(propertyKey, definition, value, refs, iconLoader));
+        for (String ref : refs) {
+            dependents.computeIfAbsent(ref, k -> new HashSet<>()).add(key);
+        }
+        references.clear();
+    }
+
+    /*
+     * Called by the property loader after a property has been removed.
+     */
+    void remove(final String key) {
+        Node old = nodes.remove(key);
+        if (old == null) return;
+        for (String ref : old.references) {
+            Set<String> deps = dependents.get(ref);
+            if (deps != null) deps.remove(key);
+        }
+    }
+
+    private static final class Node {
+        private final String propertyKey;
+        private final String definition;
+        private final Set<String> references;
+        private final IconLoader iconLoader;
+        private Object value;
+
+        private Node(final String propertyKey, final String definition, final Object value,
+                final Set<String> references, final IconLoader iconLoader) {
+            this.propertyKey = propertyKey;
+            this.definition = definition;
+            this.value = value;
+            this.references = references;
+            this.iconLoader = iconLoader;
+        }
+    }
+}
@@ -76,6 +76,7 @@ public final class PropertyLoader {
     private static final char PAIR_SEPARATOR = ':';
 
     private static boolean debugMode;
+    private static final ThreadLocal<Recording> recording = new ThreadLocal<>();
 
     private static final Map<AttributedCharacterIterator.Attribute, Integer> attributes = Collections.emptyMap();
 
@@ -87,6 +88,22 @@ public final class PropertyLoader {
         return debugMode;
     }
 
+    /**
+     * Records the references between all properties which are put into the given accumulator by the
+     * current thread into the dependency graph. Recording is stopped by passing null as the graph.
+     *
+     * @param graph the graph to record into or null to stop recording.
+     * @param accumulator the accumulator whose properties should be recorded.
+     */
+    public static void recordDependencies(final PropertyDependencyGraph graph,
+            final Map<Object, Object> accumulator) {
+        if (graph == null) {
+            recording.remove();
+        } else {
+            recording.set(new Recording(graph, accumulator));
+        }
+    }
+
     public static Properties loadProperties(final Class<?> clazz, final String name, final String path) {
         final Properties properties = new Properties();
         String p = path + name + ".properties";
@@ -119,15 +136,20 @@ public final class PropertyLoader {
 
     public static void putProperties(final Map<Object, Object> properties, final Set<String> keys,
             final Map<Object, Object> accumulator, final UIDefaults currentDefaults, final IconLoader iconLoader) {
+        Recording rec = recording.get();
+        PropertyDependencyGraph graph = rec != null && rec.accumulator == accumulator ? rec.graph : null;
         for (final String key : keys) {
             final String value = properties.get(key).toString();
+            if (graph != null) graph.beginProperty();
             Object parsed = parseValue(key, value, accumulator, currentDefaults, iconLoader);
             if (parsed != null) {
                 String k = parseKey(key);
                 if (parsed instanceof FallbackValue && accumulator.containsKey(k)) continue;
                 accumulator.put(parseKey(key), parsed);
+                if (graph != null) graph.record(k, key, value, parsed, iconLoader);
             } else {
                 currentDefaults.remove(parseKey(key));
+                if (graph != null) graph.remove(parseKey(key));
             }
         }
     }
@@ -248,6 +270,7 @@ public final class PropertyLoader {
             LOGGER.warning("Could not reference value '" + val + "' while loading '" + key + "'. "
                     + "Maybe is a forward reference");
         }
+        addReference(val);
         Object returnVal = accumulatorContainsKey ? accumulator.get(val) : currentDefault.get(val);
         if (debugMode) {
             if (returnVal == null) {
@@ -351,6 +374,7 @@ public final class PropertyLoader {
         int index = key.indexOf(ARG_END);
         String rest = key.substring(index + 1);
         key = key.substring(0, index);
+        addReference(key);
         Font font = null;
         if (accumulator.get(key) instanceof Font) font = (Font) accumulator.get(key);
         if (font == null) font = currentDefaults.getFont(key);
@@ -460,6 +484,11 @@ public final class PropertyLoader {
         return null;
     }
 
+    private static void addReference(final String key) {
+        Recording rec = recording.get();
+        if (rec != null) rec.graph.addReference(key);
+    }
+
     public static String asKey(final String key) {
         if (debugMode) return REFERENCE_PREFIX + key;
         return key;
@@ -500,6 +529,16 @@ public final class PropertyLoader {
         }
     }
 
+    private static final class Recording {
+        private final PropertyDependencyGraph graph;
+        private final Map<Object, Object> accumulator;
+
+        private Recording(final PropertyDependencyGraph graph, final Map<Object, Object> accumulator) {
+            this.graph = graph;
+            this.accumulator = accumulator;
+        }
+    }
+
     private static class FallbackValue {
         private final Object value;
 
@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2020 Jannis Weis
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy of this software and
+ * associated documentation files (the "Software"), to deal in the Software without restriction,
+ * including without limitation the rights to use, copy, modify, merge, publish, distribute,
+ * sublicense, and/or sell copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all copies or
+ * substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR IMPLIED, INCLUDING BUT
+ * NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY, FITNESS FOR A PARTICULAR PURPOSE AND
+ * NONINFRINGEMENT. IN NO EVENT SHALL THE AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM,
+ * DAMAGES OR OTHER LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE SOFTWARE.
+ *
+ */
+package com.github.weisj.darklaf;
+
+import java.awt.*;
+import java.util.List;
+import java.util.*;
+
+import javax.swing.*;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.weisj.darklaf.icons.IconLoader;
+import com.github.weisj.darklaf.util.Pair;
+
+class PropertyDependencyGraphTest {
+
+    @Test
+    void testChangesArePropagated() {
+        Properties definitions = new Properties();
+        definitions.put("base", "FF0000");
+        definitions.put("derived", "%base");
+        definitions.put("derivedTwice", "%derived");
+        definitions.put("overwritten", "%base");
+        definitions.put("independent", "00FF00");
+
+        // Keep the definition order so no property is referenced before it is defined.
+        Set<String> keys =
+                new LinkedHashSet<>(Arrays.asList("base", "derived", "derivedTwice", "overwritten", "independent"));
+        Map<Object, Object> values = new HashMap<>();
+        UIDefaults defaults = new UIDefaults();
+        PropertyDependencyGraph graph = new PropertyDependencyGraph();
+        PropertyLoader.recordDependencies(graph, values);
+        try {
+            PropertyLoader.putProperties(definitions, keys, values, defaults, IconLoader.get());
+        } finally {
+            PropertyLoader.recordDependencies(null, null);
+        }
+        Assertions.assertEquals(5, graph.size());
+        Assertions.assertEquals(Collections.singleton("base"), graph.getReferences("derived"));
+
+        values.put("overwritten", Color.BLUE);
+        Set<String> changed = graph.update("base", Color.BLACK, values, defaults);
+
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("base", "derived", "derivedTwice")), changed);
+        Assertions.assertEquals(Color.BLACK, values.get("derived"));
+        Assertions.assertEquals(Color.BLACK, values.get("derivedTwice"));
+        Assertions.assertEquals(Color.BLUE, values.get("overwritten"));
+        Assertions.assertEquals(new Color(0x00FF00), values.get("independent"));
+    }
+
+    @Test
+    void testDiamondIsEvaluatedOnceInTopologicalOrder() {
+        Properties definitions = new Properties();
+        definitions.put("base", "FF0000");
+        definitions.put("left", "%base");
+        definitions.put("right", "%base");
+        definitions.put("bottom", "%left:%right");
+
+        Set<String> keys = new LinkedHashSet<>(Arrays.asList("base", "left", "right", "bottom"));
+        Map<Object, Integer> reads = new HashMap<>();
+        Map<Object, Object> values = new HashMap<Object, Object>() {
+            @Override
+            public Object get(final Object key) {
+                reads.merge(key, 1, Integer::sum);
+                return super.get(key);
+            }
+        };
+        UIDefaults defaults = new UIDefaults();
+        PropertyDependencyGraph graph = new PropertyDependencyGraph();
+        PropertyLoader.recordDependencies(graph, values);
+        try {
+            PropertyLoader.putProperties(definitions, keys, values, defaults, IconLoader.get());
+        } finally {
+            PropertyLoader.recordDependencies(null, null);
+        }
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("left", "right")), graph.getReferences("bottom"));
+
+        reads.clear();
+        Set<String> changed = graph.update("base", Color.BLACK, values, defaults);
+
+        List<String> order = new ArrayList<>(changed);
+        Assertions.assertEquals(4, order.size());
+        Assertions.assertEquals("base", order.get(0));
+        Assertions.assertEquals(new HashSet<>(Arrays.asList("left", "right")),
+                new HashSet<>(order.subList(1, 3)));
+        Assertions.assertEquals("bottom", order.get(3));
+        // The bottom value is only read when it is evaluated, so both paths have to share one evaluation.
+        Assertions.assertEquals(Integer.valueOf(1), reads.get("bottom"));
+
+        Pair<?, ?> bottom = (Pair<?, ?>) values.get("bottom");
+        Assertions.assertEquals(Color.BLACK, bottom.getFirst());
+        Assertions.assertEquals(Color.BLACK, bottom.getSecond());
+    }
+}
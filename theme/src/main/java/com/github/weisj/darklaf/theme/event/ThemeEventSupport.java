@@ -21,32 +21,125 @@
  */
 package com.github.weisj.darklaf.theme.event;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import com.github.weisj.darklaf.util.LogUtil;
+
+/**
+ * Dispatches theme events to listeners. The listeners are stored in copy-on-write arrays, so
+ * dispatching neither locks nor allocates and listeners may be added or removed while an event is
+ * dispatched. Listeners added with {@link #addAsyncListener(ThemeEventListener)} receive events on a
+ * dedicated background thread instead of the dispatching thread. This is meant for listeners which
+ * don't touch any ui e.g. listeners persisting settings.
+ *
+ * <p>If the log level is {@link Level#FINE} or lower the time each listener takes to process an
+ * event is logged.
+ *
+ * @param <E> the event type.
+ * @param <T> the listener type.
+ */
 public class ThemeEventSupport<E extends ThemeEvent, T extends ThemeEventListener<E>> {
 
-    private final List<T> listenerList = Collections.synchronizedList(new ArrayList<>());
+    private static final Logger LOGGER = LogUtil.getLogger(ThemeEventSupport.class);
+    private static final Object[] EMPTY = new Object[0];
+    private static ExecutorService asyncExecutor;
+
+    private volatile Object[] listeners = EMPTY;
+    private volatile Object[] asyncListeners = EMPTY;
+
+    private static synchronized ExecutorService getAsyncExecutor() {
+        if (asyncExecutor == null) {
+            asyncExecutor = Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "Theme Event Thread");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return asyncExecutor;
+    }
 
     public void addListener(final T listener) {
-        listenerList.add(listener);
+        if (listener == null) return;
+        synchronized (this) {
+            listeners = add(listeners, listener);
+        }
+    }
+
+    /**
+     * Adds a listener which receives events on a background thread. The listener must not access
+     * any ui components.
+     *
+     * @param listener the listener.
+     */
+    public void addAsyncListener(final T listener) {
+        if (listener == null) return;
+        synchronized (this) {
+            asyncListeners = add(asyncListeners, listener);
+        }
     }
 
     public void removeListener(final T listener) {
-        listenerList.remove(listener);
+        synchronized (this) {
+            listeners = remove(listeners, listener);
+            asyncListeners = remove(asyncListeners, listener);
+        }
+    }
+
+    private static Object[] add(final Object[] array, final Object listener) {
+        Object[] newArray = Arrays.copyOf(array, array.length + 1);
+        newArray[array.length] = listener;
+        return newArray;
+    }
+
+    private static Object[] remove(final Object[] array, final Object listener) {
+        for (int i = 0; i < array.length; i++) {
+            if (array[i].equals(listener)) {
+                Object[] newArray = new Object[array.length - 1];
+                System.arraycopy(array, 0, newArray, 0, i);
+                System.arraycopy(array, i + 1, newArray, i, array.length - i - 1);
+                return newArray;
+            }
+        }
+        return array;
     }
 
     public void dispatchEvent(final E event) {
         dispatchEvent(event, ThemeEventListener::onEvent);
     }
 
+    @SuppressWarnings("unchecked")
     public void dispatchEvent(final E event, final BiConsumer<T, E> consumer) {
-        for (T listener : listenerList) {
-            if (listener != null) {
-                consumer.accept(listener, event);
-            }
+        Object[] async = asyncListeners;
+        if (async.length > 0) {
+            getAsyncExecutor().execute(() -> {
+                for (Object listener : async) {
+                    try {
+                        notifyListener((T) listener, event, consumer);
+                    } catch (RuntimeException e) {
+                        LOGGER.log(Level.SEVERE, "Exception in theme event listener " + listener, e);
+                    }
+                }
+            });
+        }
+        Object[] sync = listeners;
+        for (Object listener : sync) {
+            notifyListener((T) listener, event, consumer);
+        }
+    }
+
+    private void notifyListener(final T listener, final E event, final BiConsumer<T, E> consumer) {
+        if (!LOGGER.isLoggable(Level.FINE)) {
+            consumer.accept(listener, event);
+            return;
         }
+        long start = System.nanoTime();
+        consumer.accept(listener, event);
+        double millis = (System.nanoTime() - start) / 1_000_000.0;
+        LOGGER.fine(() -> "Listener " + listener + " took " + millis + "ms to process " + event);
     }
 }
@@ -81,11 +81,29 @@ public final class ImageUtil {
         } else {
             image = createCompatibleTransparentImage(bounds.width, bounds.height);
         }
-        final Graphics2D g2d = (Graphics2D) image.getGraphics();
-        if (scale) {
+        paintComponent(image, c, bounds, scalex, scaley, print);
+        return image;
+    }
+
+    /**
+     * Paint the given area of a component into an image. The graphics are clipped to the area, so
+     * children of the component outside of it aren't painted at all.
+     *
+     * @param image the image to paint into. Pixels which aren't covered by the component are left untouched.
+     * @param c the component.
+     * @param bounds the bounds inside the component to capture.
+     * @param scalex the x scale
+     * @param scaley the y scale
+     * @param print whether the component should be printed instead of painted.
+     */
+    public static void paintComponent(final BufferedImage image, final Component c, final Rectangle bounds,
+            final double scalex, final double scaley, final boolean print) {
+        final Graphics2D g2d = image.createGraphics();
+        if (scalex != 1.0 || scaley != 1.0) {
             g2d.scale(scalex, scaley);
         }
         g2d.translate(-bounds.x, -bounds.y);
+        g2d.clipRect(bounds.x, bounds.y, bounds.width, bounds.height);
         if (print) {
             c.print(g2d);
         } else {
@@ -93,7 +111,6 @@ public final class ImageUtil {
         }
 
         g2d.dispose();
-        return image;
     }
 
     public static BufferedImage createCompatibleImage(final int width, final int height) {